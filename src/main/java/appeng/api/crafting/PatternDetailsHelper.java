@@ -46,6 +46,7 @@
 import appeng.crafting.pattern.AEProcessingPattern;
 import appeng.crafting.pattern.AESmithingTablePattern;
 import appeng.crafting.pattern.AEStonecuttingPattern;
+import appeng.crafting.pattern.DecodedPatternCache;
 
 public final class PatternDetailsHelper {
     private static final List<IPatternDetailsDecoder> DECODERS = new CopyOnWriteArrayList<>();
@@ -89,8 +90,36 @@ public static boolean isEncodedPattern(ItemStack stack) {
         return false;
     }
 
+    /**
+     * Decodes the given encoded pattern. Decoded patterns are cached per level until recipes are reloaded.
+     */
     @Nullable
     public static IPatternDetails decodePattern(AEItemKey what, Level level) {
+        if (isCacheable(what, level)) {
+            return DecodedPatternCache.get(what, level, () -> decodePatternUncached(what, level));
+        }
+        return decodePatternUncached(what, level);
+    }
+
+    /**
+     * Decodes the given encoded pattern. Decoded patterns are cached per level until recipes are reloaded.
+     */
+    @Nullable
+    public static IPatternDetails decodePattern(ItemStack stack, Level level) {
+        var what = AEItemKey.of(stack);
+        if (isCacheable(what, level)) {
+            return DecodedPatternCache.get(what, level, () -> decodePatternUncached(stack, level));
+        }
+        return decodePatternUncached(stack, level);
+    }
+
+    private static boolean isCacheable(@Nullable AEItemKey what, @Nullable Level level) {
+        // Don't fill the cache with arbitrary items that are checked for being patterns
+        return what != null && level != null && isEncodedPattern(what.getReadOnlyStack());
+    }
+
+    @Nullable
+    private static IPatternDetails decodePatternUncached(AEItemKey what, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(what, level);
             if (decoded != null) {
@@ -101,7 +130,7 @@ public static IPatternDetails decodePattern(AEItemKey what, Level level) {
     }
 
     @Nullable
-    public static IPatternDetails decodePattern(ItemStack stack, Level level) {
+    private static IPatternDetails decodePatternUncached(ItemStack stack, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(stack, level);
             if (decoded != null) {
@@ -2,6 +2,7 @@
 
 import org.jetbrains.annotations.ApiStatus;
 
+import appeng.api.config.FuzzyMode;
 import appeng.api.networking.crafting.ICraftingWatcherNode;
 import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.stacks.AEKey;
@@ -31,6 +32,20 @@ public interface IStackWatcher {
      */
     void remove(AEKey stack);
 
+    /**
+     * Add all keys that are {@link AEKey#fuzzyEquals fuzzy-equal} to the given key under the given fuzzy mode. Only
+     * changes to keys with the same primary key as the given key have to be checked, which makes this a lot cheaper
+     * than {@link #setWatchAll watching all stacks}.
+     *
+     * Supports multiple values, duplicate ones will not be added.
+     */
+    void addFuzzy(AEKey stack, FuzzyMode fuzzyMode);
+
+    /**
+     * Remove keys added by {@link #addFuzzy} from the watcher.
+     */
+    void removeFuzzy(AEKey stack, FuzzyMode fuzzyMode);
+
     /**
      * Removes all watched stacks and resets the watcher to a clean state.
      */
@@ -59,6 +59,44 @@ default int getPatternPriority() {
      */
     boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder);
 
+    /**
+     * Instruct a provider to craft several copies of one of the patterns at once. Providers that can accept multiple
+     * copies in one go, for example because their target has a large input buffer, can override this to avoid
+     * repeating the lookup of their targets for every copy.
+     * <p>
+     * The copies must be pushed in order, and the provider must stop at the first copy it can't accept.
+     *
+     * @param patternDetails details
+     * @param inputHolders   the requested stacks of each copy, for each input slot of the pattern
+     *
+     * @return how many copies were successfully pushed, starting from the first one.
+     */
+    default int pushPatterns(IPatternDetails patternDetails, List<KeyCounter[]> inputHolders) {
+        int pushed = 0;
+        for (var inputHolder : inputHolders) {
+            if (isBusy() || !pushPattern(patternDetails, inputHolder)) {
+                break;
+            }
+            pushed++;
+        }
+        return pushed;
+    }
+
+    /**
+     * Called by the crafting engine before it extracts the inputs of a pattern, to only extract the inputs of as many
+     * copies as this provider would currently accept. Providers that can't tell how many copies they can accept should
+     * return 1, the crafting engine then pushes one copy at a time.
+     *
+     * @param patternDetails details
+     * @param maxCopies      the number of copies the crafting engine would like to push, at least 1
+     *
+     * @return how many copies of the pattern this provider would currently accept, at most {@code maxCopies}, or 0 if
+     *         it can't accept any.
+     */
+    default int getAcceptableCopies(IPatternDetails patternDetails, int maxCopies) {
+        return isBusy() ? 0 : 1;
+    }
+
     /**
      * @return if this is true, the crafting engine will refuse to send patterns to this provider.
      */
@@ -23,10 +23,14 @@
 
 package appeng.api.networking.storage;
 
+import java.util.function.Consumer;
+
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridService;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IInventorySnapshot;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 
@@ -51,6 +55,103 @@ public interface IStorageService extends IGridService {
      */
     KeyCounter getCachedInventory();
 
+    /**
+     * @return The total amount of all keys in the {@link #getCachedInventory() cached inventory}, or
+     *         {@link Long#MAX_VALUE} if it exceeds that. Note that the amounts of different key types have different
+     *         units.
+     */
+    default long getCachedTotalAmount() {
+        long total = 0;
+        for (var entry : getCachedInventory()) {
+            if (entry.getLongValue() > 0) {
+                total = Math.min(Long.MAX_VALUE - entry.getLongValue(), total) + entry.getLongValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return The total amount of all keys of the given type in the {@link #getCachedInventory() cached inventory}, or
+     *         {@link Long#MAX_VALUE} if it exceeds that.
+     */
+    default long getCachedTotalAmount(AEKeyType keyType) {
+        long total = 0;
+        for (var entry : getCachedInventory()) {
+            if (entry.getLongValue() > 0 && entry.getKey().getType() == keyType) {
+                total = Math.min(Long.MAX_VALUE - entry.getLongValue(), total) + entry.getLongValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of distinct keys in the {@link #getCachedInventory() cached inventory}.
+     */
+    default int getCachedKeyCount() {
+        int count = 0;
+        for (var entry : getCachedInventory()) {
+            if (entry.getLongValue() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of distinct keys of the given type in the {@link #getCachedInventory() cached inventory}.
+     */
+    default int getCachedKeyCount(AEKeyType keyType) {
+        int count = 0;
+        for (var entry : getCachedInventory()) {
+            if (entry.getLongValue() > 0 && entry.getKey().getType() == keyType) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Every change to the amount of a key in the {@link #getCachedInventory() cached inventory} is appended to a
+     * grid-wide change feed. This allows consumers that mirror the cached inventory (i.e. terminals) to only process
+     * the keys that changed since they last synchronized, instead of comparing the entire inventory.
+     *
+     * <p/>
+     * Implementations that do not keep a change feed always report position 0 and no available changes, so consumers
+     * fall back to comparing the entire inventory.
+     *
+     * @return The current end of the change feed. Pass this to {@link #getChangesSince} to later retrieve the changes
+     *         made after this point.
+     */
+    default long getChangeFeedPosition() {
+        return 0;
+    }
+
+    /**
+     * Reports every key whose amount in the {@link #getCachedInventory() cached inventory} changed after the given
+     * position of the change feed. Keys can be reported more than once. Only a limited number of recent changes are
+     * retained.
+     *
+     * @param position A position previously returned by {@link #getChangeFeedPosition()}.
+     * @return False if the changes made after the given position are no longer available, in which case the consumer
+     *         has not been called, and the caller needs to fully resynchronize with the cached inventory.
+     */
+    default boolean getChangesSince(long position, Consumer<AEKey> consumer) {
+        return false;
+    }
+
+    /**
+     * Returns an immutable snapshot of the {@link #getCachedInventory() cached inventory}. Unlike the cached inventory
+     * itself, the snapshot can be held onto and read from other threads. Snapshots are shared until the cached
+     * inventory changes, and successive snapshots share most of their structure, so this is cheap to call repeatedly.
+     *
+     * @param upToDate If true, changes made to the network inventory since the cached inventory was last updated are
+     *                 applied first, so that the snapshot reflects the current content of the network.
+     */
+    default IInventorySnapshot getInventorySnapshot(boolean upToDate) {
+        // Without a change feed, every call copies the entire cached inventory
+        return IInventorySnapshot.copyOf(getChangeFeedPosition(), getCachedInventory());
+    }
+
     /**
      * Adds a {@link IStorageProvider} that is not associated with a specific {@link IGridNode }. This is for adding
      * storage provided by {@link IGridService}s for examples.
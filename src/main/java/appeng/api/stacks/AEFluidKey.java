@@ -1,6 +1,9 @@
 package appeng.api.stacks;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 import com.google.common.base.Preconditions;
 import com.mojang.serialization.Codec;
@@ -41,9 +44,17 @@ public final class AEFluidKey extends AEKey {
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getComponentsPatch()))
                     .apply(instance, (fluidHolder,
-                            dataComponentPatch) -> new AEFluidKey(new FluidStack(fluidHolder, 1, dataComponentPatch))));
+                            dataComponentPatch) -> intern(
+                                    new AEFluidKey(new FluidStack(fluidHolder, 1, dataComponentPatch)))));
     public static final Codec<AEFluidKey> CODEC = MAP_CODEC.codec();
 
+    private static final KeyInterner<AEFluidKey> INTERNER = new KeyInterner<>();
+
+    /**
+     * The keys returned by {@link #of(Fluid)} and {@link #dropSecondary()}, which only depend on the fluid.
+     */
+    private static final Map<Fluid, AEFluidKey> DEFAULT_KEYS = new ConcurrentHashMap<>();
+
     public static final int AMOUNT_BUCKET = 1000;
     public static final int AMOUNT_BLOCK = 1000;
 
@@ -57,7 +68,11 @@ private AEFluidKey(FluidStack stack) {
     }
 
     public static AEFluidKey of(Fluid fluid) {
-        return of(new FluidStack(fluid, 1));
+        return DEFAULT_KEYS.computeIfAbsent(fluid, f -> of(new FluidStack(f, 1)));
+    }
+
+    static void clearDefaultKeys() {
+        DEFAULT_KEYS.clear();
     }
 
     @Nullable
@@ -65,9 +80,18 @@ public static AEFluidKey of(FluidStack fluidVariant) {
         if (fluidVariant.isEmpty()) {
             return null;
         }
+        if (AEKeyInterning.isEnabled()) {
+            // Only copy the stack if there is no interned key for it yet
+            return INTERNER.intern(new AEFluidKey(fluidVariant),
+                    probe -> new AEFluidKey(fluidVariant.copyWithAmount(1)));
+        }
         return new AEFluidKey(fluidVariant.copyWithAmount(1));
     }
 
+    private static AEFluidKey intern(AEFluidKey key) {
+        return AEKeyInterning.isEnabled() ? INTERNER.intern(key, UnaryOperator.identity()) : key;
+    }
+
     public static boolean matches(AEKey what, FluidStack fluid) {
         return what instanceof AEFluidKey fluidKey && fluidKey.matches(fluid);
     }
@@ -91,7 +115,7 @@ public AEKeyType getType() {
 
     @Override
     public AEFluidKey dropSecondary() {
-        return of(new FluidStack(getFluid(), 1));
+        return of(getFluid());
     }
 
     @Override
@@ -178,7 +202,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEFluidKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = FluidStack.STREAM_CODEC.decode(data);
-        return new AEFluidKey(stack);
+        return intern(new AEFluidKey(stack));
     }
 
     public static boolean is(@Nullable GenericStack stack) {
@@ -1,6 +1,9 @@
 package appeng.api.stacks;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 import com.google.common.base.Preconditions;
 import com.mojang.serialization.Codec;
@@ -46,9 +49,17 @@ public final class AEItemKey extends AEKey {
                             .fieldOf("id").forGetter(key -> key.stack.getItemHolder()),
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getComponentsPatch()))
-                    .apply(builder, (item, componentPatch) -> new AEItemKey(new ItemStack(item, 1, componentPatch))));
+                    .apply(builder,
+                            (item, componentPatch) -> intern(new AEItemKey(new ItemStack(item, 1, componentPatch)))));
     public static final Codec<AEItemKey> CODEC = MAP_CODEC.codec();
 
+    private static final KeyInterner<AEItemKey> INTERNER = new KeyInterner<>();
+
+    /**
+     * The keys returned by {@link #of(ItemLike)} and {@link #dropSecondary()}, which only depend on the item.
+     */
+    private static final Map<Item, AEItemKey> DEFAULT_KEYS = new ConcurrentHashMap<>();
+
     private final ItemStack stack;
     private final int hashCode;
     private final int maxStackSize;
@@ -68,9 +79,18 @@ public static AEItemKey of(ItemStack stack) {
             return null;
         }
 
+        if (AEKeyInterning.isEnabled()) {
+            // Only copy the stack if there is no interned key for it yet
+            return INTERNER.intern(new AEItemKey(stack), probe -> new AEItemKey(stack.copy()));
+        }
+
         return new AEItemKey(stack.copy());
     }
 
+    private static AEItemKey intern(AEItemKey key) {
+        return AEKeyInterning.isEnabled() ? INTERNER.intern(key, UnaryOperator.identity()) : key;
+    }
+
     public static boolean matches(AEKey what, ItemStack itemStack) {
         return what instanceof AEItemKey itemKey && itemKey.matches(itemStack);
     }
@@ -90,7 +110,7 @@ public AEKeyType getType() {
 
     @Override
     public AEItemKey dropSecondary() {
-        return of(stack.getItem().getDefaultInstance());
+        return of(stack.getItem());
     }
 
     @Override
@@ -110,7 +130,11 @@ public int hashCode() {
     }
 
     public static AEItemKey of(ItemLike item) {
-        return of(item.asItem().getDefaultInstance());
+        return DEFAULT_KEYS.computeIfAbsent(item.asItem(), i -> of(i.getDefaultInstance()));
+    }
+
+    static void clearDefaultKeys() {
+        DEFAULT_KEYS.clear();
     }
 
     public boolean is(ItemLike item) {
@@ -251,7 +275,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEItemKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = ItemStack.STREAM_CODEC.decode(data);
-        return new AEItemKey(stack);
+        return intern(new AEItemKey(stack));
     }
 
     @Override
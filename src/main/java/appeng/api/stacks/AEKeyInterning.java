@@ -0,0 +1,37 @@
+package appeng.api.stacks;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Controls whether equal item and fluid keys are shared as a single instance. When enabled, keys created from the
+ * same item or fluid with the same components are the same object for as long as any of them is still referenced,
+ * which lets lookups in key-based collections succeed on reference equality instead of comparing components.
+ */
+@ApiStatus.Internal
+public final class AEKeyInterning {
+    private static volatile boolean enabled;
+
+    private AEKeyInterning() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (AEKeyInterning.enabled != enabled) {
+            AEKeyInterning.enabled = enabled;
+            // The cached default keys were created with the previous setting, and would not be the shared instance
+            clearCaches();
+        }
+    }
+
+    /**
+     * Drops the cached keys of items and fluids without components. Called when the server stops, since these caches
+     * would otherwise outlive it on an integrated client, together with the components of the cached stacks.
+     */
+    public static void clearCaches() {
+        AEItemKey.clearDefaultKeys();
+        AEFluidKey.clearDefaultKeys();
+    }
+}
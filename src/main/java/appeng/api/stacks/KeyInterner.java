@@ -0,0 +1,33 @@
+package appeng.api.stacks;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Weak interning table for keys. Keys are only held weakly, so keys that are no longer referenced anywhere else are
+ * dropped from the table by the garbage collector.
+ */
+final class KeyInterner<T extends AEKey> {
+    private final Map<T, WeakReference<T>> keys = new WeakHashMap<>();
+
+    /**
+     * Returns the interned key equal to the given probe. If there is none, the probe is turned into the key to intern
+     * by the given function first, which allows probes to reference state that must not be retained, such as a
+     * caller-owned stack.
+     */
+    synchronized T intern(T probe, UnaryOperator<T> toInterned) {
+        var ref = keys.get(probe);
+        if (ref != null) {
+            var existing = ref.get();
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        var key = toInterned.apply(probe);
+        keys.put(key, new WeakReference<>(key));
+        return key;
+    }
+}
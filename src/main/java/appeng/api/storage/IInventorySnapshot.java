@@ -0,0 +1,64 @@
+package appeng.api.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+
+/**
+ * An immutable view of the {@link IStorageService#getCachedInventory() cached network inventory} at a given point in
+ * time. Since snapshots never change, they can be read from any thread, i.e. by crafting calculations.
+ */
+public interface IInventorySnapshot {
+    /**
+     * @return The {@link IStorageService#getChangeFeedPosition() change feed position} this snapshot was taken at.
+     */
+    long getVersion();
+
+    /**
+     * @return The amount of the given key in this snapshot, or 0.
+     */
+    long get(AEKey what);
+
+    /**
+     * @return All keys with a positive amount in this snapshot that match the given key using the given fuzzy mode.
+     */
+    Iterable<AEKey> findFuzzy(AEKey what, FuzzyMode fuzzyMode);
+
+    /**
+     * Creates a snapshot from a copy of the given amounts.
+     */
+    static IInventorySnapshot copyOf(long version, KeyCounter content) {
+        var copy = new KeyCounter();
+        for (var entry : content) {
+            if (entry.getLongValue() > 0) {
+                copy.add(entry.getKey(), entry.getLongValue());
+            }
+        }
+
+        return new IInventorySnapshot() {
+            @Override
+            public long getVersion() {
+                return version;
+            }
+
+            @Override
+            public long get(AEKey what) {
+                return copy.get(what);
+            }
+
+            @Override
+            public Iterable<AEKey> findFuzzy(AEKey what, FuzzyMode fuzzyMode) {
+                var matches = copy.findFuzzy(what, fuzzyMode);
+                List<AEKey> result = new ArrayList<>(matches.size());
+                for (var entry : matches) {
+                    result.add(entry.getKey());
+                }
+                return result;
+            }
+        };
+    }
+}
@@ -25,6 +25,7 @@
 
 import org.jetbrains.annotations.Nullable;
 
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.upgrades.IUpgradeableObject;
 import appeng.api.util.IConfigurableObject;
 import appeng.client.Hotkeys;
@@ -36,6 +37,16 @@ public interface ITerminalHost extends IUpgradeableObject, IConfigurableObject,
      */
     MEStorage getInventory();
 
+    /**
+     * If the {@link #getInventory() inventory} of this terminal host currently is the inventory of a grid, returns the
+     * storage service of that grid. Menus use this to follow the grid's change feed rather than comparing the entire
+     * inventory every tick.
+     */
+    @Nullable
+    default IStorageService getGridStorageService() {
+        return null;
+    }
+
     /**
      * For hosts that do not have a fixed connection to the grid, this method is used to give feedback to the player
      * about the current connection status.
@@ -87,6 +87,48 @@ default long extract(AEKey what, long amount, Actionable mode, IActionSource sou
         return 0;
     }
 
+    /**
+     * Store, or simulate storing several keys at once. This is equivalent to calling
+     * {@link #insert(AEKey, long, Actionable, IActionSource)} for every key, but inventories that route the inserted
+     * keys to other inventories can override it to only do so once per call.
+     * <p/>
+     * When simulating, every key is simulated on its own, as if it was the only key being inserted.
+     *
+     * @param amounts The most that will be inserted of every key. Each amount is reduced by the amount that was
+     *                inserted, leaving the amounts that could not be inserted. Amounts that are not positive are
+     *                skipped.
+     * @param mode    action type
+     */
+    default void insertAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        for (var entry : amounts) {
+            var amount = entry.getLongValue();
+            if (amount > 0) {
+                entry.setValue(amount - insert(entry.getKey(), amount, mode, source));
+            }
+        }
+    }
+
+    /**
+     * Extract, or simulate extracting several keys at once. This is equivalent to calling
+     * {@link #extract(AEKey, long, Actionable, IActionSource)} for every key, but inventories that gather the extracted
+     * keys from other inventories can override it to only do so once per call.
+     * <p/>
+     * When simulating, every key is simulated on its own, as if it was the only key being extracted.
+     *
+     * @param amounts The most that will be extracted of every key. Each amount is reduced by the amount that was
+     *                extracted, leaving the amounts that could not be extracted. Amounts that are not positive are
+     *                skipped.
+     * @param mode    simulate, or perform action?
+     */
+    default void extractAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        for (var entry : amounts) {
+            var amount = entry.getLongValue();
+            if (amount > 0) {
+                entry.setValue(amount - extract(entry.getKey(), amount, mode, source));
+            }
+        }
+    }
+
     /**
      * request a full report of all available items, storage.
      *
@@ -37,6 +37,7 @@
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
 import appeng.core.stats.AeStats;
 import appeng.crafting.CraftingLink;
 
@@ -177,4 +178,96 @@ public static long poweredInsert(IEnergySource energy, MEStorage inv, AEKey inpu
         }
 
     }
+
+    /**
+     * Moves several keys from one {@link MEStorage} to another, respecting power requirements. All keys are extracted
+     * from the source at once, and then inserted into the destination one key after the other, since keys may share
+     * the capacity of the destination. Whatever the destination does not accept is returned to the source, so the
+     * amounts should be limited to what the destination is expected to accept.
+     *
+     * @param energy      Energy source.
+     * @param source      Inventory to extract from.
+     * @param destination Inventory to insert into.
+     * @param amounts     The most that will be moved of every key. Not modified.
+     * @param src         Action source.
+     * @param overflow    Receives what neither the destination nor the source accepted. The caller has to keep it to
+     *                    not lose it.
+     * @return The amounts that were moved.
+     */
+    public static KeyCounter poweredTransfer(IEnergySource energy, MEStorage source, MEStorage destination,
+            KeyCounter amounts, IActionSource src, KeyCounter overflow) {
+        Objects.requireNonNull(energy);
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(destination);
+        Objects.requireNonNull(amounts);
+        Objects.requireNonNull(src);
+        Objects.requireNonNull(overflow);
+
+        // Scale all amounts down evenly if there isn't enough power to move all of them
+        double requiredPower = 0;
+        for (var entry : amounts) {
+            if (entry.getLongValue() > 0) {
+                requiredPower += entry.getLongValue() / Math.max(1.0, entry.getKey().getAmountPerOperation());
+            }
+        }
+        var moved = new KeyCounter();
+        if (requiredPower <= 0) {
+            return moved;
+        }
+        var availablePower = energy.extractAEPower(requiredPower, Actionable.SIMULATE, PowerMultiplier.CONFIG);
+        var powerFactor = Math.min(1.0, availablePower / requiredPower);
+
+        var toExtract = new KeyCounter();
+        for (var entry : amounts) {
+            if (entry.getLongValue() > 0) {
+                var amount = powerFactor < 1 ? (long) (entry.getLongValue() * powerFactor) : entry.getLongValue();
+                if (amount > 0) {
+                    toExtract.add(entry.getKey(), amount);
+                }
+            }
+        }
+
+        var notExtracted = new KeyCounter();
+        notExtracted.addAll(toExtract);
+        source.extractAll(notExtracted, Actionable.MODULATE, src);
+        for (var entry : toExtract) {
+            var extracted = entry.getLongValue() - notExtracted.get(entry.getKey());
+            if (extracted > 0) {
+                moved.add(entry.getKey(), extracted);
+            }
+        }
+        if (moved.isEmpty()) {
+            return moved;
+        }
+
+        double usedPower = 0;
+        long insertedItems = 0;
+        for (var entry : moved) {
+            var what = entry.getKey();
+            var extracted = entry.getLongValue();
+            var inserted = destination.insert(what, extracted, Actionable.MODULATE, src);
+            if (inserted < extracted) {
+                var returned = source.insert(what, extracted - inserted, Actionable.MODULATE, src);
+                if (returned < extracted - inserted) {
+                    overflow.add(what, extracted - inserted - returned);
+                }
+            }
+            entry.setValue(inserted);
+            usedPower += inserted / Math.max(1.0, what.getAmountPerOperation());
+            if (what instanceof AEItemKey) {
+                insertedItems += inserted;
+            }
+        }
+        moved.removeZeros();
+
+        if (usedPower > 0) {
+            energy.extractAEPower(usedPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
+        }
+        if (insertedItems > 0) {
+            var stat = Ints.saturatedCast(insertedItems);
+            src.player().ifPresent(player -> AeStats.ItemsInserted.addToPlayer(player, stat));
+        }
+
+        return moved;
+    }
 }
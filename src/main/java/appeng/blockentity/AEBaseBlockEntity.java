@@ -90,6 +90,7 @@ public class AEBaseBlockEntity extends BlockEntity
     private static final Logger LOG = LoggerFactory.getLogger(AEBaseBlockEntity.class);
 
     private static final Map<BlockEntityType<?>, Item> REPRESENTATIVE_ITEMS = new HashMap<>();
+
     @Nullable
     private Component customName;
     private boolean setChangedQueued = false;
@@ -103,6 +104,11 @@ public class AEBaseBlockEntity extends BlockEntity
      * subsequently be equal.
      */
     private byte readyInvoked = 0;
+    /**
+     * Client updates requested on the server are sent at most once per tick, at the end of the tick, and only if the
+     * update data changed.
+     */
+    private final ClientUpdateTracker clientUpdates = new ClientUpdateTracker();
 
     public AEBaseBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
@@ -209,14 +215,21 @@ protected void scheduleInit() {
      */
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
+        // This is also used to send the entire chunk to clients that start tracking it, which makes it unknown what
+        // the clients tracking this block entity have received.
+        this.clientUpdates.invalidate();
+
         var data = new CompoundTag();
+        data.putByteArray("#upd", writeUpdateData());
+        return data;
+    }
 
+    private byte[] writeUpdateData() {
         var stream = new RegistryFriendlyByteBuf(Unpooled.buffer(), level.registryAccess());
         this.writeToStream(stream);
 
         stream.capacity(stream.readableBytes());
-        data.putByteArray("#upd", stream.array());
-        return data;
+        return stream.array();
     }
 
     private boolean readUpdateData(RegistryFriendlyByteBuf stream) {
@@ -231,9 +244,27 @@ private boolean readUpdateData(RegistryFriendlyByteBuf stream) {
         return output;
     }
 
+    /**
+     * This is used to broadcast changes to all clients tracking this block entity, so the sent data is remembered.
+     */
     @Override
     public Packet<ClientGamePacketListener> getUpdatePacket() {
-        return ClientboundBlockEntityDataPacket.create(this);
+        var updateData = this.clientUpdates.takeBroadcastData(TickHandler.instance().getCurrentTick(),
+                this::writeUpdateData);
+
+        return ClientboundBlockEntityDataPacket.create(this, (blockEntity, registries) -> {
+            var data = new CompoundTag();
+            data.putByteArray("#upd", updateData);
+            return data;
+        });
+    }
+
+    /**
+     * Must be called when an {@link #getUpdatePacket() update packet} was only sent to some of the clients tracking
+     * this block entity, so that the next requested update is not skipped.
+     */
+    public void invalidateSentUpdateData() {
+        this.clientUpdates.invalidate();
     }
 
     protected boolean readFromStream(RegistryFriendlyByteBuf data) {
@@ -270,7 +301,7 @@ public void markForClientUpdate() {
         this.requestModelDataUpdate();
 
         if (this.level != null && !this.isRemoved() && !notLoaded()) {
-            this.level.sendBlockUpdated(this.worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
+            queueClientUpdate(Block.UPDATE_CLIENTS);
         }
     }
 
@@ -278,7 +309,6 @@ public void markForUpdate() {
         // Clearing the cached model-data is always harmless regardless of status
         this.requestModelDataUpdate();
 
-        // TODO: Optimize Network Load
         if (this.level != null && !this.isRemoved() && !notLoaded()) {
 
             boolean alreadyUpdated = false;
@@ -294,11 +324,51 @@ public void markForUpdate() {
             }
 
             if (!alreadyUpdated) {
-                this.level.sendBlockUpdated(this.worldPosition, currentState, currentState, Block.UPDATE_NEIGHBORS);
+                queueClientUpdate(Block.UPDATE_NEIGHBORS);
             }
         }
     }
 
+    /**
+     * Serverside, client updates are queued until the end of the tick, so that all updates requested during a tick
+     * are sent at once. They are skipped entirely if the update data did not change since it was last sent.
+     */
+    private void queueClientUpdate(int flags) {
+        if (this.level.isClientSide) {
+            this.level.sendBlockUpdated(this.worldPosition, getBlockState(), getBlockState(), flags);
+            return;
+        }
+
+        if (this.clientUpdates.request()) {
+            TickHandler.instance().addClientUpdate(this::sendQueuedClientUpdate);
+        }
+    }
+
+    private void sendQueuedClientUpdate() {
+        if (this.level == null || this.isRemoved() || notLoaded()) {
+            this.clientUpdates.cancel();
+            return;
+        }
+
+        if (!this.clientUpdates.shouldSend(writeUpdateData(), TickHandler.instance().getCurrentTick())) {
+            return;
+        }
+
+        this.level.sendBlockUpdated(this.worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
+    }
+
+    /**
+     * @return How many client updates were requested on the server, how many of them were sent, and how many were
+     *         skipped since the update data was unchanged. The remaining requests were merged with other requests in
+     *         the same tick.
+     */
+    public static ClientUpdateStats getClientUpdateStats() {
+        return ClientUpdateTracker.getStats();
+    }
+
+    public record ClientUpdateStats(long requested, long sent, long skipped) {
+    }
+
     public final BlockOrientation getOrientation() {
         return BlockOrientation.get(getBlockState());
     }
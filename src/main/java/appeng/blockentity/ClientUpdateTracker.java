@@ -0,0 +1,120 @@
+package appeng.blockentity;
+
+import java.util.function.Supplier;
+
+import com.google.common.hash.Hashing;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks the client updates requested for a single block entity on the server. Requests within a tick are merged into
+ * one update at the end of the tick, and updates whose data is unchanged since it was last broadcast are skipped.
+ */
+final class ClientUpdateTracker {
+    /**
+     * Statistics about client updates requested on the server, see {@link #getStats()}.
+     */
+    private static long requestedUpdates;
+    private static long sentUpdates;
+    private static long skippedUpdates;
+
+    private boolean queued = false;
+    /**
+     * Hash of the update data that was last broadcast to all clients tracking the block entity. Only valid if
+     * {@link #hasSentData} is set.
+     */
+    private long sentDataHash;
+    private boolean hasSentData = false;
+    /**
+     * The update data serialized by {@link #shouldSend} to compare it against the sent data. The update packet that is
+     * built for the resulting block update reuses it instead of serializing the block entity again.
+     */
+    @Nullable
+    private byte[] pendingData;
+    private long pendingDataHash;
+    private long pendingDataTick;
+
+    /**
+     * @return True if an update has to be queued, false if it is merged with the update that is already queued.
+     */
+    boolean request() {
+        requestedUpdates++;
+        // The data may still change before the queued update is sent
+        this.pendingData = null;
+        if (this.queued) {
+            return false;
+        }
+        this.queued = true;
+        return true;
+    }
+
+    /**
+     * Called when a queued update is dropped without being sent, e.g. because the block entity was removed.
+     */
+    void cancel() {
+        this.queued = false;
+    }
+
+    /**
+     * Called when the queued update runs.
+     *
+     * @param updateData The current update data of the block entity.
+     * @param tick       The current server tick.
+     * @return True if the update data differs from what clients last received and has to be sent.
+     */
+    boolean shouldSend(byte[] updateData, long tick) {
+        this.queued = false;
+
+        var hash = hash(updateData);
+        if (this.hasSentData && this.sentDataHash == hash) {
+            skippedUpdates++;
+            return false;
+        }
+
+        sentUpdates++;
+        this.pendingData = updateData;
+        this.pendingDataHash = hash;
+        this.pendingDataTick = tick;
+        return true;
+    }
+
+    /**
+     * Returns the update data to broadcast to all clients tracking the block entity and remembers it as sent. Block
+     * updates are broadcast with the next chunk sync, which happens in the tick after the update was queued. Data
+     * serialized by {@link #shouldSend} in this or the previous tick is reused.
+     *
+     * @param tick       The current server tick.
+     * @param serializer Serializes the current update data if none can be reused.
+     */
+    byte[] takeBroadcastData(long tick, Supplier<byte[]> serializer) {
+        byte[] data;
+        long hash;
+        if (this.pendingData != null && tick - this.pendingDataTick <= 1) {
+            data = this.pendingData;
+            hash = this.pendingDataHash;
+        } else {
+            data = serializer.get();
+            hash = hash(data);
+        }
+        this.pendingData = null;
+
+        this.sentDataHash = hash;
+        this.hasSentData = true;
+        return data;
+    }
+
+    /**
+     * Forgets what clients last received, so that the next update is sent even if its data is unchanged.
+     */
+    void invalidate() {
+        this.hasSentData = false;
+    }
+
+    static AEBaseBlockEntity.ClientUpdateStats getStats() {
+        return new AEBaseBlockEntity.ClientUpdateStats(requestedUpdates, sentUpdates, skippedUpdates);
+    }
+
+    private static long hash(byte[] updateData) {
+        return Hashing.murmur3_128().hashBytes(updateData).asLong();
+    }
+}
@@ -26,6 +26,8 @@
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
@@ -49,6 +51,7 @@
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
+import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.MEStorage;
 import appeng.api.storage.StorageCells;
@@ -90,6 +93,11 @@ public class IOPortBlockEntity extends AENetworkedInvBlockEntity
 
     private final IUpgradeInventory upgrades;
     private final IActionSource mySrc;
+    /**
+     * What was extracted while transferring, but accepted by neither the destination nor the source. It is inserted
+     * into the network before anything else is moved.
+     */
+    private final KeyCounter overflow = new KeyCounter();
     private YesNo lastRedstoneState;
 
     private boolean isActive = false;
@@ -116,6 +124,14 @@ public void saveAdditional(CompoundTag data, HolderLookup.Provider registries) {
         this.manager.writeToNBT(data, registries);
         this.upgrades.writeToNBT(data, "upgrades", registries);
         data.putInt("lastRedstoneState", this.lastRedstoneState.ordinal());
+        if (!this.overflow.isEmpty()) {
+            var overflowTag = new ListTag();
+            for (var entry : this.overflow) {
+                var stack = new GenericStack(entry.getKey(), entry.getLongValue());
+                overflowTag.add(GenericStack.writeTag(registries, stack));
+            }
+            data.put("overflow", overflowTag);
+        }
     }
 
     @Override
@@ -126,6 +142,14 @@ public void loadTag(CompoundTag data, HolderLookup.Provider registries) {
         if (data.contains("lastRedstoneState")) {
             this.lastRedstoneState = YesNo.values()[data.getInt("lastRedstoneState")];
         }
+        this.overflow.clear();
+        var overflowTag = data.getList("overflow", Tag.TAG_COMPOUND);
+        for (int i = 0; i < overflowTag.size(); i++) {
+            var stack = GenericStack.readTag(registries, overflowTag.getCompound(i));
+            if (stack != null) {
+                this.overflow.add(stack.what(), stack.amount());
+            }
+        }
     }
 
     @Override
@@ -226,6 +250,10 @@ public InternalInventory getSubInventory(ResourceLocation id) {
     }
 
     private boolean hasWork() {
+        if (!this.overflow.isEmpty()) {
+            return true;
+        }
+
         if (this.isEnabled()) {
 
             return !this.inputCells.isEmpty();
@@ -280,6 +308,15 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
             return TickRateModulation.IDLE;
         }
 
+        if (!this.overflow.isEmpty()) {
+            grid.getStorageService().getInventory().insertAll(this.overflow, Actionable.MODULATE, this.mySrc);
+            this.overflow.removeZeros();
+            this.saveChanges();
+            if (!this.overflow.isEmpty()) {
+                return TickRateModulation.IDLE;
+            }
+        }
+
         for (int x = 0; x < NUMBER_OF_CELL_SLOTS; x++) {
             var cell = this.inputCells.getStackInSlot(x);
 
@@ -306,6 +343,10 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
             }
         }
 
+        if (ret == TickRateModulation.SLEEP && !this.overflow.isEmpty()) {
+            ret = TickRateModulation.IDLE;
+        }
+
         return ret;
     }
 
@@ -339,40 +380,50 @@ private long transferContents(IGrid grid, StorageCell cellInv, long itemsToMove)
         }
 
         var energy = grid.getEnergyService();
+        // Tracks what has been moved already, since the source list is not updated while transferring
+        var moved = new KeyCounter();
         boolean didStuff;
 
         do {
             didStuff = false;
 
+            // Distribute the remaining operations across the keys the destination accepts, then move them at once
+            var toMove = new KeyCounter();
+            var operations = itemsToMove;
             for (var srcEntry : srcList) {
-                var totalStackSize = srcEntry.getLongValue();
+                if (operations <= 0) {
+                    break;
+                }
+
+                var what = srcEntry.getKey();
+                var totalStackSize = srcEntry.getLongValue() - moved.get(what);
                 if (totalStackSize > 0) {
-                    var what = srcEntry.getKey();
                     var possible = destination.insert(what, totalStackSize, Actionable.SIMULATE, this.mySrc);
 
                     if (possible > 0) {
-                        possible = Math.min(possible, itemsToMove * what.getAmountPerOperation());
-
-                        possible = src.extract(what, possible, Actionable.MODULATE, this.mySrc);
-                        if (possible > 0) {
-                            var inserted = StorageHelper.poweredInsert(energy, destination, what, possible, this.mySrc);
-
-                            if (inserted < possible) {
-                                src.insert(what, possible - inserted, Actionable.MODULATE, this.mySrc);
-                            }
-
-                            if (inserted > 0) {
-                                itemsToMove -= Math.max(1, inserted / what.getAmountPerOperation());
-                                didStuff = true;
-                            }
-
-                            break;
-                        }
+                        possible = Math.min(possible, operations * what.getAmountPerOperation());
+                        toMove.add(what, possible);
+                        operations -= Math.max(1, possible / what.getAmountPerOperation());
                     }
                 }
             }
+
+            if (!toMove.isEmpty()) {
+                for (var entry : StorageHelper.poweredTransfer(energy, src, destination, toMove, this.mySrc,
+                        this.overflow)) {
+                    var what = entry.getKey();
+                    var inserted = entry.getLongValue();
+                    moved.add(what, inserted);
+                    itemsToMove -= Math.max(1, inserted / what.getAmountPerOperation());
+                    didStuff = true;
+                }
+            }
         } while (itemsToMove > 0 && didStuff);
 
+        if (!this.overflow.isEmpty()) {
+            this.saveChanges();
+        }
+
         return itemsToMove;
     }
 
@@ -398,11 +449,16 @@ public void addAdditionalDrops(Level level, BlockPos pos, List<ItemStack> drops)
         for (var upgrade : upgrades) {
             drops.add(upgrade);
         }
+
+        for (var entry : overflow) {
+            entry.getKey().addDrops(entry.getLongValue(), drops, level, pos);
+        }
     }
 
     @Override
     public void clearContent() {
         super.clearContent();
         upgrades.clear();
+        overflow.clear();
     }
 }
@@ -82,6 +82,7 @@
 import appeng.helpers.IPriorityHost;
 import appeng.me.helpers.MachineSource;
 import appeng.me.storage.DelegatingMEInventory;
+import appeng.me.storage.IChangeReportingStorage;
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
 import appeng.menu.implementations.MEChestMenu;
@@ -575,7 +576,7 @@ public void openCellInventoryMenu(Player player) {
         MenuOpener.open(MEChestMenu.TYPE, player, MenuLocators.forBlockEntity(this));
     }
 
-    private class ChestMonitorHandler extends DelegatingMEInventory {
+    private class ChestMonitorHandler extends DelegatingMEInventory implements IChangeReportingStorage {
         private final StorageCell cellInventory;
 
         public ChestMonitorHandler(StorageCell cellInventory) {
@@ -600,6 +601,19 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             }
             return extracted;
         }
+
+        @Override
+        public boolean addChangeListener(Listener listener) {
+            return cellInventory instanceof IChangeReportingStorage reportingCell
+                    && reportingCell.addChangeListener(listener);
+        }
+
+        @Override
+        public void removeChangeListener(Listener listener) {
+            if (cellInventory instanceof IChangeReportingStorage reportingCell) {
+                reportingCell.removeChangeListener(listener);
+            }
+        }
     }
 
     @Nullable
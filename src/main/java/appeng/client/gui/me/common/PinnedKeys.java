@@ -27,9 +27,18 @@ public final class PinnedKeys {
 
     private static final Map<AEKey, PinInfo> pinned = new HashMap<>(MAX_PINNED);
 
+    /**
+     * Incremented whenever the pinned keys change, to allow views to detect that they have to be rebuilt.
+     */
+    private static int version;
+
     private PinnedKeys() {
     }
 
+    public static int getVersion() {
+        return version;
+    }
+
     public static boolean isEmpty() {
         return pinned.isEmpty();
     }
@@ -45,6 +54,7 @@ public static PinInfo getPinInfo(AEKey key) {
 
     public static void clearPinnedKeys() {
         pinned.clear();
+        version++;
     }
 
     public static void pinKey(AEKey key, PinReason reason) {
@@ -55,6 +65,7 @@ public static void pinKey(AEKey key, PinReason reason) {
         } else {
             pinned.put(key, new PinInfo(reason));
         }
+        version++;
 
         // Remove older keys if we exceed the max amount of pinned keys
         if (pinned.size() > MAX_PINNED) {
@@ -67,7 +78,9 @@ public static void pinKey(AEKey key, PinReason reason) {
     }
 
     public static void unpin(AEKey what) {
-        pinned.remove(what);
+        if (pinned.remove(what) != null) {
+            version++;
+        }
     }
 
     public static boolean isPinned(AEKey what) {
@@ -75,7 +88,9 @@ public static boolean isPinned(AEKey what) {
     }
 
     public static void prune() {
-        pinned.values().removeIf(v -> v.canPrune);
+        if (pinned.values().removeIf(v -> v.canPrune)) {
+            version++;
+        }
     }
 
     public static class PinInfo {
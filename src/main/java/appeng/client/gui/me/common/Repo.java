@@ -47,6 +47,7 @@
 import appeng.api.config.ViewItems;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
 import appeng.client.gui.me.search.RepoSearch;
 import appeng.client.gui.widgets.IScrollSource;
 import appeng.client.gui.widgets.ISortSource;
@@ -92,6 +93,18 @@ public class Repo implements IClientRepo {
     private final ISortSource sortSrc;
     private boolean paused;
 
+    /**
+     * Changes received from the server that have not been applied to the view yet.
+     */
+    private final List<EntryChange> pendingChanges = new ArrayList<>();
+    /**
+     * The settings the view was last fully rebuilt with, or null if it has to be rebuilt before changes can be applied
+     * to it incrementally.
+     */
+    @Nullable
+    private ViewSettings viewSettings;
+    private Comparator<GridInventoryEntry> viewComparator;
+
     public Repo(IScrollSource src, ISortSource sortSrc) {
         this.src = src;
         this.sortSrc = sortSrc;
@@ -114,7 +127,11 @@ public final void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entr
             handleUpdate(entry);
         }
 
-        updateView();
+        if (canUpdateViewIncrementally()) {
+            applyPendingChanges();
+        } else {
+            updateView();
+        }
     }
 
     private void handleUpdate(GridInventoryEntry serverEntry) {
@@ -129,26 +146,103 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
             }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
+                pendingChanges.add(new EntryChange(null, serverEntry));
             }
             return;
         }
 
         // Update the local entry
+        GridInventoryEntry updatedEntry;
         if (!serverEntry.isMeaningful()) {
             entries.remove(serverEntry.getSerial());
+            updatedEntry = null;
         } else if (serverEntry.getWhat() == null) {
-            entries.put(serverEntry.getSerial(), new GridInventoryEntry(
+            updatedEntry = new GridInventoryEntry(
                     serverEntry.getSerial(),
                     localEntry.getWhat(),
                     serverEntry.getStoredAmount(),
                     serverEntry.getRequestableAmount(),
-                    serverEntry.isCraftable()));
+                    serverEntry.isCraftable());
+            entries.put(serverEntry.getSerial(), updatedEntry);
         } else {
+            updatedEntry = serverEntry;
             entries.put(serverEntry.getSerial(), serverEntry);
         }
+        pendingChanges.add(new EntryChange(localEntry, updatedEntry));
+    }
+
+    /**
+     * The view can only be updated incrementally if it is sorted, and nothing but the entries has changed since it was
+     * last rebuilt. Changes involving pinned keys always rebuild the view, since they can move entries between the
+     * pinned row and the view.
+     */
+    private boolean canUpdateViewIncrementally() {
+        if (isPaused() || viewSettings == null || !viewSettings.equals(captureViewSettings())) {
+            return false;
+        }
+
+        // Past a certain number of changes, shifting the view around for each of them is slower than a full rebuild.
+        if (pendingChanges.size() > Math.max(64, entries.size() / 16)) {
+            return false;
+        }
+
+        if (!PinnedKeys.isEmpty()) {
+            for (var change : pendingChanges) {
+                if (change.previous() != null && PinnedKeys.isPinned(change.previous().getWhat())
+                        || change.current() != null && PinnedKeys.isPinned(change.current().getWhat())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Applies the pending changes to the sorted view, evaluating the filters only for the changed entries.
+     */
+    private void applyPendingChanges() {
+        var viewMode = this.sortSrc.getSortDisplay();
+        var typeFilter = this.sortSrc.getSortKeyTypes();
+
+        for (var change : pendingChanges) {
+            if (change.previous() != null) {
+                var idx = Collections.binarySearch(view, change.previous(), viewComparator);
+                if (idx >= 0) {
+                    view.remove(idx);
+                }
+            }
+
+            var current = change.current();
+            if (current != null && isShownInView(current, viewMode, typeFilter)) {
+                var idx = Collections.binarySearch(view, current, viewComparator);
+                if (idx < 0) {
+                    view.add(-idx - 1, current);
+                }
+            }
+        }
+        pendingChanges.clear();
+
+        if (this.updateViewListener != null) {
+            this.updateViewListener.run();
+        }
+    }
+
+    private ViewSettings captureViewSettings() {
+        return new ViewSettings(
+                this.sortSrc.getSortBy(),
+                this.sortSrc.getSortDir(),
+                this.sortSrc.getSortDisplay(),
+                Set.copyOf(this.sortSrc.getSortKeyTypes()),
+                this.partitionList,
+                this.search.getSearchString(),
+                PinnedKeys.getVersion(),
+                this.rowSize);
     }
 
     public final void updateView() {
+        pendingChanges.clear();
+
         // While the view is paused, we try to only append to the view list in order to avoid mis-clicks by the
         // player due to items shifting under their mouse cursor.
         if (isPaused()) {
@@ -180,6 +274,8 @@ public final void updateView() {
             }
 
             addEntriesToView(entriesToAdd);
+            // The view is no longer sorted.
+            viewSettings = null;
         } else {
             this.view.clear();
             this.pinnedRow.clear();
@@ -198,7 +294,9 @@ public final void updateView() {
             var sortOrder = this.sortSrc.getSortBy();
             var sortDir = this.sortSrc.getSortDir();
 
-            this.view.sort(getComparator(sortOrder, sortDir));
+            this.viewComparator = getComparator(sortOrder, sortDir);
+            this.view.sort(this.viewComparator);
+            this.viewSettings = captureViewSettings();
         }
 
         if (this.updateViewListener != null) {
@@ -219,23 +317,7 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
                 continue;
             }
 
-            if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
-                continue;
-            }
-
-            if (!typeFilter.contains(entry.getWhat().getType())) {
-                continue;
-            }
-
-            if (search.matches(entry)) {
+            if (isShownInView(entry, viewMode, typeFilter)) {
                 this.view.add(entry);
             }
         }
@@ -255,6 +337,26 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         }
     }
 
+    private boolean isShownInView(GridInventoryEntry entry, ViewItems viewMode, Set<AEKeyType> typeFilter) {
+        if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
+            return false;
+        }
+
+        if (!typeFilter.contains(entry.getWhat().getType())) {
+            return false;
+        }
+
+        return search.matches(entry);
+    }
+
     private void updateEntriesWhilePaused(List<GridInventoryEntry> shownEntries, LongSet visibleSerials) {
         for (int i = 0; i < shownEntries.size(); i++) {
             var entry = shownEntries.get(i);
@@ -316,12 +418,18 @@ private static boolean takeOverSlotOccupiedByRemovedItem(GridInventoryEntry serv
         return true;
     }
 
-    private Comparator<? super GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+    /**
+     * Entries that compare equal are ordered by serial, so that entries can be found in the view by binary search.
+     */
+    private Comparator<GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+        Comparator<GridInventoryEntry> comparator;
         if (sortOrder == SortOrder.AMOUNT) {
-            return sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+            comparator = sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+        } else {
+            comparator = Comparator.comparing(GridInventoryEntry::getWhat, getKeyComparator(sortOrder, sortDir));
         }
 
-        return Comparator.comparing(GridInventoryEntry::getWhat, getKeyComparator(sortOrder, sortDir));
+        return comparator.thenComparingLong(GridInventoryEntry::getSerial);
     }
 
     public List<GridInventoryEntry> getPinnedEntries() {
@@ -359,6 +467,8 @@ public final void clear() {
         this.pinnedRow.clear();
         this.entriesByItemId.clear();
         this.entriesByItemIdNeedsUpdate = true;
+        this.pendingChanges.clear();
+        this.viewSettings = null;
     }
 
     public final boolean hasPinnedRow() {
@@ -462,6 +572,13 @@ public final void setUpdateViewListener(Runnable updateViewListener) {
         this.updateViewListener = updateViewListener;
     }
 
+    private record EntryChange(@Nullable GridInventoryEntry previous, @Nullable GridInventoryEntry current) {
+    }
+
+    private record ViewSettings(SortOrder sortOrder, SortDir sortDir, ViewItems viewMode, Set<AEKeyType> typeFilter,
+            @Nullable IPartitionList partitionList, String searchString, int pinnedKeysVersion, int rowSize) {
+    }
+
     /**
      * Checks if the repo knows that the given key can be crafted.
      */
@@ -37,7 +37,9 @@
 import appeng.api.config.Settings;
 import appeng.api.config.TerminalStyle;
 import appeng.api.networking.pathing.ChannelMode;
+import appeng.api.stacks.AEKeyInterning;
 import appeng.core.settings.TickRates;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.util.EnumCycler;
 import appeng.util.Platform;
 
@@ -238,6 +240,18 @@ public int getCraftingCalculationTimePerTick() {
         return common.craftingCalculationTimePerTick.get();
     }
 
+    public boolean isParallelCraftingCalculationEnabled() {
+        return common.parallelCraftingCalculation.get();
+    }
+
+    public int getCraftingCalculationThreads() {
+        return common.craftingCalculationThreads.get();
+    }
+
+    public int getCraftingCalculationCpuBudget() {
+        return common.craftingCalculationCpuBudget.get();
+    }
+
     public boolean isSpatialAnchorEnablesRandomTicks() {
         return common.spatialAnchorEnableRandomTicks.get();
     }
@@ -325,6 +339,33 @@ public ChannelMode getChannelMode() {
         return common.channels.get();
     }
 
+    public boolean isIncrementalPathingEnabled() {
+        return common.incrementalPathing.get();
+    }
+
+    public void setIncrementalPathing(boolean enabled) {
+        if (enabled != common.incrementalPathing.get()) {
+            common.incrementalPathing.set(enabled);
+            common.spec.save();
+        }
+    }
+
+    public boolean isTimingWheelTickSchedulerEnabled() {
+        return common.timingWheelTickScheduler.get();
+    }
+
+    public boolean isShardedGridTickEnabled() {
+        return common.shardedGridTick.get();
+    }
+
+    public int getShardedGridTickThreads() {
+        return common.shardedGridTickThreads.get();
+    }
+
+    public int getDecodedPatternCacheSize() {
+        return common.decodedPatternCacheSize.get();
+    }
+
     public void setChannelModel(ChannelMode mode) {
         if (mode != common.channels.get()) {
             common.channels.set(mode);
@@ -523,10 +564,19 @@ private static class CommonConfig {
         // Misc
         public final IntValue formationPlaneEntityLimit;
         public final IntValue craftingCalculationTimePerTick;
+        public final BooleanValue parallelCraftingCalculation;
+        public final IntValue craftingCalculationThreads;
+        public final IntValue craftingCalculationCpuBudget;
         public final BooleanValue debugTools;
         public final BooleanValue matterCannonBlockDamage;
         public final BooleanValue tinyTntBlockDamage;
         public final EnumValue<ChannelMode> channels;
+        public final BooleanValue incrementalPathing;
+        public final BooleanValue timingWheelTickScheduler;
+        public final BooleanValue keyInterning;
+        public final BooleanValue shardedGridTick;
+        public final IntValue shardedGridTickThreads;
+        public final IntValue decodedPatternCacheSize;
         public final BooleanValue spatialAnchorEnableRandomTicks;
 
         public final IntValue growthAcceleratorSpeed;
@@ -596,6 +646,18 @@ public CommonConfig() {
                     "Enables the ability of Tiny TNT to break blocks.");
             channels = defineEnum(builder, "channels", ChannelMode.DEFAULT,
                     "Changes the channel capacity that cables provide in AE2.");
+            incrementalPathing = define(builder, "incrementalPathing", false,
+                    "Experimental: Assign channels to devices added to or removed from the edge of a network without rebooting the entire network.");
+            timingWheelTickScheduler = define(builder, "timingWheelTickScheduler", false,
+                    "Schedule ticking devices using a timing wheel instead of a priority queue. Waking and alerting devices is faster, but devices due in the same tick are no longer ordered by their tick rate.");
+            keyInterning = define(builder, "keyInterning", false,
+                    "Share a single instance between equal item and fluid keys, so that they can be compared by reference. Saves memory and speeds up storage lookups, but every key creation has to look up the shared instance.");
+            shardedGridTick = define(builder, "shardedGridTick", false,
+                    "Experimental: Run the channel calculations of all grids rebooting in the same tick in parallel on a worker pool, instead of one grid after another on the server thread.");
+            shardedGridTickThreads = define(builder, "shardedGridTickThreads", 2, 1, 64,
+                    "Number of worker threads used by shardedGridTick. Requires a restart.");
+            decodedPatternCacheSize = define(builder, "decodedPatternCacheSize", 4096, 0, 1000000,
+                    "Maximum number of decoded encoded patterns to keep in memory, so that pattern providers and molecular assemblers don't have to look up and assemble their recipes again. 0 disables the cache.");
             spatialAnchorEnableRandomTicks = define(builder, "spatialAnchorEnableRandomTicks", true,
                     "Whether Spatial Anchors should force random chunk ticks and entity spawning.");
             builder.pop();
@@ -606,6 +668,13 @@ public CommonConfig() {
 
             builder.push("craftingCPU");
             this.craftingCalculationTimePerTick = define(builder, "craftingCalculationTimePerTick", 5);
+            this.parallelCraftingCalculation = define(builder, "parallelCraftingCalculation", false,
+                    "Run crafting calculations on a dedicated worker pool without pausing the server thread, exploring independent pattern inputs in parallel. craftingCalculationTimePerTick is ignored when enabled.");
+            this.craftingCalculationThreads = define(builder, "craftingCalculationThreads", 2, 1, 64,
+                    "Number of worker threads shared by all parallel crafting calculations. Requires a restart.");
+            this.craftingCalculationCpuBudget = define(builder, "craftingCalculationCpuBudget", 30000, 100,
+                    Integer.MAX_VALUE,
+                    "CPU time in milliseconds that a single parallel crafting calculation may use across all threads before it is aborted.");
             builder.pop();
 
             builder.push("crafting");
@@ -711,6 +780,9 @@ public void sync() {
             AELog.setCraftingLogEnabled(craftingLog.get());
             AELog.setDebugLogEnabled(debugLog.get());
             AELog.setGridLogEnabled(gridLog.get());
+
+            AEKeyInterning.setEnabled(keyInterning.get());
+            DecodedPatternCache.setMaximumSize(decodedPatternCacheSize.get());
         }
     }
 
@@ -52,6 +52,7 @@
 
 import appeng.api.ids.AEComponents;
 import appeng.api.parts.CableRenderMode;
+import appeng.api.stacks.AEKeyInterning;
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.AEKeyTypesInternal;
 import appeng.core.definitions.AEAttachmentTypes;
@@ -62,6 +63,7 @@
 import appeng.core.definitions.AEParts;
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.InitNetwork;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.hooks.SkyStoneBreakSpeed;
 import appeng.hooks.WrenchHook;
 import appeng.hooks.ticking.TickHandler;
@@ -180,6 +182,9 @@ public AppEngBase(IEventBus modEventBus, ModContainer container) {
         NeoForge.EVENT_BUS.addListener(WrenchHook::onPlayerUseBlockEvent);
         NeoForge.EVENT_BUS.addListener(SkyStoneBreakSpeed::handleBreakFaster);
 
+        NeoForge.EVENT_BUS.addListener(DecodedPatternCache::onTagsUpdated);
+        NeoForge.EVENT_BUS.addListener(DecodedPatternCache::onLevelUnload);
+
         HotkeyActions.init();
     }
 
@@ -237,6 +242,7 @@ private void serverStopping(final ServerStoppingEvent event) {
 
     private void serverStopped(final ServerStoppedEvent event) {
         TickHandler.instance().shutdown();
+        AEKeyInterning.clearCaches();
     }
 
     public void registerCreativeTabs(Registry<CreativeModeTab> registry) {
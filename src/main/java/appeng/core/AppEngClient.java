@@ -108,6 +108,7 @@
 import appeng.core.network.ServerboundPacket;
 import appeng.core.network.serverbound.MouseWheelPacket;
 import appeng.core.network.serverbound.UpdateHoldingCtrlPacket;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.entity.TinyTNTPrimedRenderer;
 import appeng.helpers.IMouseWheelItem;
 import appeng.hooks.BlockAttackHook;
@@ -195,6 +196,8 @@ public AppEngClient(IEventBus modEventBus, ModContainer container) {
             Hotkeys.checkHotkeys();
         });
 
+        NeoForge.EVENT_BUS.addListener(DecodedPatternCache::onClientRecipesUpdated);
+
         container.registerExtensionPoint(IConfigScreenFactory.class,
                 (mc, parent) -> new ConfigurationScreen(container, parent));
     }
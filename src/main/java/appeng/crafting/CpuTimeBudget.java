@@ -0,0 +1,140 @@
+package appeng.crafting;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.Preconditions;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Counts the CPU time that the threads of a fork pool spend on one {@link CraftingCalculation}.
+ * <p/>
+ * A thread counts time in segments that are started and ended around every task of the calculation. Segments nest:
+ * when a task runs inline in another task of the same calculation, or a thread that waits in a join picks up a task of
+ * another calculation, the outer segment is paused until the inner one ends. This way every nanosecond is counted once,
+ * by the calculation it was spent on.
+ */
+final class CpuTimeBudget {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    /**
+     * Only read the clock on every n-th check, since querying the thread CPU time is not free.
+     */
+    private static final int CHECK_INTERVAL = 100;
+
+    /**
+     * Segments that are active on the current thread, across all calculations. The innermost segment is first.
+     */
+    private static final ThreadLocal<ArrayDeque<Segment>> ACTIVE_SEGMENTS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final LongSupplier clock;
+    private final long budgetNanos;
+    private final AtomicLong used = new AtomicLong();
+
+    CpuTimeBudget(long budgetNanos) {
+        this(budgetNanos, CpuTimeBudget::currentThreadCpuTime);
+    }
+
+    CpuTimeBudget(long budgetNanos, LongSupplier clock) {
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Must be called when the current thread starts working on a task of the calculation.
+     */
+    void startSegment() {
+        var active = ACTIVE_SEGMENTS.get();
+        var outer = active.peek();
+        if (outer != null) {
+            outer.flush();
+        }
+        active.push(new Segment(clock.getAsLong()));
+    }
+
+    /**
+     * Must be called when the current thread stops working on a task of the calculation, including when it throws.
+     */
+    void endSegment() {
+        var active = ACTIVE_SEGMENTS.get();
+        var segment = active.pop();
+        Preconditions.checkState(segment.owner() == this, "Segment ended by a different calculation");
+        segment.flush();
+
+        // The outer segment was paused while this one ran, don't count this segment's time twice.
+        var outer = active.peek();
+        if (outer != null) {
+            outer.restart();
+        }
+    }
+
+    /**
+     * Periodically adds the time spent in the current segment so far.
+     *
+     * @return True if the calculation used more than its budget.
+     */
+    boolean check() {
+        var segment = currentSegment();
+        if (segment != null && ++segment.calls > CHECK_INTERVAL) {
+            segment.calls = 0;
+            segment.flush();
+        }
+        return isExceeded();
+    }
+
+    boolean isExceeded() {
+        return this.used.get() > this.budgetNanos;
+    }
+
+    long getUsedNanos() {
+        return this.used.get();
+    }
+
+    long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    @Nullable
+    private Segment currentSegment() {
+        var segment = ACTIVE_SEGMENTS.get().peek();
+        return segment != null && segment.owner() == this ? segment : null;
+    }
+
+    private static long currentThreadCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            if (cpuTime != -1) {
+                return cpuTime;
+            }
+        }
+        // CPU time measurement is unavailable or disabled, fall back to wall-clock time.
+        return System.nanoTime();
+    }
+
+    private final class Segment {
+        private long start;
+        private int calls;
+
+        private Segment(long start) {
+            this.start = start;
+        }
+
+        private CpuTimeBudget owner() {
+            return CpuTimeBudget.this;
+        }
+
+        private void flush() {
+            long now = clock.getAsLong();
+            used.addAndGet(now - this.start);
+            this.start = now;
+        }
+
+        private void restart() {
+            this.start = clock.getAsLong();
+            this.calls = 0;
+        }
+    }
+}
@@ -20,6 +20,9 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -43,6 +46,11 @@
 import appeng.hooks.ticking.TickHandler;
 
 public class CraftingCalculation {
+    /**
+     * Inputs are only requested in parallel while the current worker has fewer queued tasks than this.
+     */
+    private static final int MAX_SURPLUS_TASKS = 2;
+
     private final NetworkCraftingSimulationState networkInv;
     private final Level level;
     private final KeyCounter missing = new KeyCounter();
@@ -60,20 +68,49 @@ public class CraftingCalculation {
     private int time = 5;
     private int incTime = Integer.MAX_VALUE;
     private final List<CraftAttempt> attempts = AELog.isCraftingLogEnabled() ? new ArrayList<>() : null;
+    final ICraftingPatternLookup patterns;
+    final CraftingTreeCache treeCache;
+    final CraftingTreeCache.Stats treeCacheStats = new CraftingTreeCache.Stats();
+    /**
+     * Pool the calculation runs in when it is not time-sliced by the {@link TickHandler}.
+     */
+    @Nullable
+    private final ForkJoinPool forkPool;
+    private final CpuTimeBudget cpuBudget;
+    private volatile boolean aborted = false;
 
     public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
             GenericStack output, CalculationStrategy strategy) {
+        this(level, grid, simRequester, output, strategy, ICraftingPatternLookup.of(grid.getCraftingService()),
+                new CraftingTreeCache(0), null, 0);
+    }
+
+    /**
+     * @param patterns       Pattern lookup used to build the crafting tree. Must be safe to query from other threads
+     *                       if a fork pool is given.
+     * @param treeCache      Cache for the pattern generation that the pattern lookup belongs to.
+     * @param forkPool       If not null, the calculation runs in this pool without pausing the server thread, and the
+     *                       inputs of patterns are requested in parallel when possible.
+     * @param cpuBudgetNanos CPU time that the calculation may use across all threads of the fork pool before it is
+     *                       aborted.
+     */
+    public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
+            GenericStack output, CalculationStrategy strategy, ICraftingPatternLookup patterns,
+            CraftingTreeCache treeCache, @Nullable ForkJoinPool forkPool, long cpuBudgetNanos) {
         this.level = level;
         this.output = output.what();
         this.requestedAmount = output.amount();
         this.strategy = strategy;
         this.simRequester = simRequester;
+        this.patterns = patterns;
+        this.treeCache = treeCache;
+        this.forkPool = forkPool;
+        this.cpuBudget = new CpuTimeBudget(cpuBudgetNanos);
 
         var storage = grid.getStorageService();
-        var craftingService = grid.getCraftingService();
         this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
 
-        this.tree = new CraftingTreeNode(craftingService, this, this.output, 1, null, -1);
+        this.tree = new CraftingTreeNode(patterns, this, this.output, 1, null, -1);
     }
 
     void addMissing(AEKey what, long amount) {
@@ -82,10 +119,15 @@ void addMissing(AEKey what, long amount) {
 
     public ICraftingPlan run() {
         try {
-            TickHandler.instance().registerCraftingSimulation(this.level, this);
-            this.handlePausing();
+            ICraftingPlan plan;
+            if (this.forkPool != null) {
+                plan = computePlanInPool(this.forkPool);
+            } else {
+                TickHandler.instance().registerCraftingSimulation(this.level, this);
+                this.handlePausing();
 
-            var plan = computePlan();
+                plan = computePlan();
+            }
             this.logCraftingJob(plan);
             return plan;
         } catch (Exception ex) {
@@ -96,6 +138,27 @@ public ICraftingPlan run() {
         }
     }
 
+    private ICraftingPlan computePlanInPool(ForkJoinPool pool) throws Exception {
+        var task = pool.submit(() -> {
+            startCpuTimeSegment();
+            try {
+                return computePlan();
+            } finally {
+                endCpuTimeSegment();
+            }
+        });
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            // The requester cancelled the calculation: stop the workers at their next check.
+            this.aborted = true;
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
     private ICraftingPlan computePlan() throws InterruptedException {
         var fullAmountPlan = runCraftAttempt(false, requestedAmount);
         if (fullAmountPlan != null) {
@@ -169,6 +232,11 @@ private CraftingPlan runCraftAttempt(boolean simulate, long amount) throws Inter
     }
 
     void handlePausing() throws InterruptedException {
+        if (this.forkPool != null) {
+            checkCpuBudget();
+            return;
+        }
+
         if (this.incTime > 100) {
             this.incTime = 0;
 
@@ -197,6 +265,41 @@ void handlePausing() throws InterruptedException {
         this.incTime++;
     }
 
+    private void checkCpuBudget() throws InterruptedException {
+        if (this.cpuBudget.check()) {
+            this.aborted = true;
+        }
+
+        if (this.aborted) {
+            if (this.cpuBudget.isExceeded()) {
+                throw new InterruptedException("Crafting calculation exceeded its CPU time budget of %d ms"
+                        .formatted(TimeUnit.NANOSECONDS.toMillis(this.cpuBudget.getBudgetNanos())));
+            }
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Must be called when the current thread starts working on a task of this calculation, since pool threads are
+     * shared with other calculations and may run tasks inline.
+     */
+    void startCpuTimeSegment() {
+        this.cpuBudget.startSegment();
+    }
+
+    void endCpuTimeSegment() {
+        this.cpuBudget.endSegment();
+    }
+
+    /**
+     * Whether the inputs of a pattern should be requested in parallel. Simulations are always sequential since they
+     * record missing items in this calculation.
+     */
+    boolean shouldRequestInParallel() {
+        return this.forkPool != null && !this.simulate && ForkJoinTask.inForkJoinPool()
+                && ForkJoinTask.getSurplusQueuedTaskCount() < MAX_SURPLUS_TASKS;
+    }
+
     private void finish() {
         synchronized (this.monitor) {
             this.running = false;
@@ -280,6 +383,10 @@ private void logCraftingJob(ICraftingPlan plan) {
                 message.append(" - %s in %d ms\n".formatted(
                         attempt.description, attempt.stopwatch.elapsed(TimeUnit.MILLISECONDS)));
             }
+            long hits = this.treeCacheStats.getHits();
+            long lookups = hits + this.treeCacheStats.getMisses();
+            message.append(" - tree cache: %d of %d lookups hit (%.1f%%)\n".formatted(hits, lookups,
+                    lookups == 0 ? 0.0 : 100.0 * hits / lookups));
             message.append(" - final plan: %d (%d bytes)".formatted(plan.finalOutput().amount(), plan.bytes()));
 
             AELog.crafting(message.toString());
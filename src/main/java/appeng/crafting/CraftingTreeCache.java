@@ -0,0 +1,128 @@
+package appeng.crafting;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEKey;
+
+/**
+ * Caches the parts of the crafting tree that only depend on the patterns of a grid, such as the patterns that can
+ * produce a key, or the key that an input of a pattern is crafted as. A cache is only valid for a single pattern
+ * generation, and is shared by all calculations started for that generation.
+ * <p>
+ * Calculations may run concurrently, so the cache is thread-safe.
+ */
+public class CraftingTreeCache {
+    private final long generation;
+    private final Map<AEKey, List<CachedPattern>> patterns = new ConcurrentHashMap<>();
+    private final Map<InputKey, ResolvedInput> inputs = new ConcurrentHashMap<>();
+
+    public CraftingTreeCache(long generation) {
+        this.generation = generation;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    List<CachedPattern> getPatterns(ICraftingPatternLookup lookup, AEKey what, Stats stats) {
+        var cached = patterns.get(what);
+        if (cached != null) {
+            stats.hits.increment();
+            return cached;
+        }
+
+        stats.misses.increment();
+        var result = new ArrayList<CachedPattern>();
+        for (var details : lookup.getCraftingFor(what)) {
+            result.add(CachedPattern.of(details));
+        }
+        var list = List.copyOf(result);
+        var existing = patterns.putIfAbsent(what, list);
+        return existing != null ? existing : list;
+    }
+
+    ResolvedInput resolveInput(IPatternDetails details, int slot, Supplier<ResolvedInput> resolver, Stats stats) {
+        var key = new InputKey(details, slot);
+        var cached = inputs.get(key);
+        if (cached != null) {
+            stats.hits.increment();
+            return cached;
+        }
+
+        stats.misses.increment();
+        var resolved = resolver.get();
+        var existing = inputs.putIfAbsent(key, resolved);
+        return existing != null ? existing : resolved;
+    }
+
+    /**
+     * @param limitQty       If true, the pattern has one of its outputs as input or produces container items, and it
+     *                       must be simulated one by one so that these get reused.
+     * @param containerItems If true, at least one input leaves a container item.
+     * @param recursionKeys  Outputs and primary inputs of the pattern. The pattern can't be used to craft any of these.
+     */
+    record CachedPattern(IPatternDetails details, boolean limitQty, boolean containerItems, Set<AEKey> recursionKeys) {
+        private static CachedPattern of(IPatternDetails details) {
+            boolean limitQty = false;
+            boolean containerItems = false;
+            var recursionKeys = new HashSet<AEKey>();
+
+            for (var output : details.getOutputs()) {
+                recursionKeys.add(output.what());
+            }
+
+            // TODO: consider checking substitute inputs as well?
+            for (var input : details.getInputs()) {
+                var primaryInput = input.getPossibleInputs()[0];
+                recursionKeys.add(primaryInput.what());
+
+                for (var output : details.getOutputs()) {
+                    if (output.what().matches(primaryInput)) {
+                        limitQty = true;
+                        break;
+                    }
+                }
+
+                if (input.getRemainingKey(primaryInput.what()) != null) {
+                    limitQty = containerItems = true;
+                }
+            }
+
+            return new CachedPattern(details, limitQty, containerItems, Set.copyOf(recursionKeys));
+        }
+    }
+
+    /**
+     * @param what    The key the input will be crafted as, which may be a substitute for the encoded input.
+     * @param canEmit Whether the encoded input can be emitted.
+     */
+    record ResolvedInput(AEKey what, boolean canEmit) {
+    }
+
+    private record InputKey(IPatternDetails details, int slot) {
+    }
+
+    /**
+     * Cache usage of a single calculation.
+     */
+    static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        long getHits() {
+            return hits.sum();
+        }
+
+        long getMisses() {
+            return misses.sum();
+        }
+    }
+}
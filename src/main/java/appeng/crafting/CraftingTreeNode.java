@@ -28,7 +28,6 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
@@ -66,19 +65,28 @@ public class CraftingTreeNode {
     private ArrayList<CraftingTreeProcess> nodes = null;
     private final boolean canEmit;
 
-    public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what, long amount,
+    public CraftingTreeNode(ICraftingPatternLookup cc, CraftingCalculation job, AEKey what, long amount,
             CraftingTreeProcess par, int slot) {
         this.parent = par;
         this.parentInput = slot == -1 ? null : par.details.getInputs()[slot];
         this.level = job.getLevel();
         this.job = job;
-        this.what = findCraftedStack(cc, what);
         this.amount = amount;
 
-        this.canEmit = cc.canEmitFor(what);
+        CraftingTreeCache.ResolvedInput resolved;
+        if (par == null) {
+            resolved = new CraftingTreeCache.ResolvedInput(findCraftedStack(cc, what), cc.canEmitFor(what));
+        } else {
+            // The resolution only depends on the pattern input, so it can be shared with other calculations.
+            resolved = job.treeCache.resolveInput(par.details, slot,
+                    () -> new CraftingTreeCache.ResolvedInput(findCraftedStack(cc, what), cc.canEmitFor(what)),
+                    job.treeCacheStats);
+        }
+        this.what = resolved.what();
+        this.canEmit = resolved.canEmit();
     }
 
-    private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
+    private AEKey findCraftedStack(ICraftingPatternLookup cc, AEKey wat) {
         if (cc.canEmitFor(wat)) {
             return wat; // if we can emit for something, use that.
         }
@@ -121,11 +129,9 @@ private void buildChildPatterns() {
 
             // If the node is null, we just skip patterns and let the request (likely) fail.
             if (gridNode != null) {
-                var craftingService = gridNode.getGrid().getCraftingService();
-
-                for (var details : craftingService.getCraftingFor(this.what)) {
-                    if (this.parent == null || this.parent.notRecursive(details)) {
-                        this.nodes.add(new CraftingTreeProcess(craftingService, job, details, this));
+                for (var pattern : job.treeCache.getPatterns(job.patterns, this.what, job.treeCacheStats)) {
+                    if (this.parent == null || this.parent.notRecursive(pattern)) {
+                        this.nodes.add(new CraftingTreeProcess(this.job.patterns, job, pattern, this));
                     }
                 }
             }
@@ -135,24 +141,16 @@ private void buildChildPatterns() {
     /**
      * Return true if adding this pattern as a child would not cause recursion.
      */
-    boolean notRecursive(IPatternDetails details) {
-        for (var output : details.getOutputs()) {
-            if (this.what.matches(output)) {
-                return false;
-            }
-        }
-
-        for (var input : details.getInputs()) {
-            if (this.what.matches(input.getPossibleInputs()[0])) {
-                return false;
-            }
+    boolean notRecursive(CraftingTreeCache.CachedPattern pattern) {
+        if (pattern.recursionKeys().contains(this.what)) {
+            return false;
         }
 
         if (this.parent == null) {
             return true;
         }
 
-        return this.parent.notRecursive(details);
+        return this.parent.notRecursive(pattern);
     }
 
     /**
@@ -23,7 +23,6 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.CraftingSimulationState;
@@ -40,21 +39,21 @@ public class CraftingTreeProcess {
     // Use linked hashmap to ensure deterministic ordering of subcrafts
     private final Map<CraftingTreeNode, Long> nodes = new LinkedHashMap<>();
     boolean possible = true;
-    private boolean containerItems;
+    private final boolean containerItems;
     /**
      * If true, we perform this pattern by 1 at the time. This ensures that container items or outputs get reused when
      * possible.
      */
-    private boolean limitQty;
+    private final boolean limitQty;
 
-    public CraftingTreeProcess(ICraftingService cc, CraftingCalculation job,
-            IPatternDetails details,
+    CraftingTreeProcess(ICraftingPatternLookup cc, CraftingCalculation job,
+            CraftingTreeCache.CachedPattern pattern,
             CraftingTreeNode craftingTreeNode) {
         this.parent = craftingTreeNode;
-        this.details = details;
+        this.details = pattern.details();
         this.job = job;
-
-        updateLimitQty();
+        this.limitQty = pattern.limitQty();
+        this.containerItems = pattern.containerItems();
 
         final IPatternDetails.IInput[] inputs = this.details.getInputs();
         for (int x = 0; x < inputs.length; ++x) {
@@ -68,35 +67,8 @@ public CraftingTreeProcess(ICraftingService cc, CraftingCalculation job,
     /**
      * @see CraftingTreeNode#notRecursive
      */
-    boolean notRecursive(IPatternDetails details) {
-        return this.parent == null || this.parent.notRecursive(details);
-    }
-
-    /**
-     * Check if this pattern has one of its outputs as input. If that's the case, update {@code limitQty} to make sure
-     * we simulate this pattern one by one. Also check for container items.
-     */
-    private void updateLimitQty() {
-        // TODO: consider checking substitute inputs as well?
-        for (IPatternDetails.IInput input : details.getInputs()) {
-            var primaryInput = input.getPossibleInputs()[0];
-            boolean isAnInput = false;
-
-            for (var output : details.getOutputs()) {
-                if (output.what().matches(primaryInput)) {
-                    isAnInput = true;
-                    break;
-                }
-            }
-
-            if (isAnInput) {
-                this.limitQty = true;
-            }
-
-            if (input.getRemainingKey(primaryInput.what()) != null) {
-                this.limitQty = this.containerItems = true;
-            }
-        }
+    boolean notRecursive(CraftingTreeCache.CachedPattern pattern) {
+        return this.parent == null || this.parent.notRecursive(pattern);
     }
 
     boolean limitsQuantity() {
@@ -110,8 +82,11 @@ void request(CraftingSimulationState inv, long times)
         var containerItems = this.containerItems ? new KeyCounter() : null;
 
         // request and remove inputs...
-        for (var entry : this.nodes.entrySet()) {
-            entry.getKey().request(inv, entry.getValue() * times, containerItems);
+        if (containerItems != null || this.nodes.size() < 2 || !this.job.shouldRequestInParallel()
+                || !ParallelInputRequest.tryRequest(this.job, inv, this.nodes, times)) {
+            for (var entry : this.nodes.entrySet()) {
+                entry.getKey().request(inv, entry.getValue() * times, containerItems);
+            }
         }
 
         // by now we must have succeeded, otherwise an exception would have been thrown by request() above
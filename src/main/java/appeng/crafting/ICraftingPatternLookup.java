@@ -0,0 +1,54 @@
+package appeng.crafting;
+
+import java.util.Collection;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingService;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.AEKeyFilter;
+
+/**
+ * The pattern queries a {@link CraftingCalculation} needs to build its crafting tree.
+ */
+public interface ICraftingPatternLookup {
+    /**
+     * @see ICraftingService#getCraftingFor
+     */
+    Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft);
+
+    /**
+     * @see ICraftingService#getFuzzyCraftable
+     */
+    @Nullable
+    AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter);
+
+    /**
+     * @see ICraftingService#canEmitFor
+     */
+    boolean canEmitFor(AEKey what);
+
+    /**
+     * Queries the crafting service directly. Only safe to use while the server thread is waiting for the calculation.
+     */
+    static ICraftingPatternLookup of(ICraftingService craftingService) {
+        return new ICraftingPatternLookup() {
+            @Override
+            public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+                return craftingService.getCraftingFor(whatToCraft);
+            }
+
+            @Nullable
+            @Override
+            public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+                return craftingService.getFuzzyCraftable(whatToCraft, filter);
+            }
+
+            @Override
+            public boolean canEmitFor(AEKey what) {
+                return craftingService.canEmitFor(what);
+            }
+        };
+    }
+}
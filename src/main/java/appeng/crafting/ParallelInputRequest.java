@@ -0,0 +1,83 @@
+package appeng.crafting;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.crafting.inv.ConcurrentChildCraftingSimulationState;
+import appeng.crafting.inv.CraftingSimulationState;
+
+/**
+ * Requests all inputs of a pattern in parallel, each in its own child inventory. The result is only kept if it matches
+ * what requesting the inputs one after the other would have produced, i.e. if no input read an item that an earlier
+ * input modified.
+ */
+final class ParallelInputRequest extends RecursiveAction {
+    private final CraftingCalculation job;
+    private final CraftingTreeNode node;
+    private final long amount;
+    private final ConcurrentChildCraftingSimulationState inv;
+    private boolean failed = false;
+    @Nullable
+    private InterruptedException interrupted;
+
+    private ParallelInputRequest(CraftingCalculation job, CraftingTreeNode node, long amount,
+            CraftingSimulationState parent) {
+        this.job = job;
+        this.node = node;
+        this.amount = amount;
+        this.inv = new ConcurrentChildCraftingSimulationState(parent);
+    }
+
+    /**
+     * @return False if the inputs have to be requested sequentially instead, in which case inv was not modified.
+     */
+    static boolean tryRequest(CraftingCalculation job, CraftingSimulationState inv,
+            Map<CraftingTreeNode, Long> nodes, long times) throws InterruptedException {
+        var requests = new ArrayList<ParallelInputRequest>(nodes.size());
+        for (var entry : nodes.entrySet()) {
+            requests.add(new ParallelInputRequest(job, entry.getKey(), entry.getValue() * times, inv));
+        }
+
+        ForkJoinTask.invokeAll(requests);
+
+        for (var request : requests) {
+            if (request.interrupted != null) {
+                throw request.interrupted;
+            }
+        }
+
+        // Let the sequential request report the failure. The tree state touched by the failed attempt doesn't
+        // matter, since a branch is only marked impossible if its pattern doesn't produce the requested item at all.
+        var modified = new HashSet<Object>();
+        for (var request : requests) {
+            if (request.failed || request.inv.hasReadAny(modified)) {
+                return false;
+            }
+            request.inv.collectModifiedPrimaryKeys(modified);
+        }
+
+        for (var request : requests) {
+            request.inv.applyDiff(inv);
+        }
+        return true;
+    }
+
+    @Override
+    protected void compute() {
+        job.startCpuTimeSegment();
+        try {
+            node.request(inv, amount, null);
+        } catch (CraftBranchFailure e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            interrupted = e;
+        } finally {
+            job.endCpuTimeSegment();
+        }
+    }
+}
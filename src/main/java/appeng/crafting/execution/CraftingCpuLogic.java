@@ -71,6 +71,18 @@ public class CraftingCpuLogic {
      */
     private final int[] usedOps = new int[3];
     private final Set<Consumer<AEKey>> listeners = new HashSet<>();
+    /**
+     * Inputs of the pattern that is being pushed, extracted from the inventory but not accepted by a provider yet.
+     */
+    private final ExtractedPatternCopies extractedCopies = new ExtractedPatternCopies();
+    /**
+     * Power that was checked to be available during the current {@link #executeCrafting} call.
+     */
+    private double reservedPower;
+    /**
+     * Power used by the patterns pushed during the current {@link #executeCrafting} call, extracted at the end of it.
+     */
+    private double usedPower;
     /**
      * True if the CPU is currently trying to clear its inventory but is not able to.
      */
@@ -108,7 +120,8 @@ public ICraftingSubmitResult trySubmitJob(IGrid grid, ICraftingPlan plan, IActio
                 .orElse(null);
         var craftId = UUID.randomUUID();
         var linkCpu = new CraftingLink(CraftingCpuHelper.generateLinkData(craftId, requester == null, false), cluster);
-        this.job = new ExecutingCraftingJob(plan, this::postChange, linkCpu, playerId);
+        this.job = new ExecutingCraftingJob(plan, this::onWaitingForChange, linkCpu, playerId);
+        indexWaitingFor();
         cluster.updateOutput(plan.finalOutput());
         cluster.markDirty();
 
@@ -180,6 +193,8 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             return 0;
 
         var pushedPatterns = 0;
+        this.reservedPower = 0;
+        this.usedPower = 0;
 
         var it = job.tasks.entrySet().iterator();
         taskLoop: while (it.hasNext()) {
@@ -190,70 +205,94 @@ public int executeCrafting(int maxPatterns, CraftingService craftingService, IEn
             }
 
             var details = task.getKey();
-            var expectedOutputs = new KeyCounter();
-            var expectedContainerItems = new KeyCounter();
-            // Contains the inputs for the pattern.
-            @Nullable
-            var craftingContainer = CraftingCpuHelper.extractPatternInputs(
-                    details, inventory, level, expectedOutputs, expectedContainerItems);
+            var providerCount = Math.max(1, craftingService.getProviderCount(details));
 
             // Try to push to each provider.
             for (var provider : craftingService.getProviders(details)) {
-                if (craftingContainer == null)
-                    break;
-                if (provider.isBusy())
-                    continue;
+                // Spread the remaining pushes of this pattern evenly over its providers.
+                var remainingPushes = Math.min(task.getValue().value, maxPatterns - pushedPatterns);
+                var spreadCopies = (int) Math.max(1, (remainingPushes + providerCount - 1) / providerCount);
 
-                var patternPower = CraftingCpuHelper.calculatePatternPower(craftingContainer);
+                // Ask the provider first, so that no inputs are extracted for copies it won't accept.
+                var copies = Math.min(spreadCopies, provider.getAcceptableCopies(details, spreadCopies));
+                if (copies <= 0)
+                    continue;
 
-                if (energyService.extractAEPower(patternPower, Actionable.SIMULATE,
-                        PowerMultiplier.CONFIG) < patternPower - 0.01)
+                // The inputs are kept for the next provider if this one doesn't accept them.
+                while (extractedCopies.size() < copies) {
+                    if (!extractedCopies.extract(details, inventory, level))
+                        break;
+                    var last = extractedCopies.size() - 1;
+                    if (!reservePower(energyService, extractedCopies.getTotalPower(), extractedCopies.getPower(last),
+                            maxPatterns - pushedPatterns - extractedCopies.size())) {
+                        extractedCopies.reinjectLast(inventory);
+                        break;
+                    }
+                }
+                if (extractedCopies.isEmpty())
                     break;
 
-                if (provider.pushPattern(details, craftingContainer)) {
-                    energyService.extractAEPower(patternPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
-                    pushedPatterns++;
-
-                    for (var expectedOutput : expectedOutputs) {
-                        job.waitingFor.insert(expectedOutput.getKey(), expectedOutput.getLongValue(),
-                                Actionable.MODULATE);
+                var inputs = extractedCopies.getInputs();
+                var pushed = provider.pushPatterns(details,
+                        inputs.size() > copies ? inputs.subList(0, copies) : inputs);
+                if (pushed > 0) {
+                    for (int copy = 0; copy < pushed; copy++) {
+                        this.usedPower += extractedCopies.getPower(copy);
+                        for (var expectedContainerItem : extractedCopies.getContainerItems(copy)) {
+                            job.waitingFor.insert(expectedContainerItem.getKey(), expectedContainerItem.getLongValue(),
+                                    Actionable.MODULATE);
+                            job.timeTracker.addMaxItems(expectedContainerItem.getLongValue(),
+                                    expectedContainerItem.getKey().getType());
+                        }
                     }
-                    for (var expectedContainerItem : expectedContainerItems) {
-                        job.waitingFor.insert(expectedContainerItem.getKey(), expectedContainerItem.getLongValue(),
-                                Actionable.MODULATE);
-                        job.timeTracker.addMaxItems(expectedContainerItem.getLongValue(),
-                                expectedContainerItem.getKey().getType());
+                    for (var output : details.getOutputs()) {
+                        job.waitingFor.insert(output.what(), output.amount() * pushed, Actionable.MODULATE);
                     }
+                    extractedCopies.removePushed(pushed);
+                    pushedPatterns += pushed;
 
                     cluster.markDirty();
 
-                    task.getValue().value--;
+                    task.getValue().value -= pushed;
                     if (task.getValue().value <= 0) {
+                        extractedCopies.reinjectAll(inventory);
                         it.remove();
                         continue taskLoop;
                     }
 
                     if (pushedPatterns == maxPatterns) {
+                        extractedCopies.reinjectAll(inventory);
                         break taskLoop;
                     }
-
-                    // Prepare next inputs.
-                    expectedOutputs.reset();
-                    expectedContainerItems.reset();
-                    craftingContainer = CraftingCpuHelper.extractPatternInputs(details, inventory,
-                            level, expectedOutputs, expectedContainerItems);
                 }
             }
 
-            // Failed to push this pattern, reinject the inputs.
-            if (craftingContainer != null) {
-                CraftingCpuHelper.reinjectPatternInputs(inventory, craftingContainer);
-            }
+            // Failed to push these copies, reinject the inputs.
+            extractedCopies.reinjectAll(inventory);
+        }
+
+        // Extract the power of all pushed patterns at once.
+        if (this.usedPower > 0) {
+            energyService.extractAEPower(this.usedPower, Actionable.MODULATE, PowerMultiplier.CONFIG);
         }
 
         return pushedPatterns;
     }
 
+    /**
+     * Checks that there is enough power to push the extracted patterns. To avoid querying the energy service for every
+     * pattern, enough power for all remaining patterns of the current call is reserved when possible.
+     */
+    private boolean reservePower(IEnergyService energyService, double pendingPower, double patternPower,
+            int remainingPatterns) {
+        var required = this.usedPower + pendingPower;
+        if (required > this.reservedPower) {
+            var request = required + patternPower * remainingPatterns;
+            this.reservedPower = energyService.extractAEPower(request, Actionable.SIMULATE, PowerMultiplier.CONFIG);
+        }
+        return this.reservedPower >= required - 0.01;
+    }
+
     /**
      * Called by the CraftingService with an Integer.MAX_VALUE priority to inject items that are being waited for.
      *
@@ -382,12 +421,10 @@ public void storeItems() {
 
         for (var entry : this.inventory.list) {
             this.postChange(entry.getKey());
-            var inserted = storage.insert(entry.getKey(), entry.getLongValue(),
-                    Actionable.MODULATE, cluster.getSrc());
-
-            // The network was unable to receive all of the items, i.e. no or not enough storage space left
-            entry.setValue(entry.getLongValue() - inserted);
         }
+
+        // What remains could not be received by the network, i.e. no or not enough storage space left
+        storage.insertAll(this.inventory.list, Actionable.MODULATE, cluster.getSrc());
         this.inventory.list.removeZeros();
 
         cluster.markDirty();
@@ -400,6 +437,36 @@ private void postChange(AEKey what) {
         }
     }
 
+    private void onWaitingForChange(AEKey what) {
+        postChange(what);
+
+        // The job is still being created, see indexWaitingFor.
+        if (this.job != null) {
+            var craftingService = getCraftingService();
+            if (craftingService != null) {
+                craftingService.onCpuWaitingForChange(cluster, what, this.job.waitingFor.list.get(what) > 0);
+            }
+        }
+    }
+
+    /**
+     * Registers everything a new job is waiting for with the grid, so that it receives the items.
+     */
+    private void indexWaitingFor() {
+        var craftingService = getCraftingService();
+        if (craftingService != null) {
+            for (var entry : this.job.waitingFor.list) {
+                craftingService.onCpuWaitingForChange(cluster, entry.getKey(), entry.getLongValue() > 0);
+            }
+        }
+    }
+
+    @Nullable
+    private CraftingService getCraftingService() {
+        var grid = cluster.getGrid();
+        return grid != null ? (CraftingService) grid.getCraftingService() : null;
+    }
+
     public long getLastModifiedOnTick() {
         return lastModifiedOnTick;
     }
@@ -424,7 +491,8 @@ public ElapsedTimeTracker getElapsedTimeTracker() {
     public void readFromNBT(CompoundTag data, HolderLookup.Provider registries) {
         this.inventory.readFromNBT(data.getList("inventory", 10), registries);
         if (data.contains("job")) {
-            this.job = new ExecutingCraftingJob(data.getCompound("job"), registries, this::postChange, this);
+            this.job = new ExecutingCraftingJob(data.getCompound("job"), registries, this::onWaitingForChange, this);
+            indexWaitingFor();
             if (this.job.finalOutput == null) {
                 finishJob(false);
             } else {
@@ -0,0 +1,126 @@
+package appeng.crafting.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.inv.ICraftingInventory;
+
+/**
+ * The inputs of the copies of a pattern that a crafting CPU has extracted from its inventory, but not pushed yet. Copies
+ * that a provider didn't accept are kept for the next provider. The counters are reused between patterns to avoid
+ * allocating them for every push.
+ */
+final class ExtractedPatternCopies {
+    private final List<KeyCounter[]> inputs = new ArrayList<>();
+    /**
+     * Container items expected from each extracted copy. Can be larger than {@link #inputs}, the extra counters are kept
+     * for reuse.
+     */
+    private final List<KeyCounter> containerItems = new ArrayList<>();
+    private final KeyCounter ignoredOutputs = new KeyCounter();
+    private double[] power = new double[4];
+    private double totalPower;
+
+    int size() {
+        return inputs.size();
+    }
+
+    boolean isEmpty() {
+        return inputs.isEmpty();
+    }
+
+    List<KeyCounter[]> getInputs() {
+        return Collections.unmodifiableList(inputs);
+    }
+
+    KeyCounter getContainerItems(int copy) {
+        return containerItems.get(copy);
+    }
+
+    double getPower(int copy) {
+        return power[copy];
+    }
+
+    /**
+     * @return The power required to push all extracted copies.
+     */
+    double getTotalPower() {
+        return totalPower;
+    }
+
+    /**
+     * Extracts the inputs of one more copy of the pattern.
+     *
+     * @return False if the inventory doesn't contain the inputs.
+     */
+    boolean extract(IPatternDetails details, ICraftingInventory inventory, Level level) {
+        var copy = inputs.size();
+        if (containerItems.size() == copy) {
+            containerItems.add(new KeyCounter());
+        }
+        var copyContainerItems = containerItems.get(copy);
+        copyContainerItems.clear();
+
+        // The outputs are the same for every copy, so they are taken from the pattern instead.
+        ignoredOutputs.clear();
+        var container = CraftingCpuHelper.extractPatternInputs(details, inventory, level, ignoredOutputs,
+                copyContainerItems);
+        if (container == null) {
+            return false;
+        }
+
+        if (copy == power.length) {
+            power = Arrays.copyOf(power, copy * 2);
+        }
+        power[copy] = CraftingCpuHelper.calculatePatternPower(container);
+        totalPower += power[copy];
+        inputs.add(container);
+        return true;
+    }
+
+    /**
+     * Puts the inputs of the last extracted copy back into the inventory.
+     */
+    void reinjectLast(ICraftingInventory inventory) {
+        var copy = inputs.size() - 1;
+        CraftingCpuHelper.reinjectPatternInputs(inventory, inputs.remove(copy));
+        totalPower -= power[copy];
+    }
+
+    /**
+     * Forgets the first copies after they were pushed to a provider. The remaining copies move to the front.
+     */
+    void removePushed(int count) {
+        if (count <= 0) {
+            return;
+        }
+        var remaining = inputs.size() - count;
+        for (int i = 0; i < count; i++) {
+            totalPower -= power[i];
+        }
+        inputs.subList(0, count).clear();
+        // Keep the counters of the remaining copies aligned with their inputs.
+        Collections.rotate(containerItems.subList(0, remaining + count), -count);
+        System.arraycopy(power, count, power, 0, remaining);
+        if (remaining == 0) {
+            totalPower = 0;
+        }
+    }
+
+    /**
+     * Puts the inputs of all copies that weren't pushed back into the inventory.
+     */
+    void reinjectAll(ICraftingInventory inventory) {
+        for (var container : inputs) {
+            CraftingCpuHelper.reinjectPatternInputs(inventory, container);
+        }
+        inputs.clear();
+        totalPower = 0;
+    }
+}
@@ -0,0 +1,57 @@
+package appeng.crafting.inv;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import appeng.api.config.Actionable;
+import appeng.api.stacks.AEKey;
+
+/**
+ * Child state that can share its parent with other concurrent children, as long as nothing else modifies the parent
+ * in the meantime. Reading from the parent also fills its caches, so all parent accesses synchronize on the parent.
+ * <p>
+ * Records which items were read from the parent, so that the result can be checked against the result of running the
+ * children one after the other.
+ */
+public class ConcurrentChildCraftingSimulationState extends CraftingSimulationState {
+    private final CraftingSimulationState parent;
+    private final Set<Object> readPrimaryKeys = new HashSet<>();
+
+    public ConcurrentChildCraftingSimulationState(CraftingSimulationState parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    protected long simulateExtractParent(AEKey what, long amount) {
+        readPrimaryKeys.add(what.getPrimaryKey());
+        synchronized (parent) {
+            return parent.extract(what, amount, Actionable.SIMULATE);
+        }
+    }
+
+    @Override
+    protected Iterable<AEKey> findFuzzyParent(AEKey input) {
+        readPrimaryKeys.add(input.getPrimaryKey());
+        synchronized (parent) {
+            // Copy since the returned view is backed by the parent's cache.
+            var result = new ArrayList<AEKey>();
+            for (var key : parent.findFuzzyTemplates(input)) {
+                result.add(key);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @return True if this state read any item with one of the given primary keys from the parent.
+     */
+    public boolean hasReadAny(Set<Object> primaryKeys) {
+        for (var primaryKey : primaryKeys) {
+            if (readPrimaryKeys.contains(primaryKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -21,6 +21,7 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import com.google.common.collect.Iterables;
 
@@ -156,6 +157,17 @@ public void ignore(AEKey stack) {
         modifiableCache.set(stack, 0);
     }
 
+    /**
+     * Adds the primary keys of all items whose amount differs from the amount initially read from the parent.
+     */
+    public void collectModifiedPrimaryKeys(Set<Object> out) {
+        for (var entry : modifiableCache) {
+            if (entry.getLongValue() != unmodifiedCache.get(entry.getKey())) {
+                out.add(entry.getKey().getPrimaryKey());
+            }
+        }
+    }
+
     public void applyDiff(CraftingSimulationState parent) {
         // It's important to apply this here to ensure that the extract below doesn't make us count some stacks twice.
         for (var entry : requiredExtract) {
@@ -18,54 +18,42 @@
 
 package appeng.crafting.inv;
 
-import java.util.Map;
-
-import com.google.common.collect.Iterables;
-
 import org.jetbrains.annotations.Nullable;
 
 import appeng.api.config.FuzzyMode;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEKey;
-import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IInventorySnapshot;
 
 /**
- * Currently, extracts the whole network contents when the job starts. Lazily extracting is unfortunately not possible
- * as long as the crafting simulation operates from a separate thread: any world access from this thread will deadlock
- * the server.
+ * Reads from an immutable snapshot of the network contents taken when the job starts. Lazily extracting is
+ * unfortunately not possible as long as the crafting simulation operates from a separate thread: any world access from
+ * this thread will deadlock the server. The snapshot is shared with other simulations started against the same network
+ * state, and the modifications made by the simulation are layered on top of it by {@link CraftingSimulationState}.
  */
 public class NetworkCraftingSimulationState extends CraftingSimulationState {
-    private final KeyCounter list;
+    private final IInventorySnapshot snapshot;
 
     public NetworkCraftingSimulationState(IStorageService storage, @Nullable IActionSource src) {
-        if (src != null && src.player().isPresent()) {
-            // We choose to re-query the available stacks every time a crafting simulation is started by a player.
-            // Using getCachedInventory causes issues with our "CTRL+click to craft" integration with EMI, which submits
-            // a job and then immediately starts a new simulation. We want that simulation to see the state of the
-            // network after the previous job was submitted in case of overlap between the recipes. More generally,
-            // having to replan is annoying, and we want to minimize the risk of that for player-started calculations.
-            this.list = storage.getInventory().getAvailableStacks();
-        } else {
-            // For non-player sources, it is fine to use the cached inventory: they will submit a new request eventually
-            // if this simulation or job fails.
-            this.list = new KeyCounter();
-            for (var stack : storage.getCachedInventory()) {
-                long networkAmount = stack.getLongValue();
-                if (networkAmount > 0) {
-                    this.list.add(stack.getKey(), networkAmount);
-                }
-            }
-        }
+        // We choose to bring the snapshot up-to-date every time a crafting simulation is started by a player.
+        // Using a snapshot of the cached inventory causes issues with our "CTRL+click to craft" integration with EMI,
+        // which submits a job and then immediately starts a new simulation. We want that simulation to see the state of
+        // the network after the previous job was submitted in case of overlap between the recipes. More generally,
+        // having to replan is annoying, and we want to minimize the risk of that for player-started calculations.
+        // For non-player sources, it is fine to use the cached inventory: they will submit a new request eventually
+        // if this simulation or job fails.
+        boolean upToDate = src != null && src.player().isPresent();
+        this.snapshot = storage.getInventorySnapshot(upToDate);
     }
 
     @Override
     protected long simulateExtractParent(AEKey what, long amount) {
-        return Math.min(list.get(what), amount);
+        return Math.min(snapshot.get(what), amount);
     }
 
     @Override
     protected Iterable<AEKey> findFuzzyParent(AEKey input) {
-        return Iterables.transform(list.findFuzzy(input, FuzzyMode.IGNORE_ALL), Map.Entry::getKey);
+        return snapshot.findFuzzy(input, FuzzyMode.IGNORE_ALL);
     }
 }
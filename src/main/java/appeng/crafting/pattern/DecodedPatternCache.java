@@ -0,0 +1,126 @@
+package appeng.crafting.pattern;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.client.event.RecipesUpdatedEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.core.AELog;
+
+/**
+ * Caches the results of {@link appeng.api.crafting.PatternDetailsHelper#decodePattern}, since decoding a crafting
+ * pattern has to look up, match and assemble its recipe. Patterns that fail to decode are cached too.
+ * <p/>
+ * Decoded patterns are cached per level, since decoders may depend on it. This also keeps the client and the server
+ * thread from sharing pattern instances. All cached patterns are dropped once reloaded recipes and tags have been
+ * applied, and those of a level when it is unloaded. Invalidating when the reload starts would not suffice, since
+ * patterns decoded before it completes would still use the old recipes.
+ */
+public final class DecodedPatternCache {
+    private record Key(Level level, AEItemKey what) {
+    }
+
+    private static volatile int maximumSize = 4096;
+
+    @Nullable
+    private static volatile Cache<Key, Optional<IPatternDetails>> cache;
+
+    private DecodedPatternCache() {
+    }
+
+    /**
+     * Sets the maximum number of cached patterns, or 0 to disable the cache. Drops all cached patterns.
+     */
+    public static synchronized void setMaximumSize(int maximumSize) {
+        if (DecodedPatternCache.maximumSize != maximumSize) {
+            DecodedPatternCache.maximumSize = maximumSize;
+            cache = null;
+        }
+    }
+
+    @Nullable
+    public static IPatternDetails get(AEItemKey what, Level level, Supplier<IPatternDetails> decoder) {
+        var cache = getCache();
+        if (cache == null) {
+            return decoder.get();
+        }
+
+        try {
+            return cache.get(new Key(level, what), () -> Optional.ofNullable(decoder.get())).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // Rethrow what the decoder threw, as if it had been called directly
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return The statistics of the cache since it was created, or null if it is disabled.
+     */
+    @Nullable
+    public static CacheStats getStats() {
+        var cache = getCache();
+        return cache != null ? cache.stats() : null;
+    }
+
+    public static void invalidate() {
+        var cache = DecodedPatternCache.cache;
+        if (cache != null) {
+            var stats = cache.stats();
+            AELog.debug("Dropping %d decoded patterns (%d hits, %d misses so far)", cache.size(), stats.hitCount(),
+                    stats.missCount());
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Fired on both sides after a data pack reload has been applied, which includes the recipes on the server.
+     */
+    public static void onTagsUpdated(TagsUpdatedEvent e) {
+        invalidate();
+    }
+
+    public static void onClientRecipesUpdated(RecipesUpdatedEvent e) {
+        invalidate();
+    }
+
+    public static void onLevelUnload(LevelEvent.Unload e) {
+        var cache = DecodedPatternCache.cache;
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.level == e.getLevel());
+        }
+    }
+
+    @Nullable
+    private static Cache<Key, Optional<IPatternDetails>> getCache() {
+        var result = cache;
+        if (result == null && maximumSize > 0) {
+            synchronized (DecodedPatternCache.class) {
+                result = cache;
+                if (result == null && maximumSize > 0) {
+                    result = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .recordStats()
+                            .build();
+                    cache = result;
+                }
+            }
+        }
+        return result;
+    }
+}
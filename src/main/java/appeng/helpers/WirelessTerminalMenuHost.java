@@ -36,6 +36,7 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.security.IActionHost;
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEKey;
 import appeng.api.storage.ILinkStatus;
 import appeng.api.storage.MEStorage;
@@ -61,6 +62,11 @@
     private final BiConsumer<Player, ISubMenu> returnToMainMenu;
     @Nullable
     private IWirelessAccessPoint currentAccessPoint;
+    /**
+     * The grid the terminal is linked to, looked up together with the access point.
+     */
+    @Nullable
+    private IGrid currentLinkedGrid;
     /**
      * The distance to the currently connected access point in blocks.
      */
@@ -108,6 +114,12 @@ public MEStorage getInventory() {
         return this.storage;
     }
 
+    @Nullable
+    @Override
+    public IStorageService getGridStorageService() {
+        return currentLinkedGrid != null ? currentLinkedGrid.getStorageService() : null;
+    }
+
     @Override
     public double extractAEPower(double amt, Actionable mode, PowerMultiplier usePowerMultiplier) {
         final double extracted = Math.min(amt, getItem().getAECurrentPower(getItemStack()));
@@ -143,6 +155,7 @@ protected void updateConnectedAccessPoint() {
         this.currentRemainingRange = Double.MIN_VALUE;
 
         var targetGrid = getLinkedGrid(getItemStack());
+        this.currentLinkedGrid = targetGrid;
         if (targetGrid != null) {
             @Nullable
             IWirelessAccessPoint bestWap = null;
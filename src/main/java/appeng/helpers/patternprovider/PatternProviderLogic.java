@@ -44,6 +44,9 @@
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
 import appeng.api.config.Actionable;
 import appeng.api.config.LockCraftingMode;
 import appeng.api.config.Setting;
@@ -302,48 +305,161 @@ private <T> void rearrangeRoundRobin(List<T> list) {
 
     @Override
     public boolean pushPattern(IPatternDetails patternDetails, KeyCounter[] inputHolder) {
-        if (!sendList.isEmpty() || !this.mainNode.isActive() || !this.patterns.contains(patternDetails)) {
-            return false;
+        return pushPatterns(patternDetails, List.of(inputHolder)) > 0;
+    }
+
+    @Override
+    public int getAcceptableCopies(IPatternDetails patternDetails, int maxCopies) {
+        if (!canPush(patternDetails)) {
+            return 0;
+        }
+        // These modes only accept one copy before they block
+        if (maxCopies <= 1 || this.isBlocking() || this.locksAfterPush()
+                || !patternDetails.supportsPushInputsToExternalInventory()) {
+            return 1;
         }
 
-        var be = host.getBlockEntity();
-        var level = be.getLevel();
+        var acceptable = 0;
+        for (var side : getPushSides()) {
+            if (side.craftingMachine() != null) {
+                // Crafting machines take one plan at a time
+                return 1;
+            }
+            var adapter = findAdapter(side.direction());
+            if (adapter != null) {
+                acceptable = Math.max(acceptable, getAcceptableCopies(adapter, patternDetails, maxCopies));
+            }
+        }
+        // The estimate only considers the primary inputs, substitutes might still be accepted
+        return Math.max(1, acceptable);
+    }
 
-        if (getCraftingLockedReason() != LockCraftingMode.NONE) {
-            return false;
+    /**
+     * Estimates how many copies of the pattern the target accepts, based on the primary input of each input slot.
+     */
+    private static int getAcceptableCopies(PatternProviderTarget target, IPatternDetails patternDetails,
+            int maxCopies) {
+        var perCopy = new KeyCounter();
+        for (var input : patternDetails.getInputs()) {
+            var primaryInput = input.getPossibleInputs()[0];
+            perCopy.add(primaryInput.what(), primaryInput.amount() * input.getMultiplier());
+        }
+
+        long copies = maxCopies;
+        for (var entry : perCopy) {
+            var amount = entry.getLongValue();
+            if (amount <= 0) {
+                continue;
+            }
+            var requested = amount > Long.MAX_VALUE / maxCopies ? Long.MAX_VALUE : amount * maxCopies;
+            var inserted = target.insert(entry.getKey(), requested, Actionable.SIMULATE);
+            copies = Math.min(copies, inserted / amount);
         }
+        return (int) copies;
+    }
 
-        record PushTarget(Direction direction, PatternProviderTarget target) {
+    @Override
+    public int pushPatterns(IPatternDetails patternDetails, List<KeyCounter[]> inputHolders) {
+        if (inputHolders.isEmpty() || !canPush(patternDetails)) {
+            return 0;
         }
-        var possibleTargets = new ArrayList<PushTarget>();
 
-        // Push to crafting machines first
+        // Look up the adjacent crafting machines once for all copies.
+        var sides = getPushSides();
+
+        // Crafting machines take one copy at a time, and are preferred.
+        int pushed = 0;
+        while (pushed < inputHolders.size()) {
+            if (!pushToCraftingMachine(patternDetails, inputHolders.get(pushed), sides)) {
+                break;
+            }
+            pushed++;
+            if (!canPush(patternDetails)) {
+                return pushed;
+            }
+        }
+
+        // If the pattern does not support generic external inventories, stop here.
+        if (pushed == inputHolders.size() || !patternDetails.supportsPushInputsToExternalInventory()) {
+            return pushed;
+        }
+
+        // The remaining copies are inserted into a single inventory at once. Blocking mode and the lock modes that
+        // lock after a push only allow one copy.
+        var copies = this.isBlocking() || this.locksAfterPush() ? 1 : inputHolders.size() - pushed;
+        if (pushToInventory(patternDetails, inputHolders.subList(pushed, pushed + copies), sides)) {
+            pushed += copies;
+        }
+        return pushed;
+    }
+
+    private boolean canPush(IPatternDetails patternDetails) {
+        return sendList.isEmpty() && this.mainNode.isActive() && this.patterns.contains(patternDetails)
+                && getCraftingLockedReason() == LockCraftingMode.NONE;
+    }
+
+    /**
+     * @return True if the provider locks itself after every push until an unlock event happens.
+     */
+    private boolean locksAfterPush() {
+        var lockMode = configManager.getSetting(Settings.LOCK_CRAFTING_MODE);
+        return lockMode == LockCraftingMode.LOCK_UNTIL_PULSE || lockMode == LockCraftingMode.LOCK_UNTIL_RESULT;
+    }
+
+    private List<PushSide> getPushSides() {
+        var be = host.getBlockEntity();
+        var level = be.getLevel();
+
+        var sides = new ArrayList<PushSide>();
         for (var direction : getActiveSides()) {
             var adjPos = be.getBlockPos().relative(direction);
             var adjBeSide = direction.getOpposite();
+            sides.add(new PushSide(direction, ICraftingMachine.of(level, adjPos, adjBeSide)));
+        }
+        return sides;
+    }
 
-            var craftingMachine = ICraftingMachine.of(level, adjPos, adjBeSide);
-            if (craftingMachine != null && craftingMachine.acceptsPlans()) {
-                if (craftingMachine.pushPattern(patternDetails, inputHolder, adjBeSide)) {
-                    onPushPatternSuccess(patternDetails);
-                    return true;
-                }
-                continue;
+    private record PushSide(Direction direction, @Nullable ICraftingMachine craftingMachine) {
+    }
+
+    private boolean pushToCraftingMachine(IPatternDetails patternDetails, KeyCounter[] inputHolder,
+            List<PushSide> sides) {
+        for (var side : sides) {
+            var craftingMachine = side.craftingMachine();
+            if (craftingMachine != null && craftingMachine.acceptsPlans()
+                    && craftingMachine.pushPattern(patternDetails, inputHolder, side.direction().getOpposite())) {
+                onPushPatternSuccess(patternDetails);
+                return true;
             }
+        }
+        return false;
+    }
 
-            var adapter = findAdapter(direction);
-            if (adapter == null)
+    private boolean pushToInventory(IPatternDetails patternDetails, List<KeyCounter[]> inputHolders,
+            List<PushSide> sides) {
+        record PushTarget(Direction direction, PatternProviderTarget target) {
+        }
+        var possibleTargets = new ArrayList<PushTarget>();
+        for (var side : sides) {
+            // Sides with a crafting machine are never used as an inventory
+            if (side.craftingMachine() != null && side.craftingMachine().acceptsPlans()) {
                 continue;
-
-            possibleTargets.add(new PushTarget(direction, adapter));
+            }
+            var adapter = findAdapter(side.direction());
+            if (adapter != null) {
+                possibleTargets.add(new PushTarget(side.direction(), adapter));
+            }
         }
-
-        // If no dedicated crafting machine could be found, and the pattern does not support
-        // generic external inventories, stop here.
-        if (!patternDetails.supportsPushInputsToExternalInventory()) {
+        if (possibleTargets.isEmpty()) {
             return false;
         }
 
+        // Merge the inputs of all copies, keeping the order in which the pattern pushes them
+        var inputs = new Object2LongLinkedOpenHashMap<AEKey>();
+        for (var inputHolder : inputHolders) {
+            patternDetails.pushInputsToExternalInventory(inputHolder, inputs::addTo);
+        }
+
         // Rearrange for round-robin
         rearrangeRoundRobin(possibleTargets);
 
@@ -356,13 +472,15 @@ record PushTarget(Direction direction, PatternProviderTarget target) {
                 continue;
             }
 
-            if (this.adapterAcceptsAll(adapter, inputHolder)) {
-                patternDetails.pushInputsToExternalInventory(inputHolder, (what, amount) -> {
+            if (this.adapterAcceptsAll(adapter, inputs)) {
+                for (var input : inputs.object2LongEntrySet()) {
+                    var what = input.getKey();
+                    var amount = input.getLongValue();
                     var inserted = adapter.insert(what, amount, Actionable.MODULATE);
                     if (inserted < amount) {
                         this.addToSendList(what, amount - inserted);
                     }
-                });
+                }
                 onPushPatternSuccess(patternDetails);
                 this.sendDirection = direction;
                 this.sendStacksOut();
@@ -471,19 +589,18 @@ private PatternProviderTarget findAdapter(Direction side) {
                     (ServerLevel) thisBe.getLevel(),
                     thisBe.getBlockPos().relative(side),
                     side.getOpposite(),
-                    actionSource);
+                    actionSource,
+                    () -> !thisBe.isRemoved());
         }
 
         return targetCaches[side.get3DDataValue()].find();
     }
 
-    private boolean adapterAcceptsAll(PatternProviderTarget target, KeyCounter[] inputHolder) {
-        for (var inputList : inputHolder) {
-            for (var input : inputList) {
-                var inserted = target.insert(input.getKey(), input.getLongValue(), Actionable.SIMULATE);
-                if (inserted == 0) {
-                    return false;
-                }
+    private boolean adapterAcceptsAll(PatternProviderTarget target, Object2LongMap<AEKey> inputs) {
+        for (var input : inputs.object2LongEntrySet()) {
+            var inserted = target.insert(input.getKey(), input.getLongValue(), Actionable.SIMULATE);
+            if (inserted == 0) {
+                return false;
             }
         }
         return true;
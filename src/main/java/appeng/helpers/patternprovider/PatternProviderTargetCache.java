@@ -1,8 +1,11 @@
 package appeng.helpers.patternprovider;
 
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -19,25 +22,47 @@
 import appeng.api.stacks.AEKeyType;
 import appeng.api.storage.MEStorage;
 import appeng.me.storage.CompositeStorage;
+import appeng.me.storage.ExternalStorageFacade;
 import appeng.parts.automation.StackWorldBehaviors;
 
+/**
+ * Caches the adapter for the inventory on one side of a pattern provider, until the capabilities of the adjacent
+ * block are invalidated.
+ */
 class PatternProviderTargetCache {
+    private final ServerLevel level;
     private final BlockCapabilityCache<MEStorage, Direction> cache;
     private final IActionSource src;
     private final Map<AEKeyType, ExternalStorageStrategy> strategies;
+    @Nullable
+    private PatternProviderTarget target;
+    private boolean targetValid;
 
-    PatternProviderTargetCache(ServerLevel l, BlockPos pos, Direction direction, IActionSource src) {
-        this.cache = BlockCapabilityCache.create(AECapabilities.ME_STORAGE, l, pos, direction);
+    PatternProviderTargetCache(ServerLevel l, BlockPos pos, Direction direction, IActionSource src,
+            BooleanSupplier isValid) {
+        this.level = l;
+        // Capabilities are invalidated per position, so this also covers the capabilities used by the strategies
+        this.cache = BlockCapabilityCache.create(AECapabilities.ME_STORAGE, l, pos, direction, isValid,
+                () -> targetValid = false);
         this.src = src;
         this.strategies = StackWorldBehaviors.createExternalStorageStrategies(l, pos, direction);
     }
 
     @Nullable
     PatternProviderTarget find() {
+        if (!targetValid) {
+            target = createTarget();
+            targetValid = true;
+        }
+        return target;
+    }
+
+    @Nullable
+    private PatternProviderTarget createTarget() {
         // our capability first: allows any storage channel
         var meStorage = cache.getCapability();
         if (meStorage != null) {
-            return wrapMeStorage(meStorage);
+            return new CachedTarget(meStorage, List.of(meStorage));
         }
 
         // otherwise fall back to the platform capability
@@ -51,28 +76,65 @@ PatternProviderTarget find() {
         }
 
         if (!externalStorages.isEmpty()) {
-            return wrapMeStorage(new CompositeStorage(externalStorages));
+            return new CachedTarget(new CompositeStorage(externalStorages),
+                    new ArrayList<>(externalStorages.values()));
         }
 
         return null;
     }
 
-    private PatternProviderTarget wrapMeStorage(MEStorage storage) {
-        return new PatternProviderTarget() {
-            @Override
-            public long insert(AEKey what, long amount, Actionable type) {
-                return storage.insert(what, amount, type, src);
+    private static boolean containsAnyFuzzy(MEStorage storage, Set<AEKey> keys) {
+        if (storage instanceof ExternalStorageFacade facade) {
+            // Avoids building the list of available stacks
+            return facade.containsAnyFuzzy(keys);
+        }
+
+        for (var stack : storage.getAvailableStacks()) {
+            if (keys.contains(stack.getKey().dropSecondary())) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            @Override
-            public boolean containsPatternInput(Set<AEKey> patternInputs) {
-                for (var stack : storage.getAvailableStacks()) {
-                    if (patternInputs.contains(stack.getKey().dropSecondary())) {
-                        return true;
-                    }
+    private class CachedTarget implements PatternProviderTarget {
+        private final MEStorage storage;
+        /**
+         * The individual storages making up {@link #storage}, which may be able to search their content faster.
+         */
+        private final List<MEStorage> parts;
+        /**
+         * The game tick in which the target was last found to contain pattern inputs. Only this result is remembered
+         * for the rest of the tick: it can only become wrong by the target's own processing, and then blocking merely
+         * waits for the next tick. Remembering that the target is empty would not be safe, since anything could insert
+         * into it.
+         */
+        private long containsInputsTick = -1;
+
+        CachedTarget(MEStorage storage, List<MEStorage> parts) {
+            this.storage = storage;
+            this.parts = parts;
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable type) {
+            return storage.insert(what, amount, type, src);
+        }
+
+        @Override
+        public boolean containsPatternInput(Set<AEKey> patternInputs) {
+            var tick = level.getGameTime();
+            if (containsInputsTick == tick) {
+                return true;
+            }
+
+            for (var part : parts) {
+                if (containsAnyFuzzy(part, patternInputs)) {
+                    containsInputsTick = tick;
+                    return true;
                 }
-                return false;
             }
-        };
+            return false;
+        }
     }
 }
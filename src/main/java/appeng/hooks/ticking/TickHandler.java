@@ -57,6 +57,7 @@
 import appeng.crafting.CraftingCalculation;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.me.helpers.ShardedEndTick;
 import appeng.util.ILevelRunnable;
 import appeng.util.Platform;
 
@@ -69,6 +70,11 @@ public class TickHandler {
 
     private static final TickHandler INSTANCE = new TickHandler();
     private final Queue<ILevelRunnable> serverQueue = new ArrayDeque<>();
+    /**
+     * Client updates are sent at the end of every server tick, without a time limit, so that they can't be delayed by
+     * other callbacks.
+     */
+    private final List<Runnable> clientUpdateQueue = new ArrayList<>();
     private final Multimap<LevelAccessor, CraftingCalculation> craftingJobs = LinkedListMultimap.create();
     private final Map<LevelAccessor, Queue<ILevelRunnable>> callQueue = new HashMap<>();
     private final ServerBlockEntityRepo blockEntities = new ServerBlockEntityRepo();
@@ -135,6 +141,15 @@ public void addCallable(LevelAccessor level, ILevelRunnable c) {
         }
     }
 
+    /**
+     * Add a callback that sends a client update at the end of the current server tick, after all other callbacks.
+     * <p>
+     * Must only be called on the server.
+     */
+    public void addClientUpdate(Runnable update) {
+        this.clientUpdateQueue.add(update);
+    }
+
     /**
      * Add a {@link AEBaseBlockEntity} to be initializes with the next update.
      *
@@ -184,6 +199,7 @@ public void shutdown() {
         Platform.assertServerThread();
         this.blockEntities.clear();
         this.grids.clear();
+        this.clientUpdateQueue.clear();
     }
 
     /**
@@ -294,16 +310,21 @@ private void onServerTickStart(ServerTickEvent.Pre event) {
     }
 
     private void onServerTickEnd(ServerTickEvent.Post event) {
+        var shardedTick = AEConfig.instance().isShardedGridTickEnabled() ? new ShardedEndTick() : null;
+
         // tick networks
         for (var g : this.grids.getNetworks()) {
             try {
-                g.onServerEndTick();
+                g.onServerEndTick(shardedTick);
             } catch (Throwable t) {
                 CrashReport crashReport = CrashReport.forThrowable(t, "Ticking grid on end of server tick");
                 g.fillCrashReportCategory(crashReport.addCategory("Grid being ticked"));
                 throw new ReportedException(crashReport);
             }
         }
+        if (shardedTick != null) {
+            shardedTick.run();
+        }
 
         // cross level queue.
         processQueueElementsRemaining += this.processQueue(this.serverQueue, null);
@@ -314,6 +335,8 @@ private void onServerTickEnd(ServerTickEvent.Post event) {
                     processQueueElementsRemaining);
         }
 
+        this.sendClientUpdates();
+
         tickCounter++;
     }
 
@@ -396,6 +419,18 @@ private void readyBlockEntities(ServerLevel level) {
         }
     }
 
+    private void sendClientUpdates() {
+        // Updates requested while sending are sent as well
+        for (int i = 0; i < this.clientUpdateQueue.size(); i++) {
+            try {
+                this.clientUpdateQueue.get(i).run();
+            } catch (Exception e) {
+                AELog.warn(e);
+            }
+        }
+        this.clientUpdateQueue.clear();
+    }
+
     /**
      * Process the {@link ILevelRunnable} queue in this {@link Level}
      * <p>
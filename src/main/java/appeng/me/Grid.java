@@ -58,6 +58,7 @@
 import appeng.core.AELog;
 import appeng.hooks.ticking.TickHandler;
 import appeng.me.helpers.GridServiceContainer;
+import appeng.me.helpers.ShardedEndTick;
 import appeng.me.service.P2PService;
 import appeng.parts.AEBasePart;
 import appeng.util.IDebugExportable;
@@ -246,12 +247,23 @@ public void onLevelEndTick(Level level) {
     }
 
     public void onServerEndTick() {
+        onServerEndTick(null);
+    }
+
+    /**
+     * @param shardedTick If not null, services may defer computations to it, to be run in parallel with other grids.
+     */
+    public void onServerEndTick(@Nullable ShardedEndTick shardedTick) {
         if (this.pivot == null) {
             return;
         }
 
         for (var gc : this.services.serverEndTickServices()) {
-            gc.onServerEndTick();
+            if (shardedTick != null && gc instanceof ShardedEndTick.Participant participant) {
+                participant.onServerEndTick(shardedTick);
+            } else {
+                gc.onServerEndTick();
+            }
         }
     }
 
@@ -33,6 +33,7 @@
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.pathing.ChannelMode;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 
 public class GridConnection implements IGridConnection, IPathItem {
 
@@ -53,6 +54,10 @@ public class GridConnection implements IGridConnection, IPathItem {
     @Nullable
     private Direction fromAtoB;
     private GridNode sideB;
+    /**
+     * Whether this connection is part of the spanning tree of its grid. See {@link SpanningForest}.
+     */
+    private boolean spanning;
 
     private GridConnection(GridNode aNode, GridNode bNode, @Nullable Direction fromAtoB) {
         this.sideA = aNode;
@@ -88,14 +93,13 @@ public Direction getDirection(IGridNode side) {
     @Override
     public void destroy() {
         // a connection was destroyed RE-PATH!! (this is not done immediately)
-        var p = this.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        var p = (PathingService) this.sideA.getInternalGrid().getPathingService();
+        p.onConnectionDestroyed(this);
 
         this.sideA.removeConnection(this);
         this.sideB.removeConnection(this);
 
-        this.sideA.validateGrid();
-        this.sideB.validateGrid();
+        SpanningForest.onConnectionRemoved(this);
     }
 
     @Override
@@ -195,6 +199,14 @@ void setVisitorIterationNumber(Object visitorIterationNumber) {
         this.visitorIterationNumber = visitorIterationNumber;
     }
 
+    boolean isSpanning() {
+        return spanning;
+    }
+
+    void setSpanning(boolean spanning) {
+        this.spanning = spanning;
+    }
+
     /**
      * @throws IllegalStateException If the nodes are already connected.
      */
@@ -215,11 +227,13 @@ public static GridConnection create(IGridNode aNode, IGridNode bNode,
         // Create the actual connection
         var connection = new GridConnection(a, b, fromAtoB);
 
+        // A connection between two separate grids is the only path between them, so it extends the spanning tree
+        connection.spanning = a.getMyGrid() == null || a.getMyGrid() != b.getMyGrid();
         mergeGrids(a, b);
 
-        // a connection was destroyed RE-PATH!!
-        var p = connection.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        // a connection was created RE-PATH!! (this is not done immediately)
+        var p = (PathingService) connection.sideA.getInternalGrid().getPathingService();
+        p.onConnectionCreated(connection);
 
         connection.sideA.addConnection(connection);
         connection.sideB.addConnection(connection);
@@ -69,6 +69,7 @@
 import appeng.blockentity.networking.ControllerBlockEntity;
 import appeng.core.AELog;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 
@@ -187,6 +188,10 @@ void removeConnection(IGridConnection gridConnection) {
         }
     }
 
+    boolean isReady() {
+        return ready;
+    }
+
     boolean hasConnection(IGridNode otherSide) {
         for (IGridConnection gc : this.connections) {
             if (gc.a() == otherSide || gc.b() == otherSide) {
@@ -196,20 +201,6 @@ boolean hasConnection(IGridNode otherSide) {
         return false;
     }
 
-    void validateGrid() {
-        if (!ready) {
-            // We're in the process of being destroyed
-            return;
-        }
-
-        var gsd = new GridSplitDetector(this.getInternalGrid().getPivot());
-        this.beginVisit(gsd);
-        if (!gsd.isPivotFound()) {
-            var gp = new GridPropagator(Grid.create(this));
-            this.beginVisit(gp);
-        }
-    }
-
     public Grid getInternalGrid() {
         if (this.myGrid == null) {
             Grid.create(this);
@@ -346,46 +337,43 @@ public void destroy() {
 
         boolean movedPivot = false;
 
-        // First pass: Remove the connection on the other side
+        // First pass: Choose a new pivot
         for (var connection : connections) {
-            var otherSide = (GridNode) connection.getOtherSide(this);
-
             // Moving the pivot closer means we potentially have to search fewer nodes
             // when searching for a grid split. Especially if the grid hasn't really been split.
             // In grids with a controller, side A of the connection will be closer to the controller
             // By moving the pivot to side A, the controller will NOT receive a new grid, which
             // is potentially beneficial by assuming the controller has a lot more connected
             // nodes that are not disrupted by this node being destroyed.
-            if (!movedPivot && connection.a() != this && myGrid != null) {
+            if (connection.a() != this && myGrid != null) {
                 myGrid.setPivot((GridNode) connection.a());
                 movedPivot = true;
+                break;
             }
+        }
 
-            // Ensure the other side holds no reference to this node anymore
-            otherSide.removeConnection(connection);
+        // If we were unable to move the pivot away from ourselves in the first pass
+        // just move it to the first eligible node, but only if we're the pivot
+        if (!movedPivot && !connections.isEmpty() && myGrid != null && myGrid.getPivot() == this) {
+            myGrid.setPivot((GridNode) connections.getFirst().getOtherSide(this));
         }
 
-        // Second pass: Re-validate the grids of the previously connected, adjacent nodes
-        for (var connection : connections) {
+        // Second pass: Remove the connections one by one
+        while (!connections.isEmpty()) {
+            var connection = connections.removeLast();
             var otherSide = (GridNode) connection.getOtherSide(this);
 
-            // If we were unable to move the pivot away from ourselves in the first pass
-            // just move it to the first eligible node, but only if we're the pivot
-            if (!movedPivot && myGrid != null && myGrid.getPivot() == this) {
-                myGrid.setPivot(otherSide);
-                movedPivot = true;
-            }
+            // Ensure the other side holds no reference to this node anymore
+            otherSide.removeConnection(connection);
 
-            // Re-validating the grid will cause the actual grid split to occur if the previously adjacent nodes
-            // were only connected by this node.
-            otherSide.validateGrid();
+            // This will cause the actual grid split to occur if the adjacent nodes were only connected by this node.
+            SpanningForest.onConnectionRemoved(connection);
 
             // Cause a repath later. This is not done immediately.
-            otherSide.getInternalGrid().getPathingService().repath();
+            var pathingService = (PathingService) otherSide.getInternalGrid().getPathingService();
+            pathingService.onConnectionDestroyed(connection);
         }
 
-        connections.clear();
-
         AELog.grid("Destroyed node %s in grid %s", this, this.myGrid);
         if (this.myGrid != null) {
             this.myGrid.remove(this);
@@ -0,0 +1,186 @@
+package appeng.me;
+
+import java.util.ArrayDeque;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Detects grid splits using a spanning forest of the grid connections. Every connection that joined two separate
+ * grids when it was created is marked as {@link GridConnection#isSpanning() spanning}, so that the spanning
+ * connections form a tree over the nodes of each grid.
+ * <p/>
+ * Removing a connection that isn't spanning can never split a grid. When a spanning connection is removed, its tree
+ * falls apart into two halves. Both halves are walked in lockstep until the smaller one has been fully visited, and
+ * only that half is searched for another connection leading out of it. If there is one, it replaces the removed
+ * connection in the tree. Otherwise, the smaller half was split off and gets a new grid. The work done is thus
+ * proportional to the smaller half, instead of the whole grid.
+ */
+final class SpanningForest {
+    private SpanningForest() {
+    }
+
+    /**
+     * Updates the grids after the given connection was removed from both of its nodes.
+     */
+    static void onConnectionRemoved(GridConnection connection) {
+        if (!connection.isSpanning()) {
+            return; // The tree is still intact, so the grid is too
+        }
+
+        var walkA = new TreeWalk(connection.a());
+        var walkB = new TreeWalk(connection.b());
+        TreeWalk smaller;
+        TreeWalk larger;
+        while (true) {
+            walkA.step();
+            if (walkA.isDone()) {
+                smaller = walkA;
+                larger = walkB;
+                break;
+            }
+            walkB.step();
+            if (walkB.isDone()) {
+                smaller = walkB;
+                larger = walkA;
+                break;
+            }
+        }
+
+        if (reconnect(smaller)) {
+            return;
+        }
+
+        // If both halves are equally small, prefer to keep the grid on the side of the pivot
+        var grid = connection.a().getMyGrid();
+        if (grid != null && smaller.contains(grid.getPivot()) && larger.walkUpTo(smaller.nodes.size())) {
+            var tmp = smaller;
+            smaller = larger;
+            larger = tmp;
+        }
+
+        splitOff(smaller, larger);
+    }
+
+    /**
+     * Searches for a connection leading out of a fully walked tree and turns it into a spanning connection.
+     */
+    private static boolean reconnect(TreeWalk tree) {
+        for (var node : tree.nodes) {
+            for (var connection : node.connections) {
+                if (!connection.isSpanning() && !tree.contains((GridNode) connection.getOtherSide(node))) {
+                    connection.setSpanning(true);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the nodes of the split off tree to a new grid. Nodes that are not ready (i.e. being destroyed) are left
+     * alone, and nothing has to be moved if either tree consists only of such nodes.
+     */
+    private static void splitOff(TreeWalk splitOff, TreeWalk remaining) {
+        var splitOffNode = splitOff.findReadyNode();
+        if (splitOffNode == null) {
+            return;
+        }
+        var remainingNode = remaining.findReadyNode();
+        if (remainingNode == null) {
+            return;
+        }
+        var grid = splitOffNode.getMyGrid();
+        if (grid == null || grid != remainingNode.getMyGrid()) {
+            return;
+        }
+
+        if (splitOff.contains(grid.getPivot())) {
+            grid.setPivot(remainingNode);
+        }
+
+        Grid newGrid = null;
+        for (var node : splitOff.nodes) {
+            if (!node.isReady()) {
+                continue;
+            }
+            if (newGrid == null) {
+                newGrid = Grid.create(node);
+            } else {
+                node.setGrid(newGrid);
+            }
+        }
+    }
+
+    /**
+     * Incrementally walks the tree of spanning connections containing a node.
+     */
+    private static final class TreeWalk {
+        /**
+         * All nodes that were visited or are pending to be visited.
+         */
+        private final ReferenceOpenHashSet<GridNode> nodes = new ReferenceOpenHashSet<>();
+        private final ArrayDeque<GridNode> pending = new ArrayDeque<>();
+
+        TreeWalk(GridNode start) {
+            nodes.add(start);
+            pending.add(start);
+        }
+
+        boolean isDone() {
+            return pending.isEmpty();
+        }
+
+        boolean contains(@Nullable GridNode node) {
+            return nodes.contains(node);
+        }
+
+        void step() {
+            var node = pending.poll();
+            if (node != null) {
+                for (var connection : node.connections) {
+                    var otherSide = (GridNode) connection.getOtherSide(node);
+                    if (connection.isSpanning() && nodes.add(otherSide)) {
+                        pending.add(otherSide);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Continues the walk as long as it didn't visit more than the given number of nodes.
+         *
+         * @return True if the whole tree was walked without exceeding the limit.
+         */
+        boolean walkUpTo(int maxNodes) {
+            while (!isDone() && nodes.size() <= maxNodes) {
+                step();
+            }
+            return isDone() && nodes.size() <= maxNodes;
+        }
+
+        @Nullable
+        GridNode findReadyNode() {
+            for (var node : nodes) {
+                if (node.isReady()) {
+                    return node;
+                }
+            }
+            // Continue walking the tree until we find one
+            while (!isDone()) {
+                var node = pending.poll();
+                for (var connection : node.connections) {
+                    var otherSide = (GridNode) connection.getOtherSide(node);
+                    if (connection.isSpanning() && nodes.add(otherSide)) {
+                        pending.add(otherSide);
+                        if (otherSide.isReady()) {
+                            return otherSide;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -19,8 +19,10 @@
 package appeng.me.cells;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -47,11 +49,13 @@
 import appeng.api.storage.cells.StorageCell;
 import appeng.api.upgrades.IUpgradeInventory;
 import appeng.core.definitions.AEItems;
+import appeng.me.storage.IChangeReportingStorage;
+import appeng.me.storage.IPartitionedStorage;
 import appeng.util.ConfigInventory;
 import appeng.util.prioritylist.FuzzyPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
-public class BasicCellInventory implements StorageCell {
+public class BasicCellInventory implements StorageCell, IChangeReportingStorage, IPartitionedStorage {
     private static final int MAX_ITEM_TYPES = 63;
 
     @Nullable
@@ -68,6 +72,13 @@ public class BasicCellInventory implements StorageCell {
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
     private final boolean hasVoidUpgrade;
     private boolean isPersisted = true;
+    /**
+     * Set while several keys are inserted or extracted at once, to only save the cell once afterwards.
+     */
+    private boolean deferSaving;
+    private boolean savePending;
+    @Nullable
+    private Listener changeListener;
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, @Nullable ISaveProvider container) {
         this.i = o;
@@ -222,6 +233,14 @@ protected void saveChanges() {
         }
 
         this.isPersisted = false;
+        if (this.deferSaving) {
+            this.savePending = true;
+        } else {
+            saveToContainer();
+        }
+    }
+
+    private void saveToContainer() {
         if (this.container != null) {
             this.container.saveChanges();
         } else {
@@ -230,6 +249,24 @@ protected void saveChanges() {
         }
     }
 
+    private void deferSaving(Runnable batch) {
+        if (this.deferSaving) {
+            batch.run();
+            return;
+        }
+
+        this.deferSaving = true;
+        try {
+            batch.run();
+        } finally {
+            this.deferSaving = false;
+            if (this.savePending) {
+                this.savePending = false;
+                saveToContainer();
+            }
+        }
+    }
+
     private void loadCellItems() {
         var stacks = getStoredStacks();
         for (var stack : stacks) {
@@ -396,6 +433,7 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
         if (mode == Actionable.MODULATE) {
             getCellItems().put(what, currentAmount + amount);
             this.saveChanges();
+            this.notifyChange(what, amount);
         }
 
         return amount;
@@ -409,6 +447,7 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
                 if (mode == Actionable.MODULATE) {
                     getCellItems().remove(what, currentAmount);
                     this.saveChanges();
+                    this.notifyChange(what, -currentAmount);
                 }
 
                 return currentAmount;
@@ -416,6 +455,7 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
                 if (mode == Actionable.MODULATE) {
                     getCellItems().put(what, currentAmount - amount);
                     this.saveChanges();
+                    this.notifyChange(what, -amount);
                 }
 
                 return amount;
@@ -425,8 +465,65 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         return 0;
     }
 
+    @Override
+    public void insertAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        deferSaving(() -> StorageCell.super.insertAll(amounts, mode, source));
+    }
+
+    @Override
+    public void extractAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        deferSaving(() -> StorageCell.super.extractAll(amounts, mode, source));
+    }
+
     @Override
     public Component getDescription() {
         return i.getHoverName();
     }
+
+    @Override
+    public boolean addChangeListener(Listener listener) {
+        // Only a single listener is supported, additional listeners will have to poll the cell
+        if (this.changeListener != null && this.changeListener != listener) {
+            return false;
+        }
+        this.changeListener = listener;
+        return true;
+    }
+
+    @Override
+    public void removeChangeListener(Listener listener) {
+        if (this.changeListener == listener) {
+            this.changeListener = null;
+        }
+    }
+
+    @Nullable
+    @Override
+    public Set<Object> getAcceptedPrimaryKeys() {
+        if (this.partitionListMode != IncludeExclude.WHITELIST || this.partitionList.isEmpty()) {
+            return null;
+        }
+
+        var primaryKeys = new HashSet<>();
+        for (var key : this.partitionList.getItems()) {
+            primaryKeys.add(key.getPrimaryKey());
+        }
+        return primaryKeys;
+    }
+
+    @Override
+    public boolean addPartitionListener(PartitionListener listener) {
+        // The partition of a cell inventory never changes, a new inventory is created instead
+        return true;
+    }
+
+    @Override
+    public void removePartitionListener(PartitionListener listener) {
+    }
+
+    private void notifyChange(AEKey what, long delta) {
+        if (this.changeListener != null && delta != 0) {
+            this.changeListener.onStackChanged(what, delta);
+        }
+    }
 }
@@ -31,8 +31,9 @@
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
 import appeng.items.contents.CellConfig;
+import appeng.me.storage.IChangeReportingStorage;
 
-class CreativeCellInventory implements StorageCell {
+class CreativeCellInventory implements StorageCell, IChangeReportingStorage {
     private final Set<AEKey> configured;
     private final ItemStack stack;
 
@@ -89,4 +90,14 @@ public Component getDescription() {
     @Override
     public void persist() {
     }
+
+    @Override
+    public boolean addChangeListener(Listener listener) {
+        // The available stacks never change
+        return true;
+    }
+
+    @Override
+    public void removeChangeListener(Listener listener) {
+    }
 }
@@ -0,0 +1,234 @@
+package appeng.me.energy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+
+import appeng.api.networking.energy.IAEPowerStorage;
+
+/**
+ * The power storages used by an energy service for either extraction or injection, grouped into one bucket per
+ * priority. Adding and removing storages is constant time, since storages that are drained or filled up constantly
+ * leave and rejoin as they change state.
+ * <p/>
+ * Each bucket also keeps the total of an amount measured for its storages, i.e. the power they can provide or accept.
+ * The amount of a storage is measured when it is added, and has to be {@link #update updated} whenever the grid
+ * changes its stored power. Changes made to a storage by other means only become visible after {@link #refresh()}.
+ */
+public final class PowerStorageBuckets implements Iterable<IAEPowerStorage> {
+    private final boolean highestPriorityFirst;
+    private final ToDoubleFunction<IAEPowerStorage> amountFunction;
+    /**
+     * The buckets in the order of iteration. Buckets emptied by {@link Iterator#remove()} are pruned on the next pass.
+     */
+    private final List<Bucket> buckets = new ArrayList<>();
+    private final Reference2ObjectOpenHashMap<IAEPowerStorage, Entry> entries = new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * @param highestPriorityFirst Iterate over the storages with the highest priority first, otherwise lowest first.
+     * @param amountFunction       Measures the amount of a storage that is totalled per bucket.
+     */
+    public PowerStorageBuckets(boolean highestPriorityFirst, ToDoubleFunction<IAEPowerStorage> amountFunction) {
+        this.highestPriorityFirst = highestPriorityFirst;
+        this.amountFunction = amountFunction;
+    }
+
+    public boolean add(IAEPowerStorage storage) {
+        if (entries.containsKey(storage)) {
+            return false;
+        }
+
+        var bucket = getOrCreateBucket(storage.getPriority());
+        var entry = new Entry(bucket, measure(storage));
+        entries.put(storage, entry);
+        bucket.storages.add(storage);
+        bucket.addToTotal(0, entry.amount, this);
+        return true;
+    }
+
+    public boolean remove(IAEPowerStorage storage) {
+        var entry = entries.remove(storage);
+        if (entry == null) {
+            return false;
+        }
+
+        var bucket = entry.bucket;
+        bucket.storages.remove(storage);
+        if (bucket.storages.isEmpty()) {
+            buckets.remove(bucket);
+        } else {
+            bucket.addToTotal(entry.amount, 0, this);
+        }
+        return true;
+    }
+
+    public boolean contains(IAEPowerStorage storage) {
+        return entries.containsKey(storage);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Measures the amount of a storage again, if it is contained.
+     */
+    public void update(IAEPowerStorage storage) {
+        var entry = entries.get(storage);
+        if (entry != null) {
+            var oldAmount = entry.amount;
+            entry.amount = measure(storage);
+            entry.bucket.addToTotal(oldAmount, entry.amount, this);
+        }
+    }
+
+    /**
+     * Measures the amounts of all storages again.
+     */
+    public void refresh() {
+        for (var entry : entries.reference2ObjectEntrySet()) {
+            entry.getValue().amount = measure(entry.getKey());
+        }
+        for (var bucket : buckets) {
+            bucket.recomputeTotal(this);
+        }
+    }
+
+    /**
+     * Sums the totals of the buckets in iteration order, stopping as soon as the sum reaches the given amount.
+     */
+    public double sumUpTo(double amount) {
+        double sum = 0;
+        for (var bucket : buckets) {
+            if (sum >= amount) {
+                break;
+            }
+            sum += bucket.total;
+        }
+        return sum;
+    }
+
+    /**
+     * Iterates over the storages in priority order. The storages of the same priority are visited in the order they
+     * were added. Supports {@link Iterator#remove()}, and storages may be {@link #update updated} while iterating.
+     */
+    @Override
+    public Iterator<IAEPowerStorage> iterator() {
+        return new StorageIterator();
+    }
+
+    private double measure(IAEPowerStorage storage) {
+        return Math.max(0, amountFunction.applyAsDouble(storage));
+    }
+
+    private Bucket getOrCreateBucket(int priority) {
+        // There are only ever a handful of distinct priorities
+        int i = 0;
+        for (; i < buckets.size(); i++) {
+            var bucketPriority = buckets.get(i).priority;
+            if (bucketPriority == priority) {
+                return buckets.get(i);
+            } else if (highestPriorityFirst ? bucketPriority < priority : bucketPriority > priority) {
+                break;
+            }
+        }
+
+        var bucket = new Bucket(priority);
+        buckets.add(i, bucket);
+        return bucket;
+    }
+
+    private static final class Entry {
+        private final Bucket bucket;
+        private double amount;
+
+        private Entry(Bucket bucket, double amount) {
+            this.bucket = bucket;
+            this.amount = amount;
+        }
+    }
+
+    private static final class Bucket {
+        private final int priority;
+        private final ReferenceLinkedOpenHashSet<IAEPowerStorage> storages = new ReferenceLinkedOpenHashSet<>();
+        private double total;
+
+        private Bucket(int priority) {
+            this.priority = priority;
+        }
+
+        private void addToTotal(double oldAmount, double newAmount, PowerStorageBuckets owner) {
+            var newTotal = total - oldAmount + newAmount;
+            if (storages.isEmpty()) {
+                total = 0; // Don't keep accumulated rounding errors around
+            } else if (Double.isFinite(newTotal) && Double.isFinite(oldAmount) && Double.isFinite(newAmount)) {
+                total = newTotal;
+            } else {
+                // Storages with infinite amounts can't be subtracted again
+                recomputeTotal(owner);
+            }
+        }
+
+        private void recomputeTotal(PowerStorageBuckets owner) {
+            total = 0;
+            for (var storage : storages) {
+                total += owner.entries.get(storage).amount;
+            }
+        }
+    }
+
+    private final class StorageIterator implements Iterator<IAEPowerStorage> {
+        private final ListIterator<Bucket> bucketIt = buckets.listIterator();
+        @Nullable
+        private Bucket bucket;
+        @Nullable
+        private Iterator<IAEPowerStorage> storageIt;
+        @Nullable
+        private IAEPowerStorage current;
+
+        @Override
+        public boolean hasNext() {
+            while (storageIt == null || !storageIt.hasNext()) {
+                if (bucket != null && bucket.storages.isEmpty()) {
+                    bucketIt.remove();
+                }
+                bucket = null;
+                storageIt = null;
+                if (!bucketIt.hasNext()) {
+                    return false;
+                }
+                bucket = bucketIt.next();
+                storageIt = bucket.storages.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public IAEPowerStorage next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = storageIt.next();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null || storageIt == null) {
+                throw new IllegalStateException();
+            }
+            storageIt.remove();
+            var entry = entries.remove(current);
+            bucket.addToTotal(entry.amount, 0, PowerStorageBuckets.this);
+            current = null;
+        }
+    }
+}
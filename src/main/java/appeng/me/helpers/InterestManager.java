@@ -18,18 +18,27 @@
 
 package appeng.me.helpers;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
+import appeng.api.config.FuzzyMode;
 import appeng.api.stacks.AEKey;
 
 public class InterestManager<T> {
 
     private final Multimap<AEKey, T> container;
     private final Set<T> allStacksWatchers = Sets.newIdentityHashSet();
+    /**
+     * Fuzzy interests indexed by the primary key of their key, since only keys sharing it can be fuzzy-equal.
+     */
+    private final Map<Object, List<FuzzyInterest<T>>> fuzzyInterests = new HashMap<>();
 
     public InterestManager(Multimap<AEKey, T> interests) {
         this.container = interests;
@@ -43,6 +52,26 @@ public boolean remove(AEKey stack, T iw) {
         return this.container.remove(stack, iw);
     }
 
+    public boolean putFuzzy(AEKey stack, FuzzyMode fuzzyMode, T iw) {
+        var interest = new FuzzyInterest<>(stack, fuzzyMode, iw);
+        var interests = this.fuzzyInterests.computeIfAbsent(stack.getPrimaryKey(), k -> new ArrayList<>());
+        if (interests.contains(interest)) {
+            return false;
+        }
+        return interests.add(interest);
+    }
+
+    public boolean removeFuzzy(AEKey stack, FuzzyMode fuzzyMode, T iw) {
+        var interests = this.fuzzyInterests.get(stack.getPrimaryKey());
+        if (interests == null || !interests.remove(new FuzzyInterest<>(stack, fuzzyMode, iw))) {
+            return false;
+        }
+        if (interests.isEmpty()) {
+            this.fuzzyInterests.remove(stack.getPrimaryKey());
+        }
+        return true;
+    }
+
     public void setWatchAll(boolean watchAll, T watcher) {
         if (watchAll) {
             allStacksWatchers.add(watcher);
@@ -59,11 +88,38 @@ public Collection<T> get(AEKey stack) {
         return this.container.get(stack);
     }
 
+    /**
+     * @return The watchers with a fuzzy interest that the given key is fuzzy-equal to. Each watcher is only returned
+     *         once, even if several of its interests match.
+     */
+    public Collection<T> getFuzzy(AEKey stack) {
+        var interests = this.fuzzyInterests.get(stack.getPrimaryKey());
+        if (interests == null) {
+            return List.of();
+        }
+
+        List<T> result = null;
+        for (var interest : interests) {
+            if (stack.fuzzyEquals(interest.key(), interest.fuzzyMode())) {
+                if (result == null) {
+                    result = new ArrayList<>(interests.size());
+                } else if (result.contains(interest.watcher())) {
+                    continue;
+                }
+                result.add(interest.watcher());
+            }
+        }
+        return result != null ? result : List.of();
+    }
+
     public Collection<T> getAllStacksWatchers() {
         return this.allStacksWatchers;
     }
 
     public boolean isEmpty() {
-        return allStacksWatchers.isEmpty() && container.isEmpty();
+        return allStacksWatchers.isEmpty() && container.isEmpty() && fuzzyInterests.isEmpty();
+    }
+
+    private record FuzzyInterest<T>(AEKey key, FuzzyMode fuzzyMode, T watcher) {
     }
 }
@@ -0,0 +1,192 @@
+package appeng.me.helpers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BooleanSupplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.CrashReport;
+import net.minecraft.ReportedException;
+
+import appeng.core.AEConfig;
+import appeng.me.Grid;
+
+/**
+ * Collects computations that grid services defer during the server end tick, so that they can run in parallel once
+ * all grids have ticked. Computations may only touch the state of their own grid, and never the world. Their results
+ * are applied on the server thread afterwards, in the order in which they were deferred.
+ * <p/>
+ * This is not the order of the serial tick, where each result is applied before the next grid ticks. Grids ticking
+ * later, or applying results earlier, may change which nodes a grid owns, for example by merging it into another grid.
+ * Every job therefore checks whether it is still current before it is computed and again before it is applied, and
+ * jobs that are not are dropped. Their grid has to notice the change on its own and compute again in a later tick.
+ * <p/>
+ * Since grids never share nodes, the computations of different grids are independent. All computations of a grid are
+ * put into the same shard and run in order, and the grids are balanced across the shards by their size.
+ */
+public final class ShardedEndTick {
+    @Nullable
+    private static ForkJoinPool pool;
+
+    private final List<Job> jobs = new ArrayList<>();
+
+    /**
+     * @param computation Runs on a worker thread. Must only read and write state owned by the given grid.
+     * @param apply       Runs on the server thread after all computations have finished.
+     */
+    public void defer(Grid grid, Runnable computation, Runnable apply) {
+        defer(grid, () -> true, computation, apply);
+    }
+
+    /**
+     * @param isCurrent   Runs on the server thread before the computation and before applying its result. Must return
+     *                    false if the nodes of the grid changed since the job was deferred, to drop the job.
+     * @param computation Runs on a worker thread. Must only read and write state owned by the given grid.
+     * @param apply       Runs on the server thread after all computations have finished.
+     */
+    public void defer(Grid grid, BooleanSupplier isCurrent, Runnable computation, Runnable apply) {
+        jobs.add(new Job(grid, isCurrent, computation, apply));
+    }
+
+    /**
+     * Runs the deferred computations and then applies their results.
+     */
+    public void run() {
+        // The grids that ticked after a job was deferred may have changed the nodes it would visit
+        jobs.removeIf(job -> !job.isCurrent.getAsBoolean());
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        var shards = createShards(AEConfig.instance().getShardedGridTickThreads());
+        if (shards.size() == 1) {
+            // Not worth handing off to another thread
+            shards.getFirst().run();
+        } else {
+            var pool = getPool();
+            var tasks = new ArrayList<ForkJoinTask<?>>(shards.size());
+            for (var shard : shards) {
+                tasks.add(pool.submit(shard));
+            }
+            for (var task : tasks) {
+                task.join();
+            }
+        }
+
+        for (var job : jobs) {
+            if (job.error != null) {
+                throw crash(job, job.error, "Computing grid tick on worker thread");
+            }
+        }
+
+        for (var job : jobs) {
+            try {
+                // Applying earlier results may have changed the nodes this job visited
+                if (job.isCurrent.getAsBoolean()) {
+                    job.apply.run();
+                }
+            } catch (Throwable t) {
+                throw crash(job, t, "Applying grid tick computed on worker thread");
+            }
+        }
+    }
+
+    private List<Shard> createShards(int maxShards) {
+        var jobsByGrid = new LinkedHashMap<Grid, List<Job>>();
+        for (var job : jobs) {
+            jobsByGrid.computeIfAbsent(job.grid, g -> new ArrayList<>()).add(job);
+        }
+
+        // Assign the largest grids first, always to the shard with the least nodes
+        var grids = new ArrayList<>(jobsByGrid.entrySet());
+        grids.sort(Comparator.comparingInt((Map.Entry<Grid, List<Job>> e) -> e.getKey().size()).reversed());
+        var shards = new ArrayList<Shard>();
+        for (var entry : grids) {
+            Shard target;
+            if (shards.size() < maxShards) {
+                target = new Shard();
+                shards.add(target);
+            } else {
+                target = shards.getFirst();
+                for (var shard : shards) {
+                    if (shard.nodes < target.nodes) {
+                        target = shard;
+                    }
+                }
+            }
+            target.jobs.addAll(entry.getValue());
+            target.nodes += entry.getKey().size();
+        }
+        return shards;
+    }
+
+    private static ReportedException crash(Job job, Throwable t, String title) {
+        var crashReport = CrashReport.forThrowable(t, title);
+        job.grid.fillCrashReportCategory(crashReport.addCategory("Grid being ticked"));
+        return new ReportedException(crashReport);
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+                // Subclassing keeps the context class loader of the creating thread.
+                var worker = new ForkJoinWorkerThread(pool) {
+                };
+                worker.setName("AE Grid Tick Worker " + worker.getPoolIndex());
+                worker.setDaemon(true);
+                return worker;
+            };
+            pool = new ForkJoinPool(AEConfig.instance().getShardedGridTickThreads(), factory, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Implemented by grid services that can defer parts of their end of tick work to a {@link ShardedEndTick}.
+     */
+    public interface Participant {
+        /**
+         * Called instead of {@link appeng.api.networking.IGridServiceProvider#onServerEndTick()}.
+         */
+        void onServerEndTick(ShardedEndTick shardedTick);
+    }
+
+    private static final class Job {
+        private final Grid grid;
+        private final BooleanSupplier isCurrent;
+        private final Runnable computation;
+        private final Runnable apply;
+        @Nullable
+        private Throwable error;
+
+        private Job(Grid grid, BooleanSupplier isCurrent, Runnable computation, Runnable apply) {
+            this.grid = grid;
+            this.isCurrent = isCurrent;
+            this.computation = computation;
+            this.apply = apply;
+        }
+    }
+
+    private static final class Shard implements Runnable {
+        private final List<Job> jobs = new ArrayList<>();
+        private int nodes;
+
+        @Override
+        public void run() {
+            for (var job : jobs) {
+                try {
+                    job.computation.run();
+                } catch (Throwable t) {
+                    job.error = t;
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@
 import java.util.Iterator;
 import java.util.Set;
 
+import appeng.api.config.FuzzyMode;
 import appeng.api.networking.IStackWatcher;
 import appeng.api.stacks.AEKey;
 
@@ -15,6 +16,7 @@
     private final InterestManager<StackWatcher<T>> interestManager;
     private final T myHost;
     private final Set<AEKey> myInterests = new HashSet<>();
+    private final Set<FuzzyInterest> myFuzzyInterests = new HashSet<>();
     private boolean destroyed = false;
 
     public StackWatcher(InterestManager<StackWatcher<T>> interestManager, T host) {
@@ -47,6 +49,20 @@ public void remove(AEKey o) {
         }
     }
 
+    @Override
+    public void addFuzzy(AEKey e, FuzzyMode fuzzyMode) {
+        if (!destroyed && this.myFuzzyInterests.add(new FuzzyInterest(e, fuzzyMode))) {
+            interestManager.putFuzzy(e, fuzzyMode, this);
+        }
+    }
+
+    @Override
+    public void removeFuzzy(AEKey e, FuzzyMode fuzzyMode) {
+        if (!destroyed && this.myFuzzyInterests.remove(new FuzzyInterest(e, fuzzyMode))) {
+            interestManager.removeFuzzy(e, fuzzyMode, this);
+        }
+    }
+
     @Override
     public void reset() {
         setWatchAll(false);
@@ -57,6 +73,11 @@ public void reset() {
             interestManager.remove(i.next(), this);
             i.remove();
         }
+
+        for (var fuzzyInterest : this.myFuzzyInterests) {
+            interestManager.removeFuzzy(fuzzyInterest.key(), fuzzyInterest.fuzzyMode(), this);
+        }
+        this.myFuzzyInterests.clear();
     }
 
     /**
@@ -68,4 +89,7 @@ public void destroy() {
         reset();
         destroyed = true;
     }
+
+    private record FuzzyInterest(AEKey key, FuzzyMode fuzzyMode) {
+    }
 }
@@ -0,0 +1,371 @@
+package appeng.me.pathfinding;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNodeListener;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * Keeps the channel assignment of a {@link PathingCalculation} up-to-date when nodes are added to or removed from the
+ * edge of a grid, without recomputing the channels of the entire grid.
+ * <p>
+ * Changes are only applied incrementally when the result is guaranteed to be identical to a full recomputation:
+ * <ul>
+ * <li>Added nodes must be leaves, connected to a single node that was already part of the grid.</li>
+ * <li>Removed nodes must be leaves, that were only connected to a single node that remains part of the grid.</li>
+ * <li>A channel can only be granted if there is spare capacity along the entire route to the controller.</li>
+ * <li>A channel can only be released if no other node was denied a channel because of missing capacity.</li>
+ * </ul>
+ * Multiblocks, dense cables, P2P tunnels and controllers are never handled incrementally. If any pending change can't
+ * be applied, {@link #apply()} does nothing and the caller must fall back to a full recomputation.
+ */
+public class IncrementalPathing {
+    private final IGrid grid;
+    private final Set<GridNode> channelNodes;
+    private final Set<GridNode> multiblocksWithChannel;
+    private final boolean channelShortage;
+    private int channelsInUse;
+    private int channelsByBlocks;
+
+    private final Set<GridNode> addedNodes = new LinkedHashSet<>();
+    private final Set<GridNode> removedNodes = new LinkedHashSet<>();
+    private final Set<GridConnection> addedConnections = new LinkedHashSet<>();
+    private final Set<GridConnection> removedConnections = new LinkedHashSet<>();
+    private final Set<GridNode> changedNodes = new LinkedHashSet<>();
+    private boolean requiresFullRecompute;
+
+    /**
+     * Path items whose channel count has been recomputed, and their channel count before the change.
+     */
+    private final Reference2IntOpenHashMap<IPathItem> dirtyItems = new Reference2IntOpenHashMap<>();
+
+    public IncrementalPathing(IGrid grid, PathingCalculation calculation) {
+        this.grid = grid;
+        this.channelNodes = new HashSet<>(calculation.getChannelNodes());
+        this.multiblocksWithChannel = new HashSet<>(calculation.getMultiblocksWithChannel());
+        this.channelShortage = calculation.hasChannelShortage();
+        this.channelsInUse = calculation.getChannelsInUse();
+        this.channelsByBlocks = calculation.getChannelsByBlocks();
+    }
+
+    public void addNode(GridNode node) {
+        if (this.removedNodes.contains(node)) {
+            // Removed and re-added before being pathed, its previous channel assignment can't be trusted.
+            this.requiresFullRecompute = true;
+        }
+        this.addedNodes.add(node);
+    }
+
+    public void removeNode(GridNode node) {
+        // Nodes that were added and removed again before being pathed never had any effect.
+        if (!this.addedNodes.remove(node)) {
+            this.removedNodes.add(node);
+        }
+        this.changedNodes.remove(node);
+    }
+
+    public void addConnection(GridConnection connection) {
+        this.addedConnections.add(connection);
+    }
+
+    public void removeConnection(GridConnection connection) {
+        if (!this.addedConnections.remove(connection)) {
+            this.removedConnections.add(connection);
+        }
+    }
+
+    public void channelRequirementChanged(GridNode node) {
+        this.changedNodes.add(node);
+    }
+
+    public boolean hasPendingChanges() {
+        return this.requiresFullRecompute || !this.addedNodes.isEmpty() || !this.removedNodes.isEmpty()
+                || !this.addedConnections.isEmpty() || !this.removedConnections.isEmpty()
+                || !this.changedNodes.isEmpty();
+    }
+
+    /**
+     * Tries to apply all pending changes.
+     *
+     * @return False if the pending changes could not be applied incrementally. The channel assignment was not modified
+     *         in that case, and a full recomputation is required.
+     */
+    public boolean apply() {
+        try {
+            if (this.requiresFullRecompute) {
+                return false;
+            }
+
+            var removals = planRemovals();
+            var additions = planAdditions();
+            var requirementChanges = planRequirementChanges();
+            if (removals == null || additions == null || requirementChanges == null) {
+                return false;
+            }
+            if (!checkCapacity(additions, requirementChanges)) {
+                return false;
+            }
+
+            for (var removal : removals) {
+                applyRemoval(removal);
+            }
+            for (var addition : additions) {
+                applyAddition(addition);
+            }
+            for (var change : requirementChanges) {
+                applyRequirementChange(change);
+            }
+            finalizeChannels();
+
+            for (var addition : additions) {
+                addition.node.notifyStatusChange(IGridNodeListener.State.GRID_BOOT);
+            }
+            return true;
+        } finally {
+            this.addedNodes.clear();
+            this.removedNodes.clear();
+            this.addedConnections.clear();
+            this.removedConnections.clear();
+            this.changedNodes.clear();
+            this.dirtyItems.clear();
+            this.requiresFullRecompute = false;
+        }
+    }
+
+    public int getChannelsInUse() {
+        return channelsInUse;
+    }
+
+    public int getChannelsByBlocks() {
+        return channelsByBlocks;
+    }
+
+    @Nullable
+    private List<LeafChange> planRemovals() {
+        var result = new ArrayList<LeafChange>(this.removedNodes.size());
+        var leaves = new HashSet<GridNode>();
+
+        for (var connection : this.removedConnections) {
+            // Side A is closest to the controller, it must remain in the grid.
+            var parent = connection.a();
+            var leaf = connection.b();
+            if (!this.removedNodes.contains(leaf) || this.removedNodes.contains(parent)
+                    || parent.getInternalGrid() != this.grid || !leaves.add(leaf)) {
+                return null;
+            }
+            if (!canChangeIncrementally(leaf) || this.multiblocksWithChannel.contains(leaf)) {
+                return null;
+            }
+            if (this.channelNodes.contains(leaf) && this.channelShortage) {
+                // Another node might be able to use the released channel.
+                return null;
+            }
+            if (!hasValidRoute(parent)) {
+                return null;
+            }
+            result.add(new LeafChange(leaf, connection, parent, false));
+        }
+
+        // Every removed node must have been a leaf.
+        if (leaves.size() != this.removedNodes.size()) {
+            return null;
+        }
+        return result;
+    }
+
+    @Nullable
+    private List<LeafChange> planAdditions() {
+        var result = new ArrayList<LeafChange>(this.addedNodes.size());
+        var connections = new HashSet<GridConnection>();
+
+        for (var node : this.addedNodes) {
+            if (!canChangeIncrementally(node) || node.getInternalGrid() != this.grid) {
+                return null;
+            }
+
+            var nodeConnections = node.getConnections();
+            if (nodeConnections.size() != 1) {
+                return null;
+            }
+            var connection = (GridConnection) nodeConnections.getFirst();
+            var parent = (GridNode) connection.getOtherSide(node);
+            if (!this.addedConnections.contains(connection) || this.addedNodes.contains(parent)
+                    || this.removedNodes.contains(parent) || !hasValidRoute(parent)) {
+                return null;
+            }
+            connections.add(connection);
+            result.add(new LeafChange(node, connection, parent, node.hasFlag(GridFlags.REQUIRE_CHANNEL)));
+        }
+
+        // Every added connection must belong to a new leaf.
+        if (connections.size() != this.addedConnections.size()) {
+            return null;
+        }
+        return result;
+    }
+
+    @Nullable
+    private List<GridNode> planRequirementChanges() {
+        var result = new ArrayList<GridNode>(this.changedNodes.size());
+        for (var node : this.changedNodes) {
+            if (this.addedNodes.contains(node)) {
+                // Will be pathed with its current requirement anyway.
+                continue;
+            }
+            if (!canChangeIncrementally(node) || this.multiblocksWithChannel.contains(node)
+                    || node.getInternalGrid() != this.grid) {
+                return null;
+            }
+
+            boolean hadChannel = this.channelNodes.contains(node);
+            if (hadChannel == node.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
+                continue;
+            }
+            if (hadChannel && this.channelShortage || !hasValidRoute(node)) {
+                return null;
+            }
+            result.add(node);
+        }
+        return result;
+    }
+
+    private boolean checkCapacity(List<LeafChange> additions, List<GridNode> requirementChanges) {
+        // Channels that will additionally be routed through the path items, on top of the current assignment.
+        var extraChannels = new Reference2IntOpenHashMap<IPathItem>();
+        Predicate<IPathItem> allocate = item -> {
+            int used = item.getUsedChannels() + extraChannels.addTo(item, 1) + 1;
+            return used <= item.getMaxChannels();
+        };
+
+        for (var addition : additions) {
+            // The new node itself does not carry any other channels yet.
+            if (addition.channel
+                    && (addition.node.getMaxChannels() < 1 || !visitRoute(addition.parent, allocate))) {
+                return false;
+            }
+        }
+
+        for (var node : requirementChanges) {
+            if (!this.channelNodes.contains(node) && !visitRoute(node, allocate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyRemoval(LeafChange removal) {
+        if (this.channelNodes.remove(removal.node)) {
+            this.channelsInUse--;
+        }
+        this.channelsByBlocks -= removal.node.getUsedChannels() + removal.connection.getUsedChannels();
+
+        propagateUpwards(removal.parent);
+    }
+
+    private void applyAddition(LeafChange addition) {
+        addition.connection.setControllerRoute(addition.parent);
+        addition.node.setControllerRoute(addition.connection);
+        if (addition.channel) {
+            this.channelNodes.add(addition.node);
+            this.channelsInUse++;
+        }
+
+        // Newly added path items did not contribute to the channel count of this grid yet.
+        this.dirtyItems.put(addition.node, 0);
+        this.dirtyItems.put(addition.connection, 0);
+        propagateUpwards(addition.node);
+    }
+
+    private void applyRequirementChange(GridNode node) {
+        if (this.channelNodes.remove(node)) {
+            this.channelsInUse--;
+        } else {
+            this.channelNodes.add(node);
+            this.channelsInUse++;
+        }
+
+        propagateUpwards(node);
+    }
+
+    /**
+     * Recomputes the channel counts of the path items on the route from the given node to the controller.
+     */
+    private void propagateUpwards(GridNode start) {
+        visitRoute(start, item -> {
+            this.dirtyItems.putIfAbsent(item, item.getUsedChannels());
+            if (item instanceof GridNode node) {
+                node.propagateChannelsUpwards(this.channelNodes.contains(node));
+            } else {
+                ((GridConnection) item).propagateChannelsUpwards();
+            }
+            return true;
+        });
+    }
+
+    private void finalizeChannels() {
+        for (var entry : this.dirtyItems.reference2IntEntrySet()) {
+            var item = entry.getKey();
+            item.finalizeChannels();
+            this.channelsByBlocks += item.getUsedChannels() - entry.getIntValue();
+        }
+    }
+
+    private boolean hasValidRoute(GridNode start) {
+        return visitRoute(start, item -> true);
+    }
+
+    /**
+     * Compressed channels and nodes that can't carry them change what their entire subtree can route, so they always
+     * require a full recomputation.
+     */
+    private static boolean canChangeIncrementally(GridNode node) {
+        return !isController(node)
+                && !node.hasFlag(GridFlags.MULTIBLOCK)
+                && !node.hasFlag(GridFlags.DENSE_CAPACITY)
+                && !node.hasFlag(GridFlags.COMPRESSED_CHANNEL)
+                && !node.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED);
+    }
+
+    /**
+     * Visits the path items on the route from the given node to the controller, excluding the controller itself.
+     *
+     * @return False if the visitor returned false, or if the route could not be followed.
+     */
+    private boolean visitRoute(GridNode start, Predicate<IPathItem> visitor) {
+        // Guard against routes that are no longer valid by bounding the number of steps.
+        int remainingSteps = this.grid.size();
+        var node = start;
+        while (!isController(node)) {
+            if (remainingSteps-- < 0 || this.multiblocksWithChannel.contains(node)
+                    || node.getConnections().isEmpty()) {
+                return false;
+            }
+            var connection = (GridConnection) node.getControllerRoute();
+            if (connection.b() != node || !visitor.test(node) || !visitor.test(connection)) {
+                return false;
+            }
+            node = connection.getControllerRoute();
+        }
+        return true;
+    }
+
+    private static boolean isController(GridNode node) {
+        return node.getOwner() instanceof ControllerBlockEntity;
+    }
+
+    private record LeafChange(GridNode node, GridConnection connection, GridNode parent, boolean channel) {
+    }
+}
@@ -86,6 +86,10 @@ public class PathingCalculation {
      * Tracks the total number of channels for each path item is using.
      */
     private int channelsByBlocks = 0;
+    /**
+     * Whether any node was denied a channel because a path item along its route was already at capacity.
+     */
+    private boolean channelShortage = false;
 
     /**
      * Create a new pathing calculation from the passed grid.
@@ -192,6 +196,7 @@ private boolean tryUseChannel(GridNode start) {
         GridNode pi = start;
         while (pi != null) {
             if (channelBottlenecks.getOrDefault(pi, 0) >= pi.getMaxChannels()) {
+                channelShortage = true;
                 return false;
             }
 
@@ -269,4 +274,26 @@ public int getChannelsInUse() {
     public int getChannelsByBlocks() {
         return channelsByBlocks;
     }
+
+    /**
+     * @return The nodes that have been granted their own channel.
+     */
+    public Set<GridNode> getChannelNodes() {
+        return channelNodes;
+    }
+
+    /**
+     * @return The nodes that are using the channel of the multiblock they are part of.
+     */
+    public Set<GridNode> getMultiblocksWithChannel() {
+        return multiblocksWithChannel;
+    }
+
+    /**
+     * @return True if at least one node did not receive a channel because the channel capacity along its route was
+     *         exhausted.
+     */
+    public boolean hasChannelShortage() {
+        return channelShortage;
+    }
 }
@@ -23,13 +23,17 @@
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
@@ -67,9 +71,12 @@
 import appeng.api.stacks.GenericStack;
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.CraftingTreeCache;
+import appeng.crafting.ICraftingPatternLookup;
 import appeng.crafting.execution.CraftingSubmitResult;
 import appeng.hooks.ticking.TickHandler;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
@@ -97,6 +104,11 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             .thenComparingLong(CraftingCPUCluster::getAvailableStorage);
 
     private static final ExecutorService CRAFTING_POOL;
+    /**
+     * Shared by all parallel crafting calculations, created on first use.
+     */
+    @Nullable
+    private static ForkJoinPool parallelCalculationPool;
 
     static {
         final ThreadFactory factory = ar -> {
@@ -114,9 +126,15 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     }
 
     private final Set<CraftingCPUCluster> craftingCPUClusters = new HashSet<>();
+    /**
+     * The CPUs of {@link #craftingCPUClusters} that are waiting for each key, used to route inserted items.
+     */
+    private final Map<AEKey, Set<CraftingCPUCluster>> cpusWaitingFor = new HashMap<>();
     private final Map<IGridNode, StackWatcher<ICraftingWatcherNode>> craftingWatchers = new HashMap<>();
     private final IGrid grid;
     private final NetworkCraftingProviders craftingProviders = new NetworkCraftingProviders();
+    @Nullable
+    private CraftingTreeCache treeCache;
     private final Map<UUID, CraftingLinkNexus> craftingLinks = new HashMap<>();
     private final Multimap<AEKey, StackWatcher<ICraftingWatcherNode>> interests = HashMultimap.create();
     private final InterestManager<StackWatcher<ICraftingWatcherNode>> interestManager = new InterestManager<>(
@@ -168,7 +186,7 @@ public void onServerEndTick() {
 
             // Notify watchers about items no longer being crafted, but only if there can be changes and there are
             // watchers
-            if (!interests.isEmpty() && !(previouslyCrafting.isEmpty() && currentlyCrafting.isEmpty())) {
+            if (!interestManager.isEmpty() && !(previouslyCrafting.isEmpty() && currentlyCrafting.isEmpty())) {
                 var changed = new HashSet<AEKey>();
                 changed.addAll(Sets.difference(previouslyCrafting, currentlyCrafting));
                 changed.addAll(Sets.difference(currentlyCrafting, previouslyCrafting));
@@ -176,6 +194,9 @@ public void onServerEndTick() {
                     for (var watcher : interestManager.get(what)) {
                         watcher.getHost().onRequestChange(what);
                     }
+                    for (var watcher : interestManager.getFuzzy(what)) {
+                        watcher.getHost().onRequestChange(what);
+                    }
                     for (var watcher : interestManager.getAllStacksWatchers()) {
                         watcher.getHost().onRequestChange(what);
                     }
@@ -197,7 +218,7 @@ public void onServerEndTick() {
                 currentlyCraftable.addAll(craftingProviders.getEmittableKeys());
 
                 // Only perform the change tracking if there are watchers
-                if (!interests.isEmpty()) {
+                if (!interestManager.isEmpty()) {
                     var changedCraftable = new HashSet<AEKey>();
                     changedCraftable.addAll(Sets.difference(previouslyCraftable, currentlyCraftable));
                     changedCraftable.addAll(Sets.difference(currentlyCraftable, previouslyCraftable));
@@ -205,6 +226,9 @@ public void onServerEndTick() {
                         for (var watcher : interestManager.get(what)) {
                             watcher.getHost().onCraftableChange(what);
                         }
+                        for (var watcher : interestManager.getFuzzy(what)) {
+                            watcher.getHost().onCraftableChange(what);
+                        }
                         for (var watcher : interestManager.getAllStacksWatchers()) {
                             watcher.getHost().onCraftableChange(what);
                         }
@@ -286,6 +310,35 @@ private void updateCPUClusters() {
                 }
             }
         }
+
+        this.cpusWaitingFor.clear();
+        var waitingFor = new HashSet<AEKey>();
+        for (var cluster : this.craftingCPUClusters) {
+            waitingFor.clear();
+            cluster.craftingLogic.getAllWaitingFor(waitingFor);
+            for (var what : waitingFor) {
+                this.cpusWaitingFor.computeIfAbsent(what, k -> new HashSet<>()).add(cluster);
+            }
+        }
+    }
+
+    /**
+     * Called by the CPUs of this grid when they start or stop waiting for a key.
+     */
+    public void onCpuWaitingForChange(CraftingCPUCluster cluster, AEKey what, boolean waiting) {
+        // Unknown CPUs will be indexed once the CPU list is updated.
+        if (!this.craftingCPUClusters.contains(cluster)) {
+            return;
+        }
+
+        if (waiting) {
+            this.cpusWaitingFor.computeIfAbsent(what, k -> new HashSet<>()).add(cluster);
+        } else {
+            var cpus = this.cpusWaitingFor.get(what);
+            if (cpus != null && cpus.remove(cluster) && cpus.isEmpty()) {
+                this.cpusWaitingFor.remove(what);
+            }
+        }
     }
 
     public void addLink(CraftingLink link) {
@@ -302,9 +355,18 @@ public void addLink(CraftingLink link) {
     }
 
     public long insertIntoCpus(AEKey what, long amount, Actionable type) {
+        var cpus = this.cpusWaitingFor.get(what);
+        if (cpus == null) {
+            return 0;
+        }
+
         long inserted = 0;
-        for (var cpu : this.craftingCPUClusters) {
+        // Copy since inserting can make the CPUs stop waiting for the key.
+        for (var cpu : List.copyOf(cpus)) {
             inserted += cpu.craftingLogic.insert(what, amount - inserted, type);
+            if (inserted >= amount) {
+                break;
+            }
         }
 
         return inserted;
@@ -334,12 +396,41 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
             throw new IllegalArgumentException("Invalid Crafting Job Request");
         }
 
-        final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
-                new GenericStack(what, amount), strategy);
+        var generation = this.craftingProviders.getGeneration();
+        if (this.treeCache == null || this.treeCache.getGeneration() != generation) {
+            this.treeCache = new CraftingTreeCache(generation);
+        }
+
+        final CraftingCalculation job;
+        if (AEConfig.instance().isParallelCraftingCalculationEnabled()) {
+            // The calculation threads can't query the live patterns while the server thread keeps running.
+            var cpuBudget = TimeUnit.MILLISECONDS.toNanos(AEConfig.instance().getCraftingCalculationCpuBudget());
+            job = new CraftingCalculation(level, grid, simRequester, new GenericStack(what, amount), strategy,
+                    craftingProviders.getSnapshot(), this.treeCache, getParallelCalculationPool(), cpuBudget);
+        } else {
+            job = new CraftingCalculation(level, grid, simRequester, new GenericStack(what, amount), strategy,
+                    ICraftingPatternLookup.of(this), this.treeCache, null, 0);
+        }
 
         return CRAFTING_POOL.submit(job::run);
     }
 
+    private static synchronized ForkJoinPool getParallelCalculationPool() {
+        if (parallelCalculationPool == null) {
+            ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+                // Subclassing keeps the context class loader of the creating thread.
+                var worker = new ForkJoinWorkerThread(pool) {
+                };
+                worker.setName("AE Crafting Calculator Worker " + worker.getPoolIndex());
+                worker.setDaemon(true);
+                return worker;
+            };
+            parallelCalculationPool = new ForkJoinPool(AEConfig.instance().getCraftingCalculationThreads(), factory,
+                    null, false);
+        }
+        return parallelCalculationPool;
+    }
+
     @Override
     public ICraftingSubmitResult submitJob(ICraftingPlan job, ICraftingRequester requestingMachine, ICraftingCPU target,
             boolean prioritizePower, IActionSource src) {
@@ -463,6 +554,10 @@ public Iterable<ICraftingProvider> getProviders(IPatternDetails key) {
         return craftingProviders.getMediums(key);
     }
 
+    public int getProviderCount(IPatternDetails key) {
+        return craftingProviders.getMediumCount(key);
+    }
+
     public boolean hasCpu(ICraftingCPU cpu) {
         return this.craftingCPUClusters.contains(cpu);
     }
@@ -20,15 +20,12 @@
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.SortedSet;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultiset;
@@ -41,8 +38,6 @@
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 
-import it.unimi.dsi.fastutil.objects.ObjectRBTreeSet;
-
 import appeng.api.config.AccessRestriction;
 import appeng.api.config.Actionable;
 import appeng.api.config.PowerMultiplier;
@@ -66,6 +61,7 @@
 import appeng.me.energy.EnergyWatcher;
 import appeng.me.energy.GridEnergyStorage;
 import appeng.me.energy.IEnergyOverlayGridConnection;
+import appeng.me.energy.PowerStorageBuckets;
 
 public class EnergyService implements IEnergyService, IGridServiceProvider {
     private static final String TAG_STORED_ENERGY = "e";
@@ -83,32 +79,30 @@ public class EnergyService implements IEnergyService, IGridServiceProvider {
                 });
     }
 
-    private static final Comparator<IAEPowerStorage> COMPARATOR_HIGHEST_PRIORITY_FIRST = (o1, o2) -> {
-        final int cmp = Integer.compare(o2.getPriority(), o1.getPriority());
-        return cmp != 0 ? cmp : Integer.compare(System.identityHashCode(o2), System.identityHashCode(o1));
-    };
-
-    private static final Comparator<IAEPowerStorage> COMPARATOR_LOWEST_PRIORITY_FIRST = (o1,
-            o2) -> -COMPARATOR_HIGHEST_PRIORITY_FIRST.compare(o1, o2);
-
     private final NavigableSet<EnergyThreshold> interests = Sets.newTreeSet();
     private final double averageLength = 40.0;
 
     // Should only be modified from the add/remove methods below to guard against
-    // concurrent modifications
-    private final SortedSet<IAEPowerStorage> providers = new ObjectRBTreeSet<>(COMPARATOR_HIGHEST_PRIORITY_FIRST);
+    // concurrent modifications. Totals the power each bucket of providers can provide.
+    private final PowerStorageBuckets providers = new PowerStorageBuckets(true,
+            ps -> ps.getPowerFlow().isAllowExtraction() ? ps.getAECurrentPower() : 0);
     // Used to track whether an extraction is currently in progress, to fail fast
     // when something externally
     // modifies the energy grid.
     private boolean ongoingExtractOperation = false;
 
     // Should only be modified from the add/remove methods below to guard against
-    // concurrent modifications
-    private final SortedSet<IAEPowerStorage> requesters = new ObjectRBTreeSet<>(COMPARATOR_LOWEST_PRIORITY_FIRST);
+    // concurrent modifications. Totals the power each bucket of requesters can accept.
+    private final PowerStorageBuckets requesters = new PowerStorageBuckets(false,
+            ps -> ps.getPowerFlow().isAllowInsertion() ? ps.getAEMaxPower() - ps.getAECurrentPower() : 0);
     // Used to track whether an injection is currently in progress, to fail fast
     // when something externally
     // modifies the energy grid.
     private boolean ongoingInjectOperation = false;
+    // The bucket totals only follow changes made through this service and the state change events of the storages.
+    // They are measured again once per tick before they are trusted for a simulated operation, since storages may be
+    // drained or filled by other means.
+    private boolean bucketTotalsStale = true;
 
     private final Multiset<IEnergyOverlayGridConnection> overlayGridConnections = HashMultiset.create();
     final Grid grid;
@@ -178,6 +172,9 @@ public void storagePowerChangeHandler(GridPowerStorageStateChanged ev) {
                 case PROVIDE_POWER -> addProvider(ev.storage);
                 case RECEIVE_POWER -> addRequester(ev.storage);
             }
+            // The storage's power changed, which is also reflected in the totals of the other direction
+            this.providers.update(ev.storage);
+            this.requesters.update(ev.storage);
         } else {
             new RuntimeException("Attempt to ask the IEnergyGrid to charge a non public energy store.")
                     .printStackTrace();
@@ -186,6 +183,8 @@ public void storagePowerChangeHandler(GridPowerStorageStateChanged ev) {
 
     @Override
     public void onServerStartTick() {
+        this.bucketTotalsStale = true;
+
         // replenish the passive power generation reservoir for the overarching energy service
         // we only allow one passive generator for the entire network
         for (var passiveGenerator : passiveGenerators) {
@@ -313,11 +312,29 @@ private void publicPowerState(boolean newState, IGrid grid) {
     public void refreshPower() {
         this.availableTicksSinceUpdate = 0;
         this.globalAvailablePower = 0;
+        // Also pick up changes that were made to the storages without going through this service
+        refreshBucketTotals();
         for (IAEPowerStorage p : this.providers) {
             this.globalAvailablePower += p.getAECurrentPower();
         }
     }
 
+    private void refreshBucketTotals() {
+        this.providers.refresh();
+        this.requesters.refresh();
+        this.bucketTotalsStale = false;
+    }
+
+    /**
+     * Measures the bucket totals again if that didn't happen yet in this tick, before they are used to skip asking each
+     * storage in simulated operations that can't succeed at all.
+     */
+    private void refreshBucketTotalsIfStale() {
+        if (this.bucketTotalsStale) {
+            refreshBucketTotals();
+        }
+    }
+
     public Collection<IEnergyOverlayGridConnection> getOverlayGridConnections() {
         return this.overlayGridConnections;
     }
@@ -325,9 +342,17 @@ public Collection<IEnergyOverlayGridConnection> getOverlayGridConnections() {
     public double extractProviderPower(double amt, Actionable mode) {
         Preconditions.checkArgument(amt >= 0, "amt must be >= 0");
 
+        if (mode == Actionable.SIMULATE) {
+            refreshBucketTotalsIfStale();
+            if (this.providers.sumUpTo(amt) <= 0) {
+                // None of the providers has any power left, no need to ask each of them
+                return 0;
+            }
+        }
+
         double extractedPower = 0;
 
-        final Iterator<IAEPowerStorage> it = this.providers.iterator();
+        var it = this.providers.iterator();
 
         ongoingExtractOperation = true;
         try {
@@ -338,8 +363,13 @@ public double extractProviderPower(double amt, Actionable mode) {
                 final double newPower = node.extractAEPower(req, mode, PowerMultiplier.ONE);
                 extractedPower += newPower;
 
-                if (newPower < req && mode == Actionable.MODULATE) {
-                    it.remove();
+                if (mode == Actionable.MODULATE) {
+                    if (newPower < req) {
+                        it.remove();
+                    } else {
+                        this.providers.update(node);
+                    }
+                    this.requesters.update(node);
                 }
             }
         } finally {
@@ -352,6 +382,7 @@ public double extractProviderPower(double amt, Actionable mode) {
             // Be nice and try to push returned excess to the grid storage
             if (extractedPower > amt) {
                 this.localStorage.injectAEPower(extractedPower - amt, Actionable.MODULATE);
+                onLocalStorageChanged();
             }
 
             this.globalAvailablePower -= result;
@@ -364,6 +395,14 @@ public double extractProviderPower(double amt, Actionable mode) {
     public double injectProviderPower(double amt, Actionable mode) {
         Preconditions.checkArgument(amt >= 0, "amt must be >= 0");
 
+        if (mode == Actionable.SIMULATE) {
+            refreshBucketTotalsIfStale();
+            if (this.requesters.sumUpTo(amt) <= 0) {
+                // None of the requesters has any room left, no need to ask each of them
+                return amt;
+            }
+        }
+
         final double originalAmount = amt;
 
         var it = this.requesters.iterator();
@@ -374,8 +413,13 @@ public double injectProviderPower(double amt, Actionable mode) {
                 final IAEPowerStorage node = it.next();
                 amt = node.injectAEPower(amt, mode);
 
-                if (amt > 0 && mode == Actionable.MODULATE) {
-                    it.remove();
+                if (mode == Actionable.MODULATE) {
+                    if (amt > 0) {
+                        it.remove();
+                    } else {
+                        this.requesters.update(node);
+                    }
+                    this.providers.update(node);
                 }
             }
         } finally {
@@ -394,17 +438,8 @@ public double injectProviderPower(double amt, Actionable mode) {
     public double getProviderEnergyDemand(double maxRequired) {
         Preconditions.checkArgument(maxRequired >= 0, "maxRequired must be >= 0");
 
-        double required = 0;
-
-        final Iterator<IAEPowerStorage> it = this.requesters.iterator();
-        while (required < maxRequired && it.hasNext()) {
-            final IAEPowerStorage node = it.next();
-            if (node.getPowerFlow() != AccessRestriction.READ) {
-                required += Math.max(0.0, node.getAEMaxPower() - node.getAECurrentPower());
-            }
-        }
-
-        return required;
+        refreshBucketTotalsIfStale();
+        return this.requesters.sumUpTo(maxRequired);
     }
 
     @Override
@@ -469,6 +504,7 @@ public double getEnergyDemand(double maxRequired) {
     @Override
     public void removeNode(IGridNode node) {
         localStorage.removeNode();
+        onLocalStorageChanged();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
         if (gridProvider != null) {
@@ -511,6 +547,14 @@ public void removeNode(IGridNode node) {
         }
     }
 
+    /**
+     * The local storage is changed directly when nodes join or leave, outside of extraction and injection.
+     */
+    private void onLocalStorageChanged() {
+        this.providers.update(this.localStorage);
+        this.requesters.update(this.localStorage);
+    }
+
     private void addRequester(IAEPowerStorage requester) {
         Preconditions.checkState(!ongoingInjectOperation,
                 "Cannot modify energy requesters while energy is being injected.");
@@ -542,6 +586,7 @@ private void removeProvider(IAEPowerStorage provider) {
     @Override
     public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
         localStorage.addNode();
+        onLocalStorageChanged();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
         if (gridProvider != null) {
@@ -587,6 +632,7 @@ public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
             double buffer = storedData.getDouble(TAG_STORED_ENERGY);
             if (buffer > 0) {
                 localStorage.injectAEPower(buffer, Actionable.MODULATE);
+                onLocalStorageChanged();
             }
         }
     }
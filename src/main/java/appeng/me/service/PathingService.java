@@ -46,12 +46,16 @@
 import appeng.core.AELog;
 import appeng.core.stats.AdvancementTriggers;
 import appeng.me.Grid;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+import appeng.me.helpers.ShardedEndTick;
 import appeng.me.pathfinding.AdHocChannelUpdater;
 import appeng.me.pathfinding.ChannelFinalizer;
 import appeng.me.pathfinding.ControllerValidator;
+import appeng.me.pathfinding.IncrementalPathing;
 import appeng.me.pathfinding.PathingCalculation;
 
-public class PathingService implements IPathingService, IGridServiceProvider {
+public class PathingService implements IPathingService, IGridServiceProvider, ShardedEndTick.Participant {
     private static final String TAG_CHANNEL_MODE = "cm";
 
     static {
@@ -83,6 +87,12 @@ public class PathingService implements IPathingService, IGridServiceProvider {
      */
     private boolean channelModeLocked;
     private ChannelMode channelMode = AEConfig.instance().getChannelMode();
+    /**
+     * Tracks changes to the grid since the last full channel assignment, if they can potentially be applied without
+     * rebooting the grid.
+     */
+    @Nullable
+    private IncrementalPathing incrementalPathing;
 
     public PathingService(IGrid g) {
         this.grid = (Grid) g;
@@ -90,10 +100,23 @@ public PathingService(IGrid g) {
 
     @Override
     public void onServerEndTick() {
+        updatePaths(null);
+    }
+
+    @Override
+    public void onServerEndTick(ShardedEndTick shardedTick) {
+        updatePaths(shardedTick);
+    }
+
+    private void updatePaths(@Nullable ShardedEndTick shardedTick) {
         if (this.recalculateControllerNextTick) {
             this.updateControllerState();
         }
 
+        if (!this.reboot && this.incrementalPathing != null && this.incrementalPathing.hasPendingChanges()) {
+            this.applyIncrementalChanges(this.incrementalPathing);
+        }
+
         if (this.reboot) {
             this.reboot = false;
 
@@ -125,23 +148,58 @@ public void onServerEndTick() {
                 this.channelsByBlocks = 0;
             } else {
                 var calculation = new PathingCalculation(grid);
+                if (shardedTick != null) {
+                    // Only the calculation itself can run in parallel, since finishing the boot notifies the nodes.
+                    // Any change to the nodes before the result is applied requests a repath, which drops the
+                    // calculation, and the grid keeps booting until it is calculated again in the next tick.
+                    shardedTick.defer(grid, () -> !this.reboot && !grid.isEmpty(), calculation::compute, () -> {
+                        applyCalculation(calculation);
+                        finishBooting();
+                    });
+                    return;
+                }
                 calculation.compute();
-                this.channelsInUse = calculation.getChannelsInUse();
-                this.channelsByBlocks = calculation.getChannelsByBlocks();
+                applyCalculation(calculation);
             }
 
-            // check for achievements
-            this.achievementPost();
+            finishBooting();
+        }
+    }
 
-            this.booting = false;
-            this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
-            // Notify of channel changes AFTER we set booting to false, this ensures that any activeness check will
-            // properly return true.
-            this.grid.getPivot().beginVisit(new ChannelFinalizer());
-            this.postBootingStatusChange();
+    private void applyCalculation(PathingCalculation calculation) {
+        this.channelsInUse = calculation.getChannelsInUse();
+        this.channelsByBlocks = calculation.getChannelsByBlocks();
+        if (AEConfig.instance().isIncrementalPathingEnabled()) {
+            this.incrementalPathing = new IncrementalPathing(grid, calculation);
         }
     }
 
+    private void finishBooting() {
+        // check for achievements
+        this.achievementPost();
+
+        this.booting = false;
+        this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
+        // Notify of channel changes AFTER we set booting to false, this ensures that any activeness check will
+        // properly return true.
+        this.grid.getPivot().beginVisit(new ChannelFinalizer());
+        this.postBootingStatusChange();
+    }
+
+    private void applyIncrementalChanges(IncrementalPathing incrementalPathing) {
+        if (this.controllerState != ControllerState.CONTROLLER_ONLINE
+                || !this.channelModeLocked && this.channelMode != AEConfig.instance().getChannelMode()
+                || !incrementalPathing.apply()) {
+            this.repath();
+            return;
+        }
+
+        this.channelsInUse = incrementalPathing.getChannelsInUse();
+        this.channelsByBlocks = incrementalPathing.getChannelsByBlocks();
+        this.achievementPost();
+        this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
+    }
+
     private void postBootingStatusChange() {
         this.grid.postEvent(new GridBootingStatusChange(this.booting));
         this.grid.notifyAllNodes(IGridNodeListener.State.GRID_BOOT);
@@ -162,11 +220,16 @@ public void removeNode(IGridNode gridNode) {
             this.cannotCarryCompressedNodes.remove(gridNode);
         }
 
-        this.repath();
+        if (this.incrementalPathing != null && !this.reboot) {
+            this.incrementalPathing.removeNode((GridNode) gridNode);
+        } else {
+            this.repath();
+        }
     }
 
     @Override
     public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
+        var previousChannelMode = this.channelMode;
         if (savedData != null) {
             restoreChannelMode(savedData);
         }
@@ -184,7 +247,33 @@ public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
             this.cannotCarryCompressedNodes.add(gridNode);
         }
 
-        this.repath();
+        if (this.incrementalPathing != null && !this.reboot && this.channelMode == previousChannelMode) {
+            this.incrementalPathing.addNode((GridNode) gridNode);
+        } else {
+            this.repath();
+        }
+    }
+
+    /**
+     * Called when a connection between two nodes of this grid has been created.
+     */
+    public void onConnectionCreated(GridConnection connection) {
+        if (this.incrementalPathing != null && !this.reboot) {
+            this.incrementalPathing.addConnection(connection);
+        } else {
+            this.repath();
+        }
+    }
+
+    /**
+     * Called when a connection between two nodes of this grid is being destroyed.
+     */
+    public void onConnectionDestroyed(GridConnection connection) {
+        if (this.incrementalPathing != null && !this.reboot) {
+            this.incrementalPathing.removeConnection(connection);
+        } else {
+            this.repath();
+        }
     }
 
     private void restoreChannelMode(CompoundTag savedData) {
@@ -305,7 +394,11 @@ private void updateNodReq(GridChannelRequirementChanged ev) {
             this.nodesNeedingChannels.remove(gridNode);
         }
 
-        this.repath();
+        if (this.incrementalPathing != null && !this.reboot) {
+            this.incrementalPathing.channelRequirementChanged((GridNode) gridNode);
+        } else {
+            this.repath();
+        }
     }
 
     @Override
@@ -326,6 +419,7 @@ public void repath() {
 
         this.channelsByBlocks = 0;
         this.reboot = true;
+        this.incrementalPathing = null;
     }
 
     double getChannelPowerUsage() {
@@ -22,9 +22,11 @@
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
@@ -41,6 +43,7 @@
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtOps;
 
+import it.unimi.dsi.fastutil.objects.AbstractObject2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
@@ -49,18 +52,26 @@
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IInventorySnapshot;
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
+import appeng.me.storage.NetworkInventorySnapshot;
 import appeng.me.storage.NetworkStorage;
 import appeng.util.JsonStreamUtil;
 
 public class StorageService implements IStorageService, IGridServiceProvider {
     private static final Gson GSON = new Gson();
 
+    /**
+     * The number of changes retained in the change feed. Must be a power of two.
+     */
+    static final int CHANGE_FEED_CAPACITY = 1 << 14;
+
     /**
      * Tracks the storage service's state for each grid node that provides storage to the network.
      */
@@ -82,7 +93,41 @@ public class StorageService implements IStorageService, IGridServiceProvider {
      * {@link #cachedAvailableStacks} is modified by mistake.
      */
     private final Object2LongMap<AEKey> cachedAvailableAmounts = new Object2LongOpenHashMap<>();
+    /**
+     * The part of {@link #cachedAvailableStacks} contributed by storages that cannot report their own changes, and need
+     * to be polled.
+     */
+    private KeyCounter cachedPolledStacks = new KeyCounter();
+    /**
+     * Keys whose amount changed during an incremental update of the cached stacks.
+     */
+    private final Set<AEKey> changedStacks = new HashSet<>();
+    /**
+     * Running totals of {@link #cachedAvailableAmounts}, overall and per key type.
+     */
+    private final CachedTotals cachedTotals = new CachedTotals();
+    private final Map<AEKeyType, CachedTotals> cachedTotalsByType = new IdentityHashMap<>();
     private boolean cachedStacksNeedUpdate = true;
+    /**
+     * Set when the cached stacks are accessed, to keep them updated incrementally at the end of the tick.
+     */
+    private boolean cachedStacksInUse;
+    /**
+     * Ring buffer of the keys whose cached amount changed, indexed by their position in the change feed. Only allocated
+     * once the change feed is first read, since most grids never have a consumer for it.
+     */
+    @Nullable
+    private AEKey[] changeFeed;
+    private long changeFeedPosition;
+    /**
+     * The change feed position at which {@link #changeFeed} was allocated. Earlier changes were not recorded.
+     */
+    private long changeFeedStart;
+    /**
+     * The last snapshot handed out, reused until the cached stacks change.
+     */
+    @Nullable
+    private NetworkInventorySnapshot inventorySnapshot;
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
      * grid.
@@ -97,58 +142,164 @@ public StorageService() {
 
     @Override
     public void onServerEndTick() {
-        if (interestManager.isEmpty()) {
-            // lazily rebuild cache list
+        if (interestManager.isEmpty() && !cachedStacksInUse) {
+            // lazily rebuild cache list, and stop recording the changes until then
             cachedStacksNeedUpdate = true;
+            storage.setRecordingChanges(false);
         } else {
-            // we need to rebuild the cache every tick to notify listeners
+            // we need to update the cache every tick to notify listeners and keep the change feed going
             updateCachedStacks();
         }
+        cachedStacksInUse = false;
     }
 
     private void updateCachedStacks() {
         var time = System.nanoTime();
 
         try {
-            cachedStacksNeedUpdate = false;
+            if (cachedStacksNeedUpdate) {
+                rebuildCachedStacks();
+            } else {
+                applyCachedStackChanges();
+            }
+        } finally {
+            inventoryRefreshStats.add(System.nanoTime() - time);
+        }
+    }
+
+    /**
+     * Rebuilds the cached stacks from scratch by listing the content of every mounted storage.
+     */
+    private void rebuildCachedStacks() {
+        cachedAvailableStacks.clear();
+        cachedPolledStacks.clear();
+        // Changes made after the listing are applied incrementally
+        storage.setRecordingChanges(true);
+        // If the storage is currently in use, the listing is incomplete and has to be repeated next time
+        cachedStacksNeedUpdate = !storage.getAvailableStacks(cachedAvailableStacks, cachedPolledStacks);
+        cachedAvailableStacks.addAll(cachedPolledStacks);
+        // clear() only clears the inner maps,
+        // so ensure that the outer map gets cleaned up too
+        cachedAvailableStacks.removeEmptySubmaps();
+        cachedPolledStacks.removeEmptySubmaps();
+
+        // Recount the totals before notifying watchers, so they can read them
+        cachedTotals.clear();
+        cachedTotalsByType.clear();
+        for (var entry : cachedAvailableStacks) {
+            updateCachedTotals(entry.getKey(), 0, entry.getLongValue());
+        }
+
+        // Post watcher update for currently available stacks
+        for (var entry : cachedAvailableStacks) {
+            var what = entry.getKey();
+            var newAmount = entry.getLongValue();
+            if (newAmount != cachedAvailableAmounts.getLong(what)) {
+                postStackChange(what, newAmount);
+            }
+        }
+        // Post watcher update for removed stacks
+        for (var entry : cachedAvailableAmounts.object2LongEntrySet()) {
+            var what = entry.getKey();
+            var newAmount = cachedAvailableStacks.get(what);
+            if (newAmount == 0) {
+                postStackChange(what, newAmount);
+            }
+        }
+
+        // Update private amounts
+        cachedAvailableAmounts.clear();
+        for (var entry : cachedAvailableStacks) {
+            cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
+        }
+    }
 
-            cachedAvailableStacks.clear();
-            storage.getAvailableStacks(cachedAvailableStacks);
-            // clear() only clears the inner maps,
-            // so ensure that the outer map gets cleaned up too
-            cachedAvailableStacks.removeEmptySubmaps();
+    /**
+     * Updates the cached stacks by applying the changes reported by storages such as storage cells, and only polling
+     * the storages that cannot report their own changes (i.e. storage buses). This only costs time proportional to the
+     * number of changes, and the content of polled storages, instead of the entire network content.
+     */
+    private void applyCachedStackChanges() {
+        // Apply the changes reported by storages
+        var reportedChanges = storage.getReportedChanges();
+        for (var entry : reportedChanges) {
+            var delta = entry.getLongValue();
+            if (delta != 0) {
+                var what = entry.getKey();
+                cachedAvailableStacks.add(what, delta);
+                changedStacks.add(what);
+            }
+        }
+        storage.clearReportedChanges();
 
-            // Post watcher update for currently available stacks
-            for (var entry : cachedAvailableStacks) {
+        // Poll the remaining storages and apply the difference to their previous content
+        var polledStacks = new KeyCounter();
+        if (storage.getPolledAvailableStacks(polledStacks)) {
+            for (var entry : polledStacks) {
                 var what = entry.getKey();
-                var newAmount = entry.getLongValue();
-                if (newAmount != cachedAvailableAmounts.getLong(what)) {
-                    postWatcherUpdate(what, newAmount);
+                var delta = entry.getLongValue() - cachedPolledStacks.get(what);
+                if (delta != 0) {
+                    cachedAvailableStacks.add(what, delta);
+                    changedStacks.add(what);
                 }
             }
-            // Post watcher update for removed stacks
-            for (var entry : cachedAvailableAmounts.object2LongEntrySet()) {
+            for (var entry : cachedPolledStacks) {
                 var what = entry.getKey();
-                var newAmount = cachedAvailableStacks.get(what);
-                if (newAmount == 0) {
-                    postWatcherUpdate(what, newAmount);
+                if (polledStacks.get(what) == 0 && entry.getLongValue() != 0) {
+                    cachedAvailableStacks.remove(what, entry.getLongValue());
+                    changedStacks.add(what);
                 }
             }
+            cachedPolledStacks = polledStacks;
+        }
 
-            // Update private amounts
-            cachedAvailableAmounts.clear();
-            for (var entry : cachedAvailableStacks) {
-                cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
+        // Update private amounts first, since watchers might modify the network storage
+        var changes = new ArrayList<Object2LongMap.Entry<AEKey>>(changedStacks.size());
+        for (var what : changedStacks) {
+            var newAmount = cachedAvailableStacks.get(what);
+            if (newAmount == 0) {
+                cachedAvailableStacks.remove(what);
+            }
+            var oldAmount = cachedAvailableAmounts.getLong(what);
+            if (newAmount != oldAmount) {
+                updateCachedTotals(what, oldAmount, newAmount);
+                if (newAmount == 0) {
+                    cachedAvailableAmounts.removeLong(what);
+                } else {
+                    cachedAvailableAmounts.put(what, newAmount);
+                }
+                changes.add(new AbstractObject2LongMap.BasicEntry<>(what, newAmount));
             }
-        } finally {
-            inventoryRefreshStats.add(System.nanoTime() - time);
+        }
+        changedStacks.clear();
+
+        for (var change : changes) {
+            postStackChange(change.getKey(), change.getLongValue());
         }
     }
 
-    private void postWatcherUpdate(AEKey what, long newAmount) {
+    private void updateCachedTotals(AEKey what, long oldAmount, long newAmount) {
+        // Storages should never report negative amounts, but they must not corrupt the totals
+        oldAmount = Math.max(0, oldAmount);
+        newAmount = Math.max(0, newAmount);
+        if (oldAmount != newAmount) {
+            cachedTotals.update(oldAmount, newAmount);
+            cachedTotalsByType.computeIfAbsent(what.getType(), type -> new CachedTotals()).update(oldAmount, newAmount);
+        }
+    }
+
+    private void postStackChange(AEKey what, long newAmount) {
+        if (changeFeed != null) {
+            changeFeed[(int) (changeFeedPosition & (CHANGE_FEED_CAPACITY - 1))] = what;
+        }
+        changeFeedPosition++;
+
         for (var watcher : interestManager.get(what)) {
             watcher.getHost().onStackChange(what, newAmount);
         }
+        for (var watcher : interestManager.getFuzzy(what)) {
+            watcher.getHost().onStackChange(what, newAmount);
+        }
         for (var watcher : interestManager.getAllStacksWatchers()) {
             watcher.getHost().onStackChange(what, newAmount);
         }
@@ -199,12 +350,93 @@ public MEStorage getInventory() {
 
     @Override
     public KeyCounter getCachedInventory() {
+        cachedStacksInUse = true;
         if (cachedStacksNeedUpdate) {
             updateCachedStacks();
         }
         return cachedAvailableStacks;
     }
 
+    @Override
+    public long getCachedTotalAmount() {
+        getCachedInventory();
+        return cachedTotals.getAmount();
+    }
+
+    @Override
+    public long getCachedTotalAmount(AEKeyType keyType) {
+        getCachedInventory();
+        var totals = cachedTotalsByType.get(keyType);
+        return totals != null ? totals.getAmount() : 0;
+    }
+
+    @Override
+    public int getCachedKeyCount() {
+        getCachedInventory();
+        return cachedTotals.keys;
+    }
+
+    @Override
+    public int getCachedKeyCount(AEKeyType keyType) {
+        getCachedInventory();
+        var totals = cachedTotalsByType.get(keyType);
+        return totals != null ? totals.keys : 0;
+    }
+
+    @Override
+    public long getChangeFeedPosition() {
+        getChangeFeed();
+        return changeFeedPosition;
+    }
+
+    @Override
+    public boolean getChangesSince(long position, Consumer<AEKey> consumer) {
+        var feed = getChangeFeed();
+        if (position < changeFeedStart || position > changeFeedPosition
+                || changeFeedPosition - position > CHANGE_FEED_CAPACITY) {
+            return false;
+        }
+
+        for (var i = position; i < changeFeedPosition; i++) {
+            consumer.accept(feed[(int) (i & (CHANGE_FEED_CAPACITY - 1))]);
+        }
+        return true;
+    }
+
+    private AEKey[] getChangeFeed() {
+        if (changeFeed == null) {
+            changeFeed = new AEKey[CHANGE_FEED_CAPACITY];
+            changeFeedStart = changeFeedPosition;
+        }
+        return changeFeed;
+    }
+
+    @Override
+    public IInventorySnapshot getInventorySnapshot(boolean upToDate) {
+        cachedStacksInUse = true;
+        if (cachedStacksNeedUpdate || upToDate) {
+            updateCachedStacks();
+        }
+
+        var snapshot = inventorySnapshot;
+        if (snapshot == null) {
+            // Later snapshots are derived from this one using the change feed
+            getChangeFeed();
+            snapshot = NetworkInventorySnapshot.of(changeFeedPosition, cachedAvailableAmounts.object2LongEntrySet());
+        } else if (snapshot.getVersion() != changeFeedPosition) {
+            // Every change to the cached amounts passes through the change feed, even when the cache is rebuilt
+            var changedKeys = new ArrayList<AEKey>();
+            if (getChangesSince(snapshot.getVersion(), changedKeys::add)) {
+                snapshot = snapshot.withChanges(changeFeedPosition, changedKeys, cachedAvailableAmounts::getLong);
+            } else {
+                snapshot = NetworkInventorySnapshot.of(changeFeedPosition,
+                        cachedAvailableAmounts.object2LongEntrySet());
+            }
+        }
+        inventorySnapshot = snapshot;
+        return snapshot;
+    }
+
     @Override
     public void addGlobalStorageProvider(IStorageProvider provider) {
         var state = new ProviderState(provider);
@@ -312,7 +544,10 @@ private void unmount(MEStorage inventory) {
     public void debugDump(JsonWriter writer, HolderLookup.Provider registries) throws IOException {
 
         JsonStreamUtil.writeProperties(Map.of(
-                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats)), writer);
+                "inventoryRefreshTime", JsonStreamUtil.toMap(inventoryRefreshStats),
+                "changeFeedPosition", changeFeedPosition,
+                "inventorySnapshot", getInventorySnapshotStats(),
+                "cachedTotals", getCachedTotalsStats()), writer);
 
         writer.name("cachedAvailableStacks");
         writer.beginArray();
@@ -329,4 +564,68 @@ public void debugDump(JsonWriter writer, HolderLookup.Provider registries) throw
         writer.endArray();
 
     }
+
+    private Map<String, Object> getInventorySnapshotStats() {
+        var snapshot = inventorySnapshot;
+        if (snapshot == null) {
+            return Map.of();
+        }
+        return Map.of(
+                "version", snapshot.getVersion(),
+                "baseSize", snapshot.getBaseSize(),
+                "deltaSize", snapshot.getDeltaSize());
+    }
+
+    private Map<String, Object> getCachedTotalsStats() {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("all", cachedTotals.toMap());
+        for (var entry : cachedTotalsByType.entrySet()) {
+            result.put(entry.getKey().getId().toString(), entry.getValue().toMap());
+        }
+        return result;
+    }
+
+    /**
+     * The number of keys with a positive amount, and the sum of their amounts. Since every amount can be up to
+     * {@link Long#MAX_VALUE}, the sum is tracked with 128 bits, so that it stays exact while keys are added and removed
+     * even if it temporarily exceeds the range of a long.
+     */
+    private static class CachedTotals {
+        private long amountHigh;
+        private long amountLow;
+        private int keys;
+
+        void update(long oldAmount, long newAmount) {
+            addAmount(newAmount - oldAmount);
+            if (oldAmount == 0) {
+                keys++;
+            } else if (newAmount == 0) {
+                keys--;
+            }
+        }
+
+        private void addAmount(long delta) {
+            var low = amountLow + delta;
+            // Sign-extend the delta into the high half, and carry if the unsigned low half overflowed
+            amountHigh += (delta >> 63) + (Long.compareUnsigned(low, amountLow) < 0 ? 1 : 0);
+            amountLow = low;
+        }
+
+        long getAmount() {
+            if (amountHigh != 0 || amountLow < 0) {
+                return Long.MAX_VALUE;
+            }
+            return amountLow;
+        }
+
+        void clear() {
+            amountHigh = 0;
+            amountLow = 0;
+            keys = 0;
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of("amount", getAmount(), "keys", keys);
+        }
+    }
 }
@@ -22,11 +22,9 @@
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.Iterators;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -40,8 +38,12 @@
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.networking.ticking.TickRateModulation;
+import appeng.core.AEConfig;
 import appeng.me.GridNode;
+import appeng.me.service.helpers.PriorityTickQueue;
+import appeng.me.service.helpers.TickQueue;
 import appeng.me.service.helpers.TickTracker;
+import appeng.me.service.helpers.TimingWheelTickQueue;
 
 public class TickManagerService implements ITickManager, IGridServiceProvider {
 
@@ -53,9 +55,9 @@ public class TickManagerService implements ITickManager, IGridServiceProvider {
     private final Map<IGridNode, TickTracker> alertable = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> sleeping = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> awake = new IdentityHashMap<>();
-    private final Map<Level, PriorityQueue<TickTracker>> upcomingTicks = new IdentityHashMap<>();
+    private final Map<Level, TickQueue> upcomingTicks = new IdentityHashMap<>();
 
-    private PriorityQueue<TickTracker> currentlyTickingQueue = null;
+    private TickQueue currentlyTickingQueue = null;
 
     private long currentTick = 0;
     private final Stopwatch stopWatch = Stopwatch.createUnstarted();
@@ -98,19 +100,10 @@ private void tickLevelQueue(@Nullable Level level) {
         }
     }
 
-    private void tickQueue(PriorityQueue<TickTracker> queue) {
+    private void tickQueue(TickQueue queue) {
         TickTracker tt;
 
-        while (!queue.isEmpty()) {
-            // Peek and stop once it reaches a TickTracker running at a later tick
-            tt = queue.peek();
-            if (tt.getNextTick() > this.currentTick) {
-                break;
-            }
-
-            if (queue.poll() != tt) {
-                throw new IllegalStateException();
-            }
+        while ((tt = queue.pollDue(this.currentTick)) != null) {
             var diff = (int) (this.currentTick - tt.getLastTick());
             currentlyTicking = tt.getNode();
             TickRateModulation mod;
@@ -315,8 +308,14 @@ private LongSummaryStatistics getStatistics(IGridNode node) {
     /**
      * null as level could be used for virtual nodes.
      */
-    private PriorityQueue<TickTracker> getQueue(@Nullable Level level) {
-        return this.upcomingTicks.computeIfAbsent(level, (key) -> new PriorityQueue<>());
+    private TickQueue getQueue(@Nullable Level level) {
+        return this.upcomingTicks.computeIfAbsent(level, (key) -> {
+            if (AEConfig.instance().isTimingWheelTickSchedulerEnabled()) {
+                return new TimingWheelTickQueue(this.currentTick);
+            } else {
+                return new PriorityTickQueue();
+            }
+        });
     }
 
     private void addToQueue(IGridNode node, TickTracker tt) {
@@ -384,7 +383,7 @@ public NodeStatus getStatus(IGridNode node) {
         boolean isQueued = false;
         var tickQueue = upcomingTicks.get(node.getLevel());
         if (awakeTracker != null && tickQueue != null) {
-            isQueued = Iterators.contains(tickQueue.iterator(), awakeTracker);
+            isQueued = tickQueue.contains(awakeTracker);
         }
 
         // Get the tick-request stats
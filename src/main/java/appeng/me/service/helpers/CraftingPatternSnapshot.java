@@ -0,0 +1,63 @@
+package appeng.me.service.helpers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.ICraftingPatternLookup;
+
+/**
+ * Immutable copy of the patterns known to {@link NetworkCraftingProviders} at a given generation. Unlike the live
+ * providers, it can be queried from any number of threads while the server keeps modifying the network.
+ */
+public final class CraftingPatternSnapshot implements ICraftingPatternLookup {
+    private final long generation;
+    private final Map<AEKey, List<IPatternDetails>> craftableItems;
+    private final KeyCounter craftableItemsList;
+    private final Set<AEKey> emitableItems;
+
+    CraftingPatternSnapshot(long generation, Map<AEKey, List<IPatternDetails>> craftableItems,
+            KeyCounter craftableItemsList, Set<AEKey> emitableItems) {
+        this.generation = generation;
+        this.craftableItems = Map.copyOf(craftableItems);
+        this.craftableItemsList = new KeyCounter();
+        this.craftableItemsList.addAll(craftableItemsList);
+        this.emitableItems = Set.copyOf(emitableItems);
+    }
+
+    /**
+     * @see NetworkCraftingProviders#getGeneration()
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+        return craftableItems.getOrDefault(whatToCraft, List.of());
+    }
+
+    @Nullable
+    @Override
+    public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+        for (var fuzzy : craftableItemsList.findFuzzy(whatToCraft, FuzzyMode.IGNORE_ALL)) {
+            if (filter.matches(fuzzy.getKey())) {
+                return fuzzy.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean canEmitFor(AEKey what) {
+        return emitableItems.contains(what);
+    }
+}
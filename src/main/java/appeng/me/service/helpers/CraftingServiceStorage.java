@@ -28,6 +28,7 @@
 import appeng.api.storage.MEStorage;
 import appeng.core.localization.GuiText;
 import appeng.me.service.CraftingService;
+import appeng.me.storage.IChangeReportingStorage;
 
 /**
  * The storage exposed by the crafting service. It does two things:
@@ -38,7 +39,7 @@
  */
 public class CraftingServiceStorage implements IStorageProvider {
     private final CraftingService craftingService;
-    private final MEStorage inventory = new MEStorage() {
+    private final MEStorage inventory = new IChangeReportingStorage() {
         @Override
         public boolean isPreferredStorageFor(AEKey key, IActionSource source) {
             return true;
@@ -54,6 +55,16 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
         public Component getDescription() {
             return GuiText.AutoCrafting.text();
         }
+
+        @Override
+        public boolean addChangeListener(Listener listener) {
+            // Crafted items are forwarded to the CPUs, so there are never any available stacks to report
+            return true;
+        }
+
+        @Override
+        public void removeChangeListener(Listener listener) {
+        }
     };
 
     public CraftingServiceStorage(CraftingService craftingService) {
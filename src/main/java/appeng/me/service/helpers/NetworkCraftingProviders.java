@@ -42,6 +42,12 @@ public class NetworkCraftingProviders {
     private final Set<AEKey> emittableKeys = Collections.unmodifiableSet(emitableItems.keySet());
 
     private long lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+    /**
+     * Incremented whenever the known patterns or emitable items change.
+     */
+    private long generation;
+    @Nullable
+    private CraftingPatternSnapshot snapshot;
 
     public void addProvider(IGridNode node) {
         var provider = node.getService(ICraftingProvider.class);
@@ -121,6 +127,11 @@ public Iterable<ICraftingProvider> getMediums(IPatternDetails key) {
         return Objects.requireNonNullElse(mediumList, Collections.emptyList());
     }
 
+    public int getMediumCount(IPatternDetails key) {
+        var mediumList = this.craftingMethods.get(key);
+        return mediumList == null ? 0 : mediumList.providers.size();
+    }
+
     private static class CraftingProviderList implements Iterable<ICraftingProvider> {
         private final List<ICraftingProvider> providers = new ArrayList<>();
         /**
@@ -227,6 +238,30 @@ private record PatternInfo(IPatternDetails pattern, ProviderState state) {
 
     private void setLastModifiedOnTick() {
         lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+        generation++;
+    }
+
+    /**
+     * Unlike {@link #getLastModifiedOnTick()}, this changes even if the patterns are modified multiple times in the
+     * same tick.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns an immutable copy of the current patterns, which is reused until they change.
+     */
+    public CraftingPatternSnapshot getSnapshot() {
+        if (snapshot == null || snapshot.getGeneration() != generation) {
+            var sortedPatterns = new HashMap<AEKey, List<IPatternDetails>>(craftableItems.size());
+            for (var entry : craftableItems.entrySet()) {
+                sortedPatterns.put(entry.getKey(), entry.getValue().getSortedPatterns());
+            }
+            snapshot = new CraftingPatternSnapshot(generation, sortedPatterns, craftableItemsList,
+                    emitableItems.keySet());
+        }
+        return snapshot;
     }
 
     /**
@@ -0,0 +1,46 @@
+package appeng.me.service.helpers;
+
+import java.util.PriorityQueue;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tick queue ordered by {@link TickTracker#compareTo}. Removing a tracker is linear in the size of the queue.
+ */
+public class PriorityTickQueue implements TickQueue {
+    private final PriorityQueue<TickTracker> queue = new PriorityQueue<>();
+
+    @Override
+    public void add(TickTracker tracker) {
+        queue.add(tracker);
+    }
+
+    @Override
+    public void remove(TickTracker tracker) {
+        queue.remove(tracker);
+    }
+
+    @Override
+    public boolean contains(TickTracker tracker) {
+        return queue.contains(tracker);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public @Nullable TickTracker pollDue(long currentTick) {
+        // Peek and stop once it reaches a TickTracker running at a later tick
+        var tt = queue.peek();
+        if (tt == null || tt.getNextTick() > currentTick) {
+            return null;
+        }
+
+        if (queue.poll() != tt) {
+            throw new IllegalStateException();
+        }
+        return tt;
+    }
+}
@@ -0,0 +1,26 @@
+package appeng.me.service.helpers;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Schedules the {@link TickTracker trackers} of a single level by the tick they want to be ticked at next.
+ * <p>
+ * The next tick of a tracker must not be changed while it is queued, it has to be removed and re-added instead.
+ */
+public interface TickQueue {
+    void add(TickTracker tracker);
+
+    void remove(TickTracker tracker);
+
+    boolean contains(TickTracker tracker);
+
+    boolean isEmpty();
+
+    /**
+     * Removes and returns a tracker that is due to be ticked at or before the given tick.
+     *
+     * @return Null if no tracker is due.
+     */
+    @Nullable
+    TickTracker pollDue(long currentTick);
+}
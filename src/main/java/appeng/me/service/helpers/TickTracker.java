@@ -20,6 +20,8 @@
 
 import java.util.LongSummaryStatistics;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.CrashReportCategory;
 import net.minecraft.util.Mth;
 
@@ -37,6 +39,13 @@ public class TickTracker implements Comparable<TickTracker> {
     private long lastTick;
     private int currentRate;
 
+    // Links used by TimingWheelTickQueue while this tracker is queued
+    int wheelSlot = -1;
+    @Nullable
+    TickTracker wheelPrev;
+    @Nullable
+    TickTracker wheelNext;
+
     public TickTracker(TickingRequest req, IGridNode node, IGridTickable gt, long currentTick) {
         this.request = req;
         this.gt = gt;
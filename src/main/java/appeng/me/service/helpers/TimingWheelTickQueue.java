@@ -0,0 +1,128 @@
+package appeng.me.service.helpers;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hashed timing wheel: trackers are bucketed by their next tick modulo the wheel size, in intrusive linked lists.
+ * Adding and removing a tracker is constant time, and each tick only inspects the bucket of that tick. Trackers whose
+ * next tick is more than one revolution away simply stay in their bucket for additional revolutions.
+ * <p>
+ * Trackers that are due in the same tick are ticked in the order they became due, instead of the order defined by
+ * {@link TickTracker#compareTo}.
+ */
+public class TimingWheelTickQueue implements TickQueue {
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    /**
+     * Slot of the list holding the trackers that are due, but have not been polled yet.
+     */
+    private static final int DUE_SLOT = WHEEL_SIZE;
+
+    private final TickTracker[] heads = new TickTracker[WHEEL_SIZE + 1];
+    private final TickTracker[] tails = new TickTracker[WHEEL_SIZE + 1];
+    private int size;
+    /**
+     * The last tick whose bucket has been moved to the due list.
+     */
+    private long cursor;
+
+    public TimingWheelTickQueue(long currentTick) {
+        this.cursor = currentTick - 1;
+    }
+
+    @Override
+    public void add(TickTracker tracker) {
+        if (tracker.wheelSlot != -1) {
+            remove(tracker);
+        }
+
+        var nextTick = tracker.getNextTick();
+        append(nextTick <= cursor ? DUE_SLOT : (int) (nextTick & WHEEL_MASK), tracker);
+        size++;
+    }
+
+    @Override
+    public void remove(TickTracker tracker) {
+        if (tracker.wheelSlot != -1) {
+            unlink(tracker);
+            size--;
+        }
+    }
+
+    @Override
+    public boolean contains(TickTracker tracker) {
+        return tracker.wheelSlot != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public @Nullable TickTracker pollDue(long currentTick) {
+        while (heads[DUE_SLOT] == null && cursor < currentTick) {
+            if (currentTick - cursor > WHEEL_SIZE) {
+                // We missed at least an entire revolution, so every bucket can contain due trackers.
+                for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                    moveDueTrackers(slot, currentTick);
+                }
+                cursor = currentTick;
+            } else {
+                cursor++;
+                moveDueTrackers((int) (cursor & WHEEL_MASK), cursor);
+            }
+        }
+
+        var tracker = heads[DUE_SLOT];
+        if (tracker != null) {
+            unlink(tracker);
+            size--;
+        }
+        return tracker;
+    }
+
+    private void moveDueTrackers(int slot, long upToTick) {
+        var tracker = heads[slot];
+        while (tracker != null) {
+            var next = tracker.wheelNext;
+            if (tracker.getNextTick() <= upToTick) {
+                unlink(tracker);
+                append(DUE_SLOT, tracker);
+            }
+            tracker = next;
+        }
+    }
+
+    private void append(int slot, TickTracker tracker) {
+        var tail = tails[slot];
+        tracker.wheelSlot = slot;
+        tracker.wheelPrev = tail;
+        tracker.wheelNext = null;
+        if (tail == null) {
+            heads[slot] = tracker;
+        } else {
+            tail.wheelNext = tracker;
+        }
+        tails[slot] = tracker;
+    }
+
+    private void unlink(TickTracker tracker) {
+        var slot = tracker.wheelSlot;
+        var prev = tracker.wheelPrev;
+        var next = tracker.wheelNext;
+        if (prev == null) {
+            heads[slot] = next;
+        } else {
+            prev.wheelNext = next;
+        }
+        if (next == null) {
+            tails[slot] = prev;
+        } else {
+            next.wheelPrev = prev;
+        }
+        tracker.wheelSlot = -1;
+        tracker.wheelPrev = null;
+        tracker.wheelNext = null;
+    }
+}
@@ -21,10 +21,11 @@
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
 
-public class DriveWatcher extends MEInventoryHandler {
+public class DriveWatcher extends MEInventoryHandler implements IChangeReportingStorage {
 
     private CellState oldStatus = CellState.EMPTY;
     private final Runnable activityCallback;
@@ -48,12 +49,7 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
         var inserted = super.insert(what, amount, mode, source);
 
         if (mode == Actionable.MODULATE && inserted > 0) {
-            var newStatus = this.getStatus();
-
-            if (newStatus != this.oldStatus) {
-                this.activityCallback.run();
-                this.oldStatus = newStatus;
-            }
+            updateStatus();
         }
 
         return inserted;
@@ -64,14 +60,48 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         var extracted = super.extract(what, amount, mode, source);
 
         if (mode == Actionable.MODULATE && extracted > 0) {
-            var newStatus = this.getStatus();
-
-            if (newStatus != this.oldStatus) {
-                this.activityCallback.run();
-                this.oldStatus = newStatus;
-            }
+            updateStatus();
         }
 
         return extracted;
     }
+
+    @Override
+    public void insertAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        super.insertAll(amounts, mode, source);
+
+        if (mode == Actionable.MODULATE) {
+            updateStatus();
+        }
+    }
+
+    @Override
+    public void extractAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        super.extractAll(amounts, mode, source);
+
+        if (mode == Actionable.MODULATE) {
+            updateStatus();
+        }
+    }
+
+    private void updateStatus() {
+        var newStatus = this.getStatus();
+
+        if (newStatus != this.oldStatus) {
+            this.activityCallback.run();
+            this.oldStatus = newStatus;
+        }
+    }
+
+    @Override
+    public boolean addChangeListener(Listener listener) {
+        return getCell() instanceof IChangeReportingStorage reportingCell && reportingCell.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(Listener listener) {
+        if (getCell() instanceof IChangeReportingStorage reportingCell) {
+            reportingCell.removeChangeListener(listener);
+        }
+    }
 }
@@ -1,15 +1,31 @@
 package appeng.me.storage;
 
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSets;
+
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 
+/**
+ * Snapshot of the slots of an external inventory. The slots are also indexed by the key they contain, and the empty
+ * slots are tracked, so that inserting into and extracting from large inventories doesn't have to go through every
+ * slot.
+ */
 class ExternalInventoryCache {
     private GenericStack[] cached = new GenericStack[0];
+    private final Map<AEKey, IntSortedSet> slotsByKey = new HashMap<>();
+    private final BitSet emptySlots = new BitSet();
     private final ExternalStorageFacade facade;
 
     private ExternalInventoryCache(ExternalStorageFacade facade) {
@@ -22,7 +38,9 @@ public static ExternalInventoryCache of(ExternalStorageFacade facade) {
 
     public void getAvailableItems(KeyCounter out) {
         for (GenericStack stack : cached) {
-            out.add(stack.what(), stack.amount());
+            if (stack != null) {
+                out.add(stack.what(), stack.amount());
+            }
         }
     }
 
@@ -32,7 +50,7 @@ public Set<AEKey> update() {
 
         // Make room for new slots
         if (slots > this.cached.length) {
-            this.cached = Arrays.copyOf(this.cached, slots);
+            resize(slots);
         }
 
         for (int slot = 0; slot < slots; slot++) {
@@ -54,12 +72,70 @@ public Set<AEKey> update() {
             }
 
             // Reduce the cache size
-            this.cached = Arrays.copyOf(this.cached, slots);
+            resize(slots);
         }
 
         return changes;
     }
 
+    public int getSlots() {
+        return cached.length;
+    }
+
+    /**
+     * Changes the number of slots in the snapshot. New slots are assumed to be empty.
+     */
+    public void resize(int slots) {
+        var oldSlots = this.cached.length;
+        for (int slot = slots; slot < oldSlots; slot++) {
+            setSlot(slot, this.cached[slot], null);
+        }
+        this.cached = Arrays.copyOf(this.cached, slots);
+        if (slots > oldSlots) {
+            this.emptySlots.set(oldSlots, slots);
+        } else {
+            this.emptySlots.clear(slots, oldSlots);
+        }
+    }
+
+    /**
+     * Updates the snapshot of a single slot, for example after inserting into it.
+     */
+    public void updateSlot(int slot, @Nullable AEKey what, long amount) {
+        var oldStack = this.cached[slot];
+        if (what == null || amount <= 0) {
+            if (oldStack != null) {
+                setSlot(slot, oldStack, null);
+            }
+        } else if (oldStack == null || !oldStack.what().equals(what)) {
+            setSlot(slot, oldStack, new GenericStack(what, amount));
+        } else if (oldStack.amount() != amount) {
+            this.cached[slot] = new GenericStack(what, amount);
+        }
+    }
+
+    /**
+     * @return True if the snapshot has the given key in the slot, or the slot empty if the key is null.
+     */
+    public boolean isInSlot(int slot, @Nullable AEKey what) {
+        var stack = this.cached[slot];
+        return stack == null ? what == null : stack.what().equals(what);
+    }
+
+    /**
+     * @return The slots containing the given key, in ascending order.
+     */
+    public IntSortedSet getSlotsContaining(AEKey what) {
+        return slotsByKey.getOrDefault(what, IntSortedSets.EMPTY_SET);
+    }
+
+    /**
+     * @return The first empty slot at or after the given slot, or -1 if there is none.
+     */
+    public int nextEmptySlot(int fromSlot) {
+        return emptySlots.nextSetBit(fromSlot);
+    }
+
     private void handlePossibleSlotChanges(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
         if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())) {
             handleAmountChanged(slot, oldStack, newStack, changes);
@@ -78,7 +154,7 @@ private void handleAmountChanged(int slot, GenericStack oldStack, GenericStack n
 
     private void handleItemChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
         // Completely different item
-        this.cached[slot] = newStack;
+        setSlot(slot, oldStack, newStack);
 
         // If we had a stack previously in this slot, notify the network about its disappearance
         if (oldStack != null) {
@@ -91,4 +167,21 @@ private void handleItemChanged(int slot, GenericStack oldStack, GenericStack new
         }
     }
 
+    private void setSlot(int slot, @Nullable GenericStack oldStack, @Nullable GenericStack newStack) {
+        this.cached[slot] = newStack;
+
+        if (oldStack != null) {
+            var slots = slotsByKey.get(oldStack.what());
+            if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+                slotsByKey.remove(oldStack.what());
+            }
+        }
+
+        if (newStack != null) {
+            slotsByKey.computeIfAbsent(newStack.what(), k -> new IntRBTreeSet()).add(slot);
+            emptySlots.clear(slot);
+        } else {
+            emptySlots.set(slot);
+        }
+    }
 }
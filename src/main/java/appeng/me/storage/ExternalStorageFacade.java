@@ -1,5 +1,6 @@
 package appeng.me.storage;
 
+import java.util.BitSet;
 import java.util.Set;
 
 import javax.annotation.Nullable;
@@ -95,7 +96,20 @@ public void setExtractableOnly(boolean extractableOnly) {
     }
 
     private static class ItemHandlerFacade extends ExternalStorageFacade {
+        /**
+         * Inventories with fewer slots are simply scanned, since the slot index would not save much.
+         */
+        private static final int SLOT_INDEX_MIN_SLOTS = 64;
+
         private final IItemHandler handler;
+        /**
+         * Slots of the inventory by their content. Refreshed whenever all slots are scanned, and for every slot this
+         * facade reads or changes. If another block changes the inventory in between, a slot may not contain what the
+         * index says. Such slots are refreshed when they are found, and extractions scan the other slots for whatever
+         * the index didn't find.
+         */
+        private final ExternalInventoryCache slotIndex = ExternalInventoryCache.of(this);
+        private boolean slotIndexValid;
 
         public ItemHandlerFacade(IItemHandler handler) {
             this.handler = handler;
@@ -129,9 +143,13 @@ public int insertExternal(AEKey what, int amount, Actionable mode) {
             int slotCount = handler.getSlots();
             boolean simulate = mode == Actionable.SIMULATE;
 
-            // This uses a brute force approach and tries to jam it in every slot the inventory exposes.
-            for (int i = 0; i < slotCount && !remaining.isEmpty(); i++) {
-                remaining = handler.insertItem(i, remaining, simulate);
+            if (useSlotIndex(slotCount)) {
+                remaining = insertIntoIndexedSlots(itemKey, remaining, simulate);
+            } else {
+                // This uses a brute force approach and tries to jam it in every slot the inventory exposes.
+                for (int i = 0; i < slotCount && !remaining.isEmpty(); i++) {
+                    remaining = handler.insertItem(i, remaining, simulate);
+                }
             }
 
             // At this point, we still have some items left...
@@ -150,89 +168,195 @@ public int extractExternal(AEKey what, int amount, Actionable mode) {
             }
 
             int remainingSize = Ints.saturatedCast(amount);
-
-            // Use this to gather the requested items
-            ItemStack gathered = ItemStack.EMPTY;
+            int gathered = 0;
 
             final boolean simulate = mode == Actionable.SIMULATE;
 
-            for (int i = 0; i < handler.getSlots(); i++) {
+            int slotCount = handler.getSlots();
+            boolean indexed = useSlotIndex(slotCount);
+            // Slots that were already extracted from using the index
+            BitSet visitedSlots = null;
+            if (indexed) {
+                visitedSlots = new BitSet();
+                for (int slot : slotIndex.getSlotsContaining(itemKey).toIntArray()) {
+                    visitedSlots.set(slot);
+                    ItemStack stackInInventorySlot = handler.getStackInSlot(slot);
+                    if (!itemKey.matches(stackInInventorySlot)) {
+                        // Somebody else changed the inventory
+                        slotIndex.updateSlot(slot, AEItemKey.of(stackInInventorySlot), stackInInventorySlot.getCount());
+                        continue;
+                    }
+
+                    int stackSizeCurrentSlot = stackInInventorySlot.getCount();
+                    int extracted = extractFromSlot(slot, stackInInventorySlot, remainingSize, simulate);
+                    gathered += extracted;
+                    remainingSize -= stackSizeCurrentSlot - Math.min(remainingSize, stackSizeCurrentSlot) + extracted;
+                    if (!simulate) {
+                        refreshSlotIndex(slot);
+                    }
+
+                    // Done?
+                    if (remainingSize <= 0) {
+                        return gathered;
+                    }
+                }
+            }
+
+            // Without an index, or if the index is stale because somebody else changed the inventory, look for the
+            // rest in every other slot
+            for (int i = 0; i < slotCount && remainingSize > 0; i++) {
+                if (visitedSlots != null && visitedSlots.get(i)) {
+                    continue;
+                }
+
                 ItemStack stackInInventorySlot = handler.getStackInSlot(i);
+                if (indexed && !slotIndex.isInSlot(i, AEItemKey.of(stackInInventorySlot))) {
+                    slotIndex.updateSlot(i, AEItemKey.of(stackInInventorySlot), stackInInventorySlot.getCount());
+                }
 
                 if (!itemKey.matches(stackInInventorySlot)) {
                     continue;
                 }
 
-                ItemStack extracted;
                 int stackSizeCurrentSlot = stackInInventorySlot.getCount();
-                int remainingCurrentSlot = Math.min(remainingSize, stackSizeCurrentSlot);
-
-                // We have to loop here because according to the docs, the handler shouldn't return a stack with
-                // size > maxSize, even if we request more. So even if it returns a valid stack, it might have more
-                // stuff.
-                do {
-                    extracted = handler.extractItem(i, remainingCurrentSlot, simulate);
-                    if (!extracted.isEmpty()) {
-                        // In order to guard against broken IItemHandler implementations, we'll try to guess if the
-                        // returned
-                        // stack (especially in simulate mode) is the same that was returned by getStackInSlot. This is
-                        // obviously not a precise science, but it would catch the previous Forge bug:
-                        // https://github.com/MinecraftForge/MinecraftForge/pull/6580
-                        if (extracted == stackInInventorySlot) {
-                            extracted = extracted.copy();
-                        }
+                int extracted = extractFromSlot(i, stackInInventorySlot, remainingSize, simulate);
+                gathered += extracted;
+                remainingSize -= stackSizeCurrentSlot - Math.min(remainingSize, stackSizeCurrentSlot) + extracted;
+                if (indexed && !simulate) {
+                    refreshSlotIndex(i);
+                }
+            }
 
-                        if (extracted.getCount() > remainingCurrentSlot) {
-                            // Something broke. It should never return more than we requested...
-                            // We're going to silently eat the remainder
-                            AELog.warn(
-                                    "Mod that provided item handler %s is broken. Returned %s items while only requesting %d.",
-                                    handler.getClass().getName(), extracted.toString(), remainingCurrentSlot);
-                            extracted.setCount(remainingCurrentSlot);
-                        }
+            return gathered;
+        }
 
-                        // Heuristic for simulation: looping in case of simulations is pointless, since the state of the
-                        // underlying inventory does not change after a simulated extraction. To still support
-                        // inventories
-                        // that report stacks that are larger than maxStackSize, we use this heuristic
-                        if (simulate && extracted.getCount() == extracted.getMaxStackSize()
-                                && remainingCurrentSlot > extracted.getMaxStackSize()) {
-                            extracted.setCount(remainingCurrentSlot);
-                        }
+        /**
+         * @return The number of items extracted from the slot.
+         */
+        private int extractFromSlot(int slot, ItemStack stackInInventorySlot, int remainingSize, boolean simulate) {
+            ItemStack extracted;
+            int gathered = 0;
+            int stackSizeCurrentSlot = stackInInventorySlot.getCount();
+            int remainingCurrentSlot = Math.min(remainingSize, stackSizeCurrentSlot);
+
+            // We have to loop here because according to the docs, the handler shouldn't return a stack with
+            // size > maxSize, even if we request more. So even if it returns a valid stack, it might have more
+            // stuff.
+            do {
+                extracted = handler.extractItem(slot, remainingCurrentSlot, simulate);
+                if (!extracted.isEmpty()) {
+                    // In order to guard against broken IItemHandler implementations, we'll try to guess if the
+                    // returned
+                    // stack (especially in simulate mode) is the same that was returned by getStackInSlot. This is
+                    // obviously not a precise science, but it would catch the previous Forge bug:
+                    // https://github.com/MinecraftForge/MinecraftForge/pull/6580
+                    if (extracted == stackInInventorySlot) {
+                        extracted = extracted.copy();
+                    }
 
-                        // We're just gonna use the first stack we get our hands on as the template for the rest.
-                        if (gathered.isEmpty()) {
-                            gathered = extracted;
-                        } else {
-                            gathered.grow(extracted.getCount());
-                        }
-                        remainingCurrentSlot -= extracted.getCount();
+                    if (extracted.getCount() > remainingCurrentSlot) {
+                        // Something broke. It should never return more than we requested...
+                        // We're going to silently eat the remainder
+                        AELog.warn(
+                                "Mod that provided item handler %s is broken. Returned %s items while only requesting %d.",
+                                handler.getClass().getName(), extracted.toString(), remainingCurrentSlot);
+                        extracted.setCount(remainingCurrentSlot);
                     }
-                } while (!simulate && !extracted.isEmpty() && remainingCurrentSlot > 0);
 
-                remainingSize -= stackSizeCurrentSlot - remainingCurrentSlot;
+                    // Heuristic for simulation: looping in case of simulations is pointless, since the state of the
+                    // underlying inventory does not change after a simulated extraction. To still support
+                    // inventories
+                    // that report stacks that are larger than maxStackSize, we use this heuristic
+                    if (simulate && extracted.getCount() == extracted.getMaxStackSize()
+                            && remainingCurrentSlot > extracted.getMaxStackSize()) {
+                        extracted.setCount(remainingCurrentSlot);
+                    }
 
-                // Done?
-                if (remainingSize <= 0) {
-                    break;
+                    gathered += extracted.getCount();
+                    remainingCurrentSlot -= extracted.getCount();
                 }
+            } while (!simulate && !extracted.isEmpty() && remainingCurrentSlot > 0);
+
+            return gathered;
+        }
+
+        /**
+         * Stacks onto the slots that already contain the item first, and then fills the empty slots, in the order of
+         * the slots. Slots that don't match the index are refreshed and skipped.
+         */
+        private ItemStack insertIntoIndexedSlots(AEItemKey itemKey, ItemStack remaining, boolean simulate) {
+            for (int slot : slotIndex.getSlotsContaining(itemKey).toIntArray()) {
+                if (remaining.isEmpty()) {
+                    return remaining;
+                }
+                var stackInSlot = handler.getStackInSlot(slot);
+                if (!itemKey.matches(stackInSlot)) {
+                    // Somebody else changed the inventory
+                    slotIndex.updateSlot(slot, AEItemKey.of(stackInSlot), stackInSlot.getCount());
+                    if (!stackInSlot.isEmpty()) {
+                        continue;
+                    }
+                }
+                remaining = insertIntoSlot(slot, remaining, simulate);
+            }
+
+            var slot = slotIndex.nextEmptySlot(0);
+            while (slot >= 0 && !remaining.isEmpty()) {
+                var stackInSlot = handler.getStackInSlot(slot);
+                if (!stackInSlot.isEmpty()) {
+                    // Somebody else changed the inventory
+                    slotIndex.updateSlot(slot, AEItemKey.of(stackInSlot), stackInSlot.getCount());
+                    if (!itemKey.matches(stackInSlot)) {
+                        slot = slotIndex.nextEmptySlot(slot + 1);
+                        continue;
+                    }
+                }
+                remaining = insertIntoSlot(slot, remaining, simulate);
+                slot = slotIndex.nextEmptySlot(slot + 1);
+            }
+
+            return remaining;
+        }
+
+        private ItemStack insertIntoSlot(int slot, ItemStack stack, boolean simulate) {
+            var remaining = handler.insertItem(slot, stack, simulate);
+            if (!simulate) {
+                refreshSlotIndex(slot);
             }
+            return remaining;
+        }
 
-            if (!gathered.isEmpty()) {
-                return gathered.getCount();
+        /**
+         * @return True if the slot index should be used for an inventory of this size. Builds it if needed.
+         */
+        private boolean useSlotIndex(int slotCount) {
+            if (slotCount < SLOT_INDEX_MIN_SLOTS) {
+                slotIndexValid = false;
+                return false;
             }
 
-            return 0;
+            if (!slotIndexValid || slotIndex.getSlots() != slotCount) {
+                slotIndex.resize(slotCount);
+                for (int i = 0; i < slotCount; i++) {
+                    refreshSlotIndex(i);
+                }
+                slotIndexValid = true;
+            }
+            return true;
+        }
+
+        private void refreshSlotIndex(int slot) {
+            var stack = handler.getStackInSlot(slot);
+            slotIndex.updateSlot(slot, AEItemKey.of(stack), stack.getCount());
         }
 
         @Override
         public boolean containsAnyFuzzy(Set<AEKey> keys) {
             for (int i = 0; i < handler.getSlots(); i++) {
-                var what = AEItemKey.of(handler.getStackInSlot(i));
-                if (what != null) {
-                    if (keys.contains(what.dropSecondary())) {
-                        return true;
-                    }
+                var stack = handler.getStackInSlot(i);
+                // Same as dropSecondary() of the stack's key, without creating that key
+                if (!stack.isEmpty() && keys.contains(AEItemKey.of(stack.getItem()))) {
+                    return true;
                 }
             }
             return false;
@@ -240,9 +364,19 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
 
         @Override
         public void getAvailableStacks(KeyCounter out) {
-            for (int i = 0; i < handler.getSlots(); i++) {
+            var slotCount = handler.getSlots();
+            // Since all slots are read anyway, refresh the slot index along the way
+            var refreshSlotIndex = slotCount >= SLOT_INDEX_MIN_SLOTS;
+            if (refreshSlotIndex) {
+                slotIndex.resize(slotCount);
+            }
+
+            for (int i = 0; i < slotCount; i++) {
                 // Skip resources that cannot be extracted if that filter was enabled
                 var stack = handler.getStackInSlot(i);
+                if (refreshSlotIndex) {
+                    slotIndex.updateSlot(i, AEItemKey.of(stack), stack.getCount());
+                }
                 if (stack.isEmpty()) {
                     continue;
                 }
@@ -257,6 +391,8 @@ public void getAvailableStacks(KeyCounter out) {
 
                 out.add(AEItemKey.of(stack), stack.getCount());
             }
+
+            slotIndexValid = refreshSlotIndex;
         }
     }
 
@@ -313,11 +449,10 @@ public int extractExternal(AEKey what, int amount, Actionable mode) {
         @Override
         public boolean containsAnyFuzzy(Set<AEKey> keys) {
             for (int i = 0; i < handler.getTanks(); i++) {
-                var what = AEFluidKey.of(handler.getFluidInTank(i));
-                if (what != null) {
-                    if (keys.contains(what.dropSecondary())) {
-                        return true;
-                    }
+                var stack = handler.getFluidInTank(i);
+                // Same as dropSecondary() of the stack's key, without creating that key
+                if (!stack.isEmpty() && keys.contains(AEFluidKey.of(stack.getFluid()))) {
+                    return true;
                 }
             }
             return false;
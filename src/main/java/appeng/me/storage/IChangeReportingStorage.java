@@ -0,0 +1,33 @@
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Implemented by {@link MEStorage} that can report every change to their available stacks. The network storage does
+ * not need to re-poll such storages every tick to keep its cached inventory up-to-date, and instead applies the
+ * reported changes.
+ */
+public interface IChangeReportingStorage extends MEStorage {
+    /**
+     * Starts reporting changes to the available stacks of this storage to the given listener.
+     *
+     * @return False if this storage can't report its changes to the listener, and thus needs to be polled.
+     */
+    boolean addChangeListener(Listener listener);
+
+    /**
+     * Stops reporting changes to the given listener. Does nothing if the listener was not previously added.
+     */
+    void removeChangeListener(Listener listener);
+
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * Called when the available amount of a key changed.
+         *
+         * @param delta The change in available amount, which is negative for extractions.
+         */
+        void onStackChanged(AEKey what, long delta);
+    }
+}
@@ -0,0 +1,39 @@
+package appeng.me.storage;
+
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+
+/**
+ * Implemented by {@link MEStorage} that may only accept a known set of keys, for example because it is partitioned.
+ * The network storage only offers insertions of other keys to storages that accept any key, instead of asking every
+ * mounted storage.
+ */
+public interface IPartitionedStorage extends MEStorage {
+    /**
+     * @return The {@link AEKey#getPrimaryKey() primary keys} of all keys this storage might accept, or null if it might
+     *         accept any key. Storages may still refuse keys with one of these primary keys.
+     */
+    @Nullable
+    Set<Object> getAcceptedPrimaryKeys();
+
+    /**
+     * Starts notifying the given listener when the result of {@link #getAcceptedPrimaryKeys()} may have changed.
+     *
+     * @return False if this storage can't notify the listener, and thus has to be treated as accepting any key.
+     */
+    boolean addPartitionListener(PartitionListener listener);
+
+    /**
+     * Stops notifying the given listener. Does nothing if the listener was not previously added.
+     */
+    void removePartitionListener(PartitionListener listener);
+
+    @FunctionalInterface
+    interface PartitionListener {
+        void onPartitionChanged(IPartitionedStorage storage);
+    }
+}
@@ -18,6 +18,11 @@
 
 package appeng.me.storage;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
 import appeng.api.config.Actionable;
 import appeng.api.config.IncludeExclude;
 import appeng.api.networking.security.IActionSource;
@@ -26,8 +31,9 @@
 import appeng.api.storage.MEStorage;
 import appeng.util.prioritylist.DefaultPriorityList;
 import appeng.util.prioritylist.IPartitionList;
+import appeng.util.prioritylist.MergedPriorityList;
 
-public class MEInventoryHandler extends DelegatingMEInventory {
+public class MEInventoryHandler extends DelegatingMEInventory implements IPartitionedStorage {
 
     private IPartitionList partitionList = DefaultPriorityList.INSTANCE;
     private IncludeExclude partitionListMode = IncludeExclude.WHITELIST;
@@ -39,6 +45,9 @@ public class MEInventoryHandler extends DelegatingMEInventory {
 
     private boolean gettingAvailableContent = false;
 
+    @Nullable
+    private PartitionListener partitionListener;
+
     public MEInventoryHandler(MEStorage inventory) {
         super(inventory);
     }
@@ -49,6 +58,7 @@ public void setAllowExtraction(boolean allowExtraction) {
 
     public void setAllowInsertion(boolean allowInsertion) {
         this.allowInsertion = allowInsertion;
+        notifyPartitionListener();
     }
 
     protected IncludeExclude getWhitelist() {
@@ -57,6 +67,7 @@ protected IncludeExclude getWhitelist() {
 
     public void setWhitelist(IncludeExclude myWhitelist) {
         this.partitionListMode = myWhitelist;
+        notifyPartitionListener();
     }
 
     protected IPartitionList getPartitionList() {
@@ -65,6 +76,13 @@ protected IPartitionList getPartitionList() {
 
     public void setPartitionList(IPartitionList myPartitionList) {
         this.partitionList = myPartitionList;
+        notifyPartitionListener();
+    }
+
+    @Override
+    protected void setDelegate(MEStorage delegate) {
+        super.setDelegate(delegate);
+        notifyPartitionListener();
     }
 
     public void setExtractFiltering(boolean filterOnExtraction, boolean filterAvailableContents) {
@@ -95,6 +113,52 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         return super.extract(what, amount, mode, source);
     }
 
+    @Override
+    public void insertAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        if (!this.allowInsertion) {
+            return;
+        }
+
+        if (this.partitionList.isEmpty() && !this.voidOverflow) {
+            getDelegate().insertAll(amounts, mode, source);
+            return;
+        }
+
+        var accepted = new KeyCounter();
+        for (var entry : amounts) {
+            if (entry.getLongValue() > 0 && passesBlackOrWhitelist(entry.getKey())) {
+                accepted.add(entry.getKey(), entry.getLongValue());
+            }
+        }
+        getDelegate().insertAll(accepted, mode, source);
+        for (var entry : accepted) {
+            amounts.set(entry.getKey(), this.voidOverflow ? 0 : entry.getLongValue());
+        }
+    }
+
+    @Override
+    public void extractAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        if (!this.filterOnExtraction) {
+            getDelegate().extractAll(amounts, mode, source);
+            return;
+        }
+
+        if (!this.allowExtraction) {
+            return;
+        }
+
+        var allowed = new KeyCounter();
+        for (var entry : amounts) {
+            if (entry.getLongValue() > 0 && passesBlackOrWhitelist(entry.getKey())) {
+                allowed.add(entry.getKey(), entry.getLongValue());
+            }
+        }
+        getDelegate().extractAll(allowed, mode, source);
+        for (var entry : allowed) {
+            amounts.set(entry.getKey(), entry.getLongValue());
+        }
+    }
+
     @Override
     public void getAvailableStacks(KeyCounter out) {
         if (this.gettingAvailableContent) {
@@ -142,6 +206,54 @@ public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         return super.isPreferredStorageFor(input, source);
     }
 
+    /**
+     * The keys accepted by the delegate are only re-checked when the delegate is replaced.
+     */
+    @Nullable
+    @Override
+    public Set<Object> getAcceptedPrimaryKeys() {
+        if (!this.allowInsertion) {
+            return Set.of();
+        }
+
+        // Merged lists can't enumerate their keys
+        if (this.partitionListMode == IncludeExclude.WHITELIST && !this.partitionList.isEmpty()
+                && !(this.partitionList instanceof MergedPriorityList)) {
+            var primaryKeys = new HashSet<>();
+            for (var key : this.partitionList.getItems()) {
+                primaryKeys.add(key.getPrimaryKey());
+            }
+            return primaryKeys;
+        }
+
+        return getDelegate() instanceof IPartitionedStorage partitionedStorage
+                ? partitionedStorage.getAcceptedPrimaryKeys()
+                : null;
+    }
+
+    @Override
+    public boolean addPartitionListener(PartitionListener listener) {
+        // Only a single listener is supported, since a handler is only mounted to one network
+        if (this.partitionListener != null && this.partitionListener != listener) {
+            return false;
+        }
+        this.partitionListener = listener;
+        return true;
+    }
+
+    @Override
+    public void removePartitionListener(PartitionListener listener) {
+        if (this.partitionListener == listener) {
+            this.partitionListener = null;
+        }
+    }
+
+    private void notifyPartitionListener() {
+        if (this.partitionListener != null) {
+            this.partitionListener.onPartitionChanged(this);
+        }
+    }
+
     protected boolean canExtract(AEKey request) {
         return allowExtraction && passesBlackOrWhitelist(request);
     }
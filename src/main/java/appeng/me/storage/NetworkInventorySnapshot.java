@@ -0,0 +1,127 @@
+package appeng.me.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IInventorySnapshot;
+
+/**
+ * A persistent snapshot of the network inventory. Each snapshot consists of a base that is shared with previous and
+ * following versions, and the difference to that base accumulated since it was built. A new version only copies the
+ * difference, until it grows large enough that the base is rebuilt instead. Neither counter is ever modified after
+ * the snapshot has been created.
+ */
+public final class NetworkInventorySnapshot implements IInventorySnapshot {
+    /**
+     * The difference to the base is never compacted before it reaches this size.
+     */
+    private static final int MIN_COMPACTION_SIZE = 256;
+
+    private final long version;
+    /**
+     * Only contains positive amounts. Shared between versions.
+     */
+    private final KeyCounter base;
+    private final int baseSize;
+    /**
+     * The change in amount relative to {@link #base}. Owned by this snapshot.
+     */
+    private final KeyCounter delta;
+
+    private NetworkInventorySnapshot(long version, KeyCounter base, int baseSize, KeyCounter delta) {
+        this.version = version;
+        this.base = base;
+        this.baseSize = baseSize;
+        this.delta = delta;
+    }
+
+    public static NetworkInventorySnapshot of(long version, Iterable<? extends Object2LongMap.Entry<AEKey>> content) {
+        var base = new KeyCounter();
+        for (var entry : content) {
+            if (entry.getLongValue() > 0) {
+                base.add(entry.getKey(), entry.getLongValue());
+            }
+        }
+        return new NetworkInventorySnapshot(version, base, base.size(), new KeyCounter());
+    }
+
+    /**
+     * Creates the next version of this snapshot. This snapshot remains unchanged.
+     *
+     * @param changedKeys The keys whose amount may have changed. Can contain duplicates.
+     * @param newAmounts  The new amount of the changed keys.
+     */
+    public NetworkInventorySnapshot withChanges(long version, Iterable<AEKey> changedKeys,
+            ToLongFunction<AEKey> newAmounts) {
+        var newDelta = new KeyCounter();
+        newDelta.addAll(delta);
+        for (var what : changedKeys) {
+            var change = Math.max(0, newAmounts.applyAsLong(what)) - (base.get(what) + newDelta.get(what));
+            if (change != 0) {
+                newDelta.add(what, change);
+            }
+        }
+
+        // Copying the difference for every version gets more expensive than rebuilding the base at some point.
+        // Compacting once the difference exceeds a multiple of the square root of the base size balances both.
+        var compactionSize = Math.max(MIN_COMPACTION_SIZE, 16 * (int) Math.sqrt(baseSize));
+        if (newDelta.size() <= compactionSize) {
+            return new NetworkInventorySnapshot(version, base, baseSize, newDelta);
+        }
+
+        var newBase = new KeyCounter();
+        newBase.addAll(base);
+        newBase.addAll(newDelta);
+        newBase.removeZeros();
+        return new NetworkInventorySnapshot(version, newBase, newBase.size(), new KeyCounter());
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long get(AEKey what) {
+        return base.get(what) + delta.get(what);
+    }
+
+    @Override
+    public Iterable<AEKey> findFuzzy(AEKey what, FuzzyMode fuzzyMode) {
+        var baseMatches = base.findFuzzy(what, fuzzyMode);
+        var deltaMatches = delta.findFuzzy(what, fuzzyMode);
+        List<AEKey> result = new ArrayList<>(baseMatches.size() + deltaMatches.size());
+        for (var entry : baseMatches) {
+            if (entry.getLongValue() + delta.get(entry.getKey()) > 0) {
+                result.add(entry.getKey());
+            }
+        }
+        for (var entry : deltaMatches) {
+            // Keys that are also in the base were handled above
+            if (entry.getLongValue() > 0 && base.get(entry.getKey()) == 0) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of keys in the shared base, for debugging.
+     */
+    public int getBaseSize() {
+        return baseSize;
+    }
+
+    /**
+     * @return The number of keys that differ from the shared base, for debugging.
+     */
+    public int getDeltaSize() {
+        return delta.size();
+    }
+}
@@ -19,9 +19,14 @@
 package appeng.me.storage;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
 
 import com.google.common.base.Preconditions;
@@ -50,6 +55,19 @@ public class NetworkStorage implements MEStorage {
     private final NavigableMap<Integer, List<MEStorage>> priorityInventory;
     private final List<MEStorage> secondPassInventories = new ArrayList<>();
 
+    // Mounted inventories by priority, indexed by the primary keys they accept for routing insertions.
+    private final NavigableMap<Integer, InsertionRoutes> insertionRoutes = new TreeMap<>(PRIORITY_SORTER);
+    private final Map<MEStorage, MountedStorage> mountedStorages = new IdentityHashMap<>();
+    private final IPartitionedStorage.PartitionListener partitionListener = this::onPartitionChanged;
+    private long nextMountSequence;
+
+    // Mounted inventories that report changes to their content to us, and don't need to be polled.
+    private final Set<MEStorage> reportingInventories = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Net changes reported by reportingInventories since they were last cleared. Only recorded while someone reads them.
+    private final KeyCounter reportedChanges = new KeyCounter();
+    private boolean recordingChanges;
+    private final IChangeReportingStorage.Listener changeListener = this::onStackChanged;
+
     // Queued mount/unmount operations that occurred while an insert/extract was ongoing
     // Is only non-null if something is queued
     @Nullable
@@ -68,6 +86,8 @@ public void mount(int priority, MEStorage inventory) {
         } else {
             this.priorityInventory.computeIfAbsent(priority, k -> new ArrayList<>())
                     .add(inventory);
+            startReportingChanges(inventory);
+            addInsertionRoutes(priority, inventory);
         }
     }
 
@@ -87,6 +107,89 @@ public void unmount(MEStorage inventory) {
                     prioIt.remove();
                 }
             }
+            stopReportingChanges(inventory);
+            removeInsertionRoutes(inventory);
+        }
+    }
+
+    private void addInsertionRoutes(int priority, MEStorage inventory) {
+        if (mountedStorages.containsKey(inventory)) {
+            return; // Only the first mount of the same inventory is routed to
+        }
+
+        Set<Object> primaryKeys = null;
+        if (inventory instanceof IPartitionedStorage partitionedStorage
+                && partitionedStorage.addPartitionListener(partitionListener)) {
+            primaryKeys = partitionedStorage.getAcceptedPrimaryKeys();
+        }
+
+        var mounted = new MountedStorage(inventory, priority, nextMountSequence++);
+        mounted.primaryKeys = primaryKeys;
+        mountedStorages.put(inventory, mounted);
+        insertionRoutes.computeIfAbsent(priority, k -> new InsertionRoutes()).add(mounted);
+    }
+
+    private void removeInsertionRoutes(MEStorage inventory) {
+        var mounted = mountedStorages.remove(inventory);
+        if (mounted == null) {
+            return;
+        }
+
+        if (inventory instanceof IPartitionedStorage partitionedStorage) {
+            partitionedStorage.removePartitionListener(partitionListener);
+        }
+
+        var routes = insertionRoutes.get(mounted.priority);
+        routes.remove(mounted);
+        if (routes.isEmpty()) {
+            insertionRoutes.remove(mounted.priority);
+        }
+    }
+
+    private void onPartitionChanged(IPartitionedStorage storage) {
+        if (mountsInUse) {
+            if (queuedOperations == null) {
+                queuedOperations = new ArrayList<>();
+            }
+            queuedOperations.add(new RepartitionOperation(storage));
+            return;
+        }
+
+        var mounted = mountedStorages.get(storage);
+        if (mounted != null) {
+            var routes = insertionRoutes.get(mounted.priority);
+            routes.remove(mounted);
+            mounted.primaryKeys = storage.getAcceptedPrimaryKeys();
+            routes.add(mounted);
+        }
+    }
+
+    private void startReportingChanges(MEStorage inventory) {
+        if (inventory instanceof IChangeReportingStorage reportingStorage
+                && reportingStorage.addChangeListener(changeListener)) {
+            reportingInventories.add(inventory);
+            // The initial content of the inventory counts as a change
+            if (recordingChanges) {
+                inventory.getAvailableStacks(reportedChanges);
+            }
+        }
+    }
+
+    private void stopReportingChanges(MEStorage inventory) {
+        if (reportingInventories.remove(inventory)) {
+            ((IChangeReportingStorage) inventory).removeChangeListener(changeListener);
+            // The content of the inventory is no longer available
+            if (recordingChanges) {
+                for (var entry : inventory.getAvailableStacks()) {
+                    reportedChanges.remove(entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+    }
+
+    private void onStackChanged(AEKey what, long delta) {
+        if (recordingChanges) {
+            reportedChanges.add(what, delta);
         }
     }
 
@@ -99,45 +202,113 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
 
         mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.values()) {
-                secondPassInventories.clear();
-
-                // First give every inventory a chance to accept the item if it's preferential storage for the given
-                // stack
-                var ii = invList.iterator();
-                while (ii.hasNext() && remaining > 0) {
-                    var inv = ii.next();
+            for (var routes : this.insertionRoutes.values()) {
+                if (remaining <= 0) {
+                    break;
+                }
+                remaining -= insertIntoRoutes(routes, what, remaining, type, src);
+            }
+        } finally {
+            mountsInUse = false;
+        }
 
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
-                    }
+        flushQueuedOperations();
 
-                    if (inv.isPreferredStorageFor(what, src)) {
-                        remaining -= inv.insert(what, remaining, type, src);
-                    } else {
-                        secondPassInventories.add(inv);
-                    }
-                }
+        return amount - remaining;
+    }
 
-                // Then give every remaining inventory a chance
-                for (var inv : secondPassInventories) {
-                    if (remaining <= 0) {
-                        break;
-                    }
+    /**
+     * Inserts every key into the inventories of each priority before moving on to the next lower priority, so the
+     * mounted inventories are only walked once for all keys.
+     */
+    @Override
+    public void insertAll(KeyCounter amounts, Actionable type, IActionSource src) {
+        if (mountsInUse) {
+            return; // Prevent recursive use
+        }
 
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
+        mountsInUse = true;
+        try {
+            for (var routes : this.insertionRoutes.values()) {
+                boolean anyRemaining = false;
+                for (var entry : amounts) {
+                    var remaining = entry.getLongValue();
+                    if (remaining > 0) {
+                        remaining -= insertIntoRoutes(routes, entry.getKey(), remaining, type, src);
+                        entry.setValue(remaining);
+                        anyRemaining |= remaining > 0;
                     }
-
-                    remaining -= inv.insert(what, remaining, type, src);
+                }
+                if (!anyRemaining) {
+                    break;
                 }
             }
-
         } finally {
             mountsInUse = false;
         }
 
         flushQueuedOperations();
+    }
+
+    /**
+     * Inserts into the inventories of a single priority.
+     *
+     * @return The amount inserted.
+     */
+    private long insertIntoRoutes(InsertionRoutes routes, AEKey what, long amount, Actionable type,
+            IActionSource src) {
+        var remaining = amount;
+        secondPassInventories.clear();
+
+        // Only inventories that might accept the key are considered, in the order they were mounted.
+        var partitioned = routes.getPartitioned(what);
+        var unpartitioned = routes.unpartitioned;
+        int partitionedIdx = 0;
+        int unpartitionedIdx = 0;
+
+        // First give every inventory a chance to accept the item if it's preferential storage for the given
+        // stack
+        while (remaining > 0) {
+            var nextPartitioned = partitionedIdx < partitioned.size() ? partitioned.get(partitionedIdx) : null;
+            var nextUnpartitioned = unpartitionedIdx < unpartitioned.size()
+                    ? unpartitioned.get(unpartitionedIdx)
+                    : null;
+
+            MEStorage inv;
+            if (nextPartitioned != null
+                    && (nextUnpartitioned == null || nextPartitioned.sequence < nextUnpartitioned.sequence)) {
+                inv = nextPartitioned.storage;
+                partitionedIdx++;
+            } else if (nextUnpartitioned != null) {
+                inv = nextUnpartitioned.storage;
+                unpartitionedIdx++;
+            } else {
+                break;
+            }
+
+            if (isQueuedForRemoval(inv)) {
+                continue;
+            }
+
+            if (inv.isPreferredStorageFor(what, src)) {
+                remaining -= inv.insert(what, remaining, type, src);
+            } else {
+                secondPassInventories.add(inv);
+            }
+        }
+
+        // Then give every remaining inventory a chance
+        for (var inv : secondPassInventories) {
+            if (remaining <= 0) {
+                break;
+            }
+
+            if (isQueuedForRemoval(inv)) {
+                continue;
+            }
+
+            remaining -= inv.insert(what, remaining, type, src);
+        }
 
         return amount - remaining;
     }
@@ -152,6 +323,8 @@ private void flushQueuedOperations() {
                     mount(mountOp.priority, mountOp.storage);
                 } else if (op instanceof UnmountOperation unmountOp) {
                     unmount(unmountOp.storage);
+                } else if (op instanceof RepartitionOperation repartitionOp) {
+                    onPartitionChanged(repartitionOp.storage);
                 } else {
                     throw new IllegalStateException("Unknown operation: " + op);
                 }
@@ -200,6 +373,46 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
         return extracted;
     }
 
+    /**
+     * Hands all keys to each mounted inventory in turn, so inventories can extract them at once.
+     */
+    @Override
+    public void extractAll(KeyCounter amounts, Actionable mode, IActionSource source) {
+        if (mountsInUse) {
+            return; // Prevent recursive use
+        }
+
+        mountsInUse = true;
+        try {
+            for (var invList : this.priorityInventory.descendingMap().values()) {
+                for (var inv : invList) {
+                    if (isQueuedForRemoval(inv)) {
+                        continue;
+                    }
+
+                    inv.extractAll(amounts, mode, source);
+                }
+
+                if (!hasPositiveAmount(amounts)) {
+                    break;
+                }
+            }
+        } finally {
+            mountsInUse = false;
+        }
+
+        flushQueuedOperations();
+    }
+
+    private static boolean hasPositiveAmount(KeyCounter amounts) {
+        for (var entry : amounts) {
+            if (entry.getLongValue() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void getAvailableStacks(KeyCounter out) {
         if (mountsInUse) {
@@ -218,12 +431,88 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    /**
+     * Lists the available stacks of all mounted inventories, separating the content of inventories that report their
+     * own changes from the content of inventories that need to be polled for changes. Since the output reflects all
+     * changes that have been reported so far, this also clears the {@link #getReportedChanges() reported changes}.
+     *
+     * @return False if the network storage is currently in use, and nothing was listed.
+     */
+    public boolean getAvailableStacks(KeyCounter reportingOut, KeyCounter polledOut) {
+        if (mountsInUse) {
+            return false; // Prevent recursive use
+        }
+
+        mountsInUse = true;
+        try {
+            for (var i : this.priorityInventory.values()) {
+                for (var j : i) {
+                    j.getAvailableStacks(reportingInventories.contains(j) ? reportingOut : polledOut);
+                }
+            }
+            clearReportedChanges();
+        } finally {
+            mountsInUse = false;
+        }
+        return true;
+    }
+
+    /**
+     * Lists the available stacks of all mounted inventories that do not report their own changes.
+     *
+     * @return False if the network storage is currently in use, and nothing was listed.
+     */
+    public boolean getPolledAvailableStacks(KeyCounter out) {
+        if (mountsInUse) {
+            return false; // Prevent recursive use
+        }
+
+        mountsInUse = true;
+        try {
+            for (var i : this.priorityInventory.values()) {
+                for (var j : i) {
+                    if (!reportingInventories.contains(j)) {
+                        j.getAvailableStacks(out);
+                    }
+                }
+            }
+        } finally {
+            mountsInUse = false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The net changes to the content of inventories that report their own changes, including inventories being
+     *         mounted or unmounted, since {@link #clearReportedChanges()} was last called. Amounts can be negative.
+     */
+    public KeyCounter getReportedChanges() {
+        return reportedChanges;
+    }
+
+    public void clearReportedChanges() {
+        reportedChanges.clear();
+        reportedChanges.removeEmptySubmaps();
+    }
+
+    /**
+     * Sets whether the changes reported by inventories are recorded for {@link #getReportedChanges()}. Recording is off
+     * by default, so that inventory changes cost nothing while nobody reads them. Turning it off clears the changes
+     * recorded so far.
+     */
+    public void setRecordingChanges(boolean recordingChanges) {
+        this.recordingChanges = recordingChanges;
+        if (!recordingChanges) {
+            clearReportedChanges();
+        }
+    }
+
     @Override
     public Component getDescription() {
         return GuiText.MENetworkStorage.text();
     }
 
-    sealed interface QueuedOperation permits MountOperation, UnmountOperation {
+    sealed interface QueuedOperation permits MountOperation, UnmountOperation, RepartitionOperation {
     }
 
     private record MountOperation(int priority, MEStorage storage) implements QueuedOperation {
@@ -231,4 +520,73 @@ private record MountOperation(int priority, MEStorage storage) implements Queued
 
     private record UnmountOperation(MEStorage storage) implements QueuedOperation {
     }
+
+    private record RepartitionOperation(IPartitionedStorage storage) implements QueuedOperation {
+    }
+
+    private static class MountedStorage {
+        private final MEStorage storage;
+        private final int priority;
+        private final long sequence;
+        /**
+         * The primary keys this storage might accept, or null if it might accept any key.
+         */
+        @Nullable
+        private Set<Object> primaryKeys;
+
+        private MountedStorage(MEStorage storage, int priority, long sequence) {
+            this.storage = storage;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The mounted storages of a single priority. Each list is ordered by mount sequence.
+     */
+    private static class InsertionRoutes {
+        private static final Comparator<MountedStorage> SEQUENCE_ORDER = Comparator.comparingLong(m -> m.sequence);
+
+        private final List<MountedStorage> unpartitioned = new ArrayList<>();
+        private final Map<Object, List<MountedStorage>> partitionedByPrimaryKey = new HashMap<>();
+        private int size;
+
+        private List<MountedStorage> getPartitioned(AEKey what) {
+            return partitionedByPrimaryKey.getOrDefault(what.getPrimaryKey(), List.of());
+        }
+
+        private void add(MountedStorage mounted) {
+            if (mounted.primaryKeys == null) {
+                insertOrdered(unpartitioned, mounted);
+            } else {
+                for (var primaryKey : mounted.primaryKeys) {
+                    insertOrdered(partitionedByPrimaryKey.computeIfAbsent(primaryKey, k -> new ArrayList<>()), mounted);
+                }
+            }
+            size++;
+        }
+
+        private void remove(MountedStorage mounted) {
+            if (mounted.primaryKeys == null) {
+                unpartitioned.remove(mounted);
+            } else {
+                for (var primaryKey : mounted.primaryKeys) {
+                    var list = partitionedByPrimaryKey.get(primaryKey);
+                    if (list != null && list.remove(mounted) && list.isEmpty()) {
+                        partitionedByPrimaryKey.remove(primaryKey);
+                    }
+                }
+            }
+            size--;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private static void insertOrdered(List<MountedStorage> list, MountedStorage mounted) {
+            var idx = Collections.binarySearch(list, mounted, SEQUENCE_ORDER);
+            list.add(idx < 0 ? -idx - 1 : idx, mounted);
+        }
+    }
 }
@@ -101,6 +101,13 @@ public void addChange(AEKey entry) {
         }
     }
 
+    /**
+     * Adds a change for every key that has a serial, i.e. every key that may have been sent to the client.
+     */
+    public void addChangeForAllKeys() {
+        mapping.keySet().forEach(this::addChange);
+    }
+
     /**
      * Removes the serial mapping for the given key. Will lead to a new serial being generated the next time this
      * particular key is used.
@@ -55,6 +55,7 @@
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.energy.IEnergySource;
 import appeng.api.networking.security.IActionHost;
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
@@ -151,6 +152,18 @@ public class MEStorageMenu extends AEBaseMenu
      */
     private Set<AEKey> previousCraftables = Collections.emptySet();
     private KeyCounter previousAvailableStacks = new KeyCounter();
+    /**
+     * The storage service whose change feed was last used to update the client, and the position in that feed up to
+     * which the client has been updated.
+     */
+    @Nullable
+    private IStorageService changeFeedSource;
+    private long changeFeedPosition;
+    /**
+     * True if the client was last updated from the change feed of {@link #changeFeedSource} rather than by comparing
+     * {@link #previousAvailableStacks}.
+     */
+    private boolean followingChangeFeed;
 
     public MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHost host) {
         this(menuType, id, ip, host, true);
@@ -251,23 +264,20 @@ public void broadcastChanges() {
             }
 
             var craftables = getCraftablesFromGrid();
-            var availableStacks = storage.getAvailableStacks();
 
             // This is currently not supported/backed by any network service
             var requestables = new KeyCounter();
 
             try {
+                // Available changes
+                var availableStacks = collectAvailableChanges();
+
                 // Craftables
                 // Newly craftable
                 Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
                 // No longer craftable
                 Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
 
-                // Available changes
-                previousAvailableStacks.removeAll(availableStacks);
-                previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
-
                 if (updateHelper.hasChanges()) {
                     var builder = MEInventoryUpdatePacket
                             .builder(containerId, updateHelper.isFullUpdate(), getPlayer().registryAccess());
@@ -282,13 +292,57 @@ public void broadcastChanges() {
             }
 
             previousCraftables = ImmutableSet.copyOf(craftables);
-            previousAvailableStacks = availableStacks;
 
             super.broadcastChanges();
         }
 
     }
 
+    /**
+     * Queues the keys whose available amount changed since the last update in {@link #updateHelper}.
+     *
+     * @return The available stacks to send to the client for the queued changes.
+     */
+    private KeyCounter collectAvailableChanges() {
+        var storageService = host.getGridStorageService();
+
+        if (storageService != null && storageService == changeFeedSource
+                && storageService.getChangesSince(changeFeedPosition, updateHelper::addChange)) {
+            // Follow the grid's change feed, which only reports the keys that actually changed
+            var availableStacks = storageService.getCachedInventory();
+            if (!followingChangeFeed) {
+                // The client was updated from the network inventory so far, which the cached inventory may not match
+                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                availableStacks.keySet().forEach(updateHelper::addChange);
+                previousAvailableStacks = new KeyCounter();
+                followingChangeFeed = true;
+            }
+            changeFeedPosition = storageService.getChangeFeedPosition();
+            return availableStacks;
+        }
+
+        if (followingChangeFeed) {
+            // The grid changed or we fell too far behind its change feed. The amounts the client received from the
+            // feed are not known anymore, so every key it may have is compared again.
+            updateHelper.addChangeForAllKeys();
+            followingChangeFeed = false;
+        }
+
+        // Compare the entire inventory with the stacks sent last time
+        var availableStacks = storage.getAvailableStacks();
+        previousAvailableStacks.removeAll(availableStacks);
+        previousAvailableStacks.removeZeros();
+        previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+        previousAvailableStacks = availableStacks;
+
+        // Try to follow the change feed of the grid from here on. Storage services without one keep using this path.
+        changeFeedSource = storageService;
+        if (storageService != null) {
+            changeFeedPosition = storageService.getChangeFeedPosition();
+        }
+        return availableStacks;
+    }
+
     @Override
     public void onServerDataSync(ShortSet updatedFields) {
         super.onServerDataSync(updatedFields);
@@ -714,6 +768,9 @@ public boolean hasIngredient(Ingredient ingredient, Object2IntOpenHashMap<Object
      */
     protected final KeyCounter getPreviousAvailableStacks() {
         Preconditions.checkState(isServerSide());
+        if (followingChangeFeed && changeFeedSource != null) {
+            return changeFeedSource.getCachedInventory();
+        }
         return previousAvailableStacks;
     }
 
@@ -29,6 +29,9 @@
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
 
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
 import appeng.api.config.FuzzyMode;
 import appeng.api.config.Settings;
 import appeng.api.config.YesNo;
@@ -46,7 +49,6 @@
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
 import appeng.helpers.IConfigInvHost;
-import appeng.hooks.ticking.TickHandler;
 import appeng.items.parts.PartModels;
 import appeng.menu.MenuOpener;
 import appeng.menu.implementations.StorageLevelEmitterMenu;
@@ -85,7 +87,12 @@ public class StorageLevelEmitterPart extends AbstractLevelEmitterPart
             .build();
     private IStackWatcher storageWatcher;
     private IStackWatcher craftingWatcher;
-    private long lastUpdateTick = -1;
+    /**
+     * The amounts of the keys matching the configured key when using a fuzzy upgrade, to keep their sum up to date
+     * as they change.
+     */
+    private final Object2LongMap<AEKey> fuzzyAmounts = new Object2LongOpenHashMap<>();
+    private long fuzzyTotal;
 
     private final IStorageWatcherNode stackWatcherNode = new IStorageWatcherNode() {
         @Override
@@ -96,17 +103,24 @@ public void updateWatcher(IStackWatcher newWatcher) {
 
         @Override
         public void onStackChange(AEKey what, long amount) {
-            if (what.equals(getConfiguredKey()) && !isUpgradedWith(AEItems.FUZZY_CARD)) {
-                lastReportedValue = amount;
+            var myStack = getConfiguredKey();
+            if (myStack == null) {
+                // When using no filter at all, the level emitter compares against the total of the grid, which the
+                // storage service keeps up to date.
+                lastReportedValue = getGridNode().getGrid().getStorageService().getCachedTotalAmount();
                 updateState();
-            } else { // either fuzzy upgrade or null filter
-                // When using a fuzzy upgrade or no filter at all, the level emitter will actively scan the grid
-                // We need to ensure we only do this once per tick in case any stack has changed.
-                long currentTick = TickHandler.instance().getCurrentTick();
-                if (currentTick != lastUpdateTick) {
-                    lastUpdateTick = currentTick;
-                    updateReportingValue(getGridNode().getGrid());
+            } else if (isUpgradedWith(AEItems.FUZZY_CARD)) {
+                // Only changes to keys matching the configured key are delivered
+                var fzMode = getConfigManager().getSetting(Settings.FUZZY_MODE);
+                if (what.fuzzyEquals(myStack, fzMode)) {
+                    var previous = amount > 0 ? fuzzyAmounts.put(what, amount) : fuzzyAmounts.removeLong(what);
+                    fuzzyTotal += amount - previous;
+                    lastReportedValue = fuzzyTotal;
+                    updateState();
                 }
+            } else if (what.equals(myStack)) {
+                lastReportedValue = amount;
+                updateState();
             }
         }
     };
@@ -233,8 +247,10 @@ protected void configureWatchers() {
             }
         } else {
             if (this.storageWatcher != null) {
-                if (isUpgradedWith(AEItems.FUZZY_CARD) || myStack == null) {
+                if (myStack == null) {
                     this.storageWatcher.setWatchAll(true);
+                } else if (isUpgradedWith(AEItems.FUZZY_CARD)) {
+                    this.storageWatcher.addFuzzy(myStack, getConfigManager().getSetting(Settings.FUZZY_MODE));
                 } else {
                     this.storageWatcher.add(myStack);
                 }
@@ -247,29 +263,25 @@ protected void configureWatchers() {
     }
 
     private void updateReportingValue(IGrid grid) {
-        var stacks = grid.getStorageService().getCachedInventory();
+        var storageService = grid.getStorageService();
+        var stacks = storageService.getCachedInventory();
         var myStack = getConfiguredKey();
 
         if (myStack == null) {
-            this.lastReportedValue = 0;
-            for (var st : stacks) {
-                this.lastReportedValue += st.getLongValue();
-                if (this.lastReportedValue > this.getReportingValue()) {
-                    // Stop here, we have enough info! This prevents blank emitter spam from causing lots of lag.
-                    break;
-                }
-            }
+            this.lastReportedValue = storageService.getCachedTotalAmount();
         } else if (isUpgradedWith(AEItems.FUZZY_CARD)) {
-            this.lastReportedValue = 0;
+            // Sum up all matching keys once, and then keep the sum up to date as they change. Matching keys are
+            // selected the same way as the changes delivered to the watcher.
+            this.fuzzyAmounts.clear();
+            this.fuzzyTotal = 0;
             var fzMode = this.getConfigManager().getSetting(Settings.FUZZY_MODE);
-            var fuzzyList = stacks.findFuzzy(myStack, fzMode);
-            for (var st : fuzzyList) {
-                this.lastReportedValue += st.getLongValue();
-                if (this.lastReportedValue > this.getReportingValue()) {
-                    // Stop here, we have enough info!
-                    break;
+            for (var st : stacks.findFuzzy(myStack, FuzzyMode.IGNORE_ALL)) {
+                if (st.getLongValue() > 0 && st.getKey().fuzzyEquals(myStack, fzMode)) {
+                    this.fuzzyAmounts.put(st.getKey(), st.getLongValue());
+                    this.fuzzyTotal += st.getLongValue();
                 }
             }
+            this.lastReportedValue = this.fuzzyTotal;
         } else {
             this.lastReportedValue = stacks.get(myStack);
         }
@@ -21,6 +21,7 @@
 import java.util.List;
 
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
@@ -35,6 +36,7 @@
 import appeng.api.config.ViewItems;
 import appeng.api.implementations.blockentities.IViewCellStorage;
 import appeng.api.inventories.InternalInventory;
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.parts.IPartItem;
 import appeng.api.storage.ILinkStatus;
 import appeng.api.storage.ITerminalHost;
@@ -163,6 +165,13 @@ public MEStorage getInventory() {
         });
     }
 
+    @Nullable
+    @Override
+    public IStorageService getGridStorageService() {
+        var grid = getMainNode().getGrid();
+        return grid != null ? grid.getStorageService() : null;
+    }
+
     @Override
     public ILinkStatus getLinkStatus() {
         return ILinkStatus.ofManagedNode(getMainNode());
@@ -23,7 +23,9 @@
 import appeng.server.services.compass.TestCompassCommand;
 import appeng.server.subcommands.ChannelModeCommand;
 import appeng.server.subcommands.ChunkLogger;
+import appeng.server.subcommands.ClientSyncCommand;
 import appeng.server.subcommands.GridsCommand;
+import appeng.server.subcommands.PatternCacheCommand;
 import appeng.server.subcommands.SetupTestWorldCommand;
 import appeng.server.subcommands.SpatialStorageCommand;
 import appeng.server.subcommands.TestMeteoritesCommand;
@@ -36,6 +38,8 @@ public enum Commands {
     CHANNEL_MODE(4, "channelmode", new ChannelModeCommand()),
     TICK_MONITORING(4, "tickmonitor", new TickMonitoring()),
     GRIDS(4, "grids", new GridsCommand()),
+    PATTERN_CACHE(4, "patterncache", new PatternCacheCommand()),
+    CLIENT_SYNC(4, "clientsync", new ClientSyncCommand()),
 
     // Testing
     COMPASS(4, "compass", new TestCompassCommand(), true),
@@ -18,6 +18,7 @@
 
 package appeng.server.services.compass;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,6 +35,10 @@
 
 /**
  * A compass region stores information about the occurrence of skystone blocks in a region of 1024x1024 chunks.
+ * <p/>
+ * Besides the saved per-section bitmaps, it keeps an index of which chunks have a target in any section, and how many
+ * such chunks there are in each block of 8x8 and 64x64 chunks. This allows searches to skip over empty areas quickly.
+ * The index is rebuilt when the region is loaded.
  */
 final class CompassRegion extends AESavedData {
     private static final SavedData.Factory<CompassRegion> FACTORY = new Factory<>(
@@ -48,9 +53,22 @@ final class CompassRegion extends AESavedData {
 
     private static final int BITMAP_LENGTH = CHUNKS_PER_REGION * CHUNKS_PER_REGION;
 
+    /**
+     * The sizes of the blocks of chunks for which the number of chunks with targets is counted.
+     */
+    private static final int SMALL_BLOCK_SIZE = 8;
+    private static final int LARGE_BLOCK_SIZE = 64;
+
     // Key is the section index, see ChunkAccess.getSections()
     private final Map<Integer, BitSet> sections = new HashMap<>();
 
+    /**
+     * The chunks that have a target in any of their sections.
+     */
+    private final BitSet anySection = new BitSet();
+    private final byte[] smallBlockCounts = new byte[getBlockCount(SMALL_BLOCK_SIZE)];
+    private final short[] largeBlockCounts = new short[getBlockCount(LARGE_BLOCK_SIZE)];
+
     /**
      * Gets the name of the save data for a region that has the given coordinates.
      */
@@ -65,14 +83,36 @@ public static CompassRegion get(ServerLevel level, ChunkPos chunkPos) {
         Objects.requireNonNull(level, "level");
         Objects.requireNonNull(chunkPos, "chunkPos");
 
-        var regionX = chunkPos.x / CHUNKS_PER_REGION;
-        var regionZ = chunkPos.z / CHUNKS_PER_REGION;
+        return get(level, getRegionCoord(chunkPos.x), getRegionCoord(chunkPos.z));
+    }
+
+    /**
+     * Retrieve the compass region with the given region coordinates.
+     */
+    public static CompassRegion get(ServerLevel level, int regionX, int regionZ) {
+        Objects.requireNonNull(level, "level");
 
         return level.getDataStorage().computeIfAbsent(
                 FACTORY,
                 getRegionSaveName(regionX, regionZ));
     }
 
+    /**
+     * Gets the coordinate of the region serving a chunk coordinate on one axis. Since this rounds towards zero, the
+     * region at 0 spans both negative and positive chunk coordinates, and the bitmaps are shared between them.
+     */
+    static int getRegionCoord(int chunkCoord) {
+        return chunkCoord / CHUNKS_PER_REGION;
+    }
+
+    /**
+     * Gets the last chunk coordinate on one axis that is served by the same region as the given chunk coordinate.
+     */
+    static int getLastChunkInRegion(int chunkCoord) {
+        var region = getRegionCoord(chunkCoord);
+        return region < 0 ? region * CHUNKS_PER_REGION : region * CHUNKS_PER_REGION + CHUNKS_PER_REGION - 1;
+    }
+
     public static CompassRegion load(CompoundTag nbt, HolderLookup.Provider registries) {
         var result = new CompassRegion();
         for (String key : nbt.getAllKeys()) {
@@ -87,6 +127,7 @@ public static CompassRegion load(CompoundTag nbt, HolderLookup.Provider registri
                 AELog.warn("Compass region contains unknown NBT tag %s", key);
             }
         }
+        result.rebuildIndex();
         return result;
     }
 
@@ -103,13 +144,23 @@ public CompoundTag save(CompoundTag compound, HolderLookup.Provider registries)
     }
 
     boolean hasCompassTarget(int cx, int cz) {
-        var bitmapIndex = getBitmapIndex(cx, cz);
-        for (BitSet bitmap : sections.values()) {
-            if (bitmap.get(bitmapIndex)) {
-                return true;
-            }
+        return anySection.get(getBitmapIndex(cx, cz));
+    }
+
+    /**
+     * Gets the size of the largest block of chunks containing the given chunk that has no compass targets, out of the
+     * blocks indexed by this region. Blocks are aligned to multiples of their size in chunk coordinates.
+     *
+     * @return 64 or 8 for an empty block of that size, 1 if only the chunk itself is empty, or 0 if it has a target.
+     */
+    int getEmptyBlockSize(int cx, int cz) {
+        if (largeBlockCounts[getBlockIndex(cx, cz, LARGE_BLOCK_SIZE)] == 0) {
+            return LARGE_BLOCK_SIZE;
+        } else if (smallBlockCounts[getBlockIndex(cx, cz, SMALL_BLOCK_SIZE)] == 0) {
+            return SMALL_BLOCK_SIZE;
+        } else {
+            return hasCompassTarget(cx, cz) ? 0 : 1;
         }
-        return false;
     }
 
     boolean hasCompassTarget(int cx, int cz, int sectionIndex) {
@@ -146,6 +197,41 @@ void setHasCompassTarget(int cx, int cz, int sectionIndex, boolean hasTarget) {
                 section.set(bitmapIndex);
             }
         }
+
+        updateIndex(cx, cz, bitmapIndex);
+    }
+
+    private void updateIndex(int cx, int cz, int bitmapIndex) {
+        var hasAnyTarget = false;
+        for (BitSet bitmap : sections.values()) {
+            if (bitmap.get(bitmapIndex)) {
+                hasAnyTarget = true;
+                break;
+            }
+        }
+
+        if (anySection.get(bitmapIndex) != hasAnyTarget) {
+            anySection.set(bitmapIndex, hasAnyTarget);
+            var delta = hasAnyTarget ? 1 : -1;
+            smallBlockCounts[getBlockIndex(cx, cz, SMALL_BLOCK_SIZE)] += (byte) delta;
+            largeBlockCounts[getBlockIndex(cx, cz, LARGE_BLOCK_SIZE)] += (short) delta;
+        }
+    }
+
+    private void rebuildIndex() {
+        anySection.clear();
+        for (BitSet bitmap : sections.values()) {
+            anySection.or(bitmap);
+        }
+
+        Arrays.fill(smallBlockCounts, (byte) 0);
+        Arrays.fill(largeBlockCounts, (short) 0);
+        for (int i = anySection.nextSetBit(0); i >= 0; i = anySection.nextSetBit(i + 1)) {
+            var cx = i % CHUNKS_PER_REGION;
+            var cz = i / CHUNKS_PER_REGION;
+            smallBlockCounts[getBlockIndex(cx, cz, SMALL_BLOCK_SIZE)]++;
+            largeBlockCounts[getBlockIndex(cx, cz, LARGE_BLOCK_SIZE)]++;
+        }
     }
 
     private static int getBitmapIndex(int cx, int cz) {
@@ -154,4 +240,15 @@ private static int getBitmapIndex(int cx, int cz) {
         return cx + cz * CHUNKS_PER_REGION;
     }
 
+    private static int getBlockIndex(int cx, int cz, int blockSize) {
+        cx = (cx & CHUNKS_PER_REGION - 1) / blockSize;
+        cz = (cz & CHUNKS_PER_REGION - 1) / blockSize;
+        return cx + cz * (CHUNKS_PER_REGION / blockSize);
+    }
+
+    private static int getBlockCount(int blockSize) {
+        var blocksPerAxis = CHUNKS_PER_REGION / blockSize;
+        return blocksPerAxis * blocksPerAxis;
+    }
+
 }
@@ -18,6 +18,8 @@
 
 package appeng.server.services.compass;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -95,12 +97,12 @@ private static BlockPos findClosestMeteoritePos(ServerLevel level, ChunkPos orig
 
     @Nullable
     private static ChunkPos findClosestMeteoriteChunk(ServerLevel level, ChunkPos chunkPos) {
-        var cr = CompassRegion.get(level, chunkPos);
+        var search = new ClosestTargetSearch(level, chunkPos.x, chunkPos.z);
         var cx = chunkPos.x;
         var cz = chunkPos.z;
 
         // Am I standing on it?
-        if (cr.hasCompassTarget(cx, cz)) {
+        if (search.getRegion(cx, cz).hasCompassTarget(cx, cz)) {
             return chunkPos;
         }
 
@@ -111,52 +113,13 @@ private static ChunkPos findClosestMeteoriteChunk(ServerLevel level, ChunkPos ch
             final int maxX = cx + offset;
             final int maxZ = cz + offset;
 
-            int closest = Integer.MAX_VALUE;
-            int chosen_x = cx;
-            int chosen_z = cz;
-
-            for (int z = minZ; z <= maxZ; z++) {
-                if (cr.hasCompassTarget(minX, z)) {
-                    final int closeness = dist(cx, cz, minX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = minX;
-                        chosen_z = z;
-                    }
-                }
-
-                if (cr.hasCompassTarget(maxX, z)) {
-                    final int closeness = dist(cx, cz, maxX, z);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = maxX;
-                        chosen_z = z;
-                    }
-                }
-            }
-
-            for (int x = minX + 1; x < maxX; x++) {
-                if (cr.hasCompassTarget(x, minZ)) {
-                    final int closeness = dist(cx, cz, x, minZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = minZ;
-                    }
-                }
-
-                if (cr.hasCompassTarget(x, maxZ)) {
-                    final int closeness = dist(cx, cz, x, maxZ);
-                    if (closeness < closest) {
-                        closest = closeness;
-                        chosen_x = x;
-                        chosen_z = maxZ;
-                    }
-                }
-            }
+            search.scanAlongZ(minX, minZ, maxZ);
+            search.scanAlongZ(maxX, minZ, maxZ);
+            search.scanAlongX(minZ, minX + 1, maxX - 1);
+            search.scanAlongX(maxZ, minX + 1, maxX - 1);
 
-            if (closest < Integer.MAX_VALUE) {
-                return new ChunkPos(chosen_x, chosen_z);
+            if (search.closest < Integer.MAX_VALUE) {
+                return new ChunkPos(search.chosenX, search.chosenZ);
             }
         }
 
@@ -209,4 +172,67 @@ private static int dist(int ax, int az, int bx, int bz) {
         return up * up + side * side;
     }
 
+    /**
+     * Scans lines of chunks for the compass target closest to an origin, looking up each chunk in the region that
+     * serves it. Blocks of chunks that the regions know to be empty are skipped as a whole.
+     */
+    private static class ClosestTargetSearch {
+        private final ServerLevel level;
+        private final int originX;
+        private final int originZ;
+        private final Map<Long, CompassRegion> regions = new HashMap<>();
+        private int closest = Integer.MAX_VALUE;
+        private int chosenX;
+        private int chosenZ;
+
+        ClosestTargetSearch(ServerLevel level, int originX, int originZ) {
+            this.level = level;
+            this.originX = originX;
+            this.originZ = originZ;
+        }
+
+        CompassRegion getRegion(int cx, int cz) {
+            var regionX = CompassRegion.getRegionCoord(cx);
+            var regionZ = CompassRegion.getRegionCoord(cz);
+            return regions.computeIfAbsent(ChunkPos.asLong(regionX, regionZ),
+                    key -> CompassRegion.get(level, regionX, regionZ));
+        }
+
+        void scanAlongX(int z, int minX, int maxX) {
+            var x = minX;
+            while (x <= maxX) {
+                x = scan(x, z, x);
+            }
+        }
+
+        void scanAlongZ(int x, int minZ, int maxZ) {
+            var z = minZ;
+            while (z <= maxZ) {
+                z = scan(x, z, z);
+            }
+        }
+
+        /**
+         * Checks a single chunk, and if it's empty, skips ahead on the scanned axis to the end of the surrounding
+         * empty block. Skips never leave the region, since the next one has its own blocks.
+         *
+         * @return The next coordinate to check on the scanned axis.
+         */
+        private int scan(int x, int z, int pos) {
+            var emptyBlockSize = getRegion(x, z).getEmptyBlockSize(x, z);
+            if (emptyBlockSize == 0) {
+                final int closeness = dist(originX, originZ, x, z);
+                if (closeness < closest) {
+                    closest = closeness;
+                    chosenX = x;
+                    chosenZ = z;
+                }
+                return pos + 1;
+            }
+
+            var endOfBlock = pos + emptyBlockSize - (pos & (emptyBlockSize - 1));
+            return Math.min(endOfBlock, CompassRegion.getLastChunkInRegion(pos) + 1);
+        }
+    }
+
 }
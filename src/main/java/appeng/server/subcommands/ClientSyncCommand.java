@@ -0,0 +1,24 @@
+package appeng.server.subcommands;
+
+import java.util.Locale;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.blockentity.AEBaseBlockEntity;
+import appeng.server.ISubCommand;
+
+public class ClientSyncCommand implements ISubCommand {
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> ctx, CommandSourceStack sender) {
+        var stats = AEBaseBlockEntity.getClientUpdateStats();
+        var merged = stats.requested() - stats.sent() - stats.skipped();
+
+        sender.sendSystemMessage(Component.literal(String.format(Locale.ROOT,
+                "Block entity client updates: %d requested, %d sent, %d skipped as unchanged, %d merged within a tick",
+                stats.requested(), stats.sent(), stats.skipped(), merged)));
+    }
+}
@@ -0,0 +1,30 @@
+package appeng.server.subcommands;
+
+import java.util.Locale;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import appeng.crafting.pattern.DecodedPatternCache;
+import appeng.server.ISubCommand;
+
+/**
+ * Reports how effective the cache of decoded patterns is.
+ */
+public class PatternCacheCommand implements ISubCommand {
+    @Override
+    public void call(MinecraftServer srv, CommandContext<CommandSourceStack> ctx, CommandSourceStack sender) {
+        var stats = DecodedPatternCache.getStats();
+        if (stats == null) {
+            sender.sendSystemMessage(Component.literal("The decoded pattern cache is disabled"));
+            return;
+        }
+
+        sender.sendSystemMessage(Component.literal(String.format(Locale.ROOT,
+                "Decoded pattern cache: %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                stats.hitCount(), stats.missCount(), stats.hitRate() * 100, stats.evictionCount())));
+    }
+}
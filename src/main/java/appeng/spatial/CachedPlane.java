@@ -21,6 +21,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.SectionPos;
@@ -178,6 +180,8 @@ void swap(CachedPlane dst) {
 
             long startTime = System.nanoTime();
 
+            var swappedSections = this.swapSections(dst);
+
             for (int x = 0; x < this.x_size; x++) {
                 for (int z = 0; z < this.z_size; z++) {
                     final Column srcCol = this.myColumns[x][z];
@@ -187,6 +191,10 @@ void swap(CachedPlane dst) {
                         var src_y = this.y_offset + y;
                         var dst_y = dst.y_offset + y;
 
+                        if (swappedSections != null && swappedSections.contains(x, y, z)) {
+                            continue;
+                        }
+
                         if (srcCol.doNotSkip(src_y) && dstCol.doNotSkip(dst_y)) {
                             var srcSection = srcCol.getSection(src_y);
                             var dstSection = dstCol.getSection(dst_y);
@@ -214,7 +222,8 @@ void swap(CachedPlane dst) {
 
             long endTime = System.nanoTime();
             long duration = endTime - startTime;
-            AELog.info("Block Copy Time: " + duration);
+            AELog.info("Block Copy Time: " + duration + " (" + (swappedSections != null ? swappedSections.count : 0)
+                    + " whole sections swapped)");
 
             for (var moveRecord : this.blockEntities) {
                 var pos = moveRecord.blockEntity().getBlockPos();
@@ -249,6 +258,74 @@ void swap(CachedPlane dst) {
         }
     }
 
+    /**
+     * Exchanges the block states of whole chunk sections, where both planes are aligned to the section grid in the
+     * same way. This is much faster than copying their blocks one by one. Sections with skipped positions or blocks
+     * that need special treatment are left for the block copy.
+     *
+     * @return The sections that were exchanged, or null if the planes aren't aligned to each other.
+     */
+    @Nullable
+    private SwappedSections swapSections(CachedPlane dst) {
+        if (Math.floorMod(dst.x_offset - this.x_offset, SectionPos.SECTION_SIZE) != 0
+                || Math.floorMod(dst.y_offset - this.y_offset, SectionPos.SECTION_SIZE) != 0
+                || Math.floorMod(dst.z_offset - this.z_offset, SectionPos.SECTION_SIZE) != 0) {
+            return null;
+        }
+
+        var swapped = new SwappedSections(
+                Math.floorMod(-this.x_offset, SectionPos.SECTION_SIZE),
+                Math.floorMod(-this.y_offset, SectionPos.SECTION_SIZE),
+                Math.floorMod(-this.z_offset, SectionPos.SECTION_SIZE),
+                this.x_size, this.y_size, this.z_size);
+
+        for (int sx = 0; sx < swapped.sizeX; sx++) {
+            for (int sz = 0; sz < swapped.sizeZ; sz++) {
+                for (int sy = 0; sy < swapped.sizeY; sy++) {
+                    int x = swapped.firstX + SectionPos.sectionToBlockCoord(sx);
+                    int y = swapped.firstY + SectionPos.sectionToBlockCoord(sy);
+                    int z = swapped.firstZ + SectionPos.sectionToBlockCoord(sz);
+                    if (this.canSwapSection(x, y, z) && dst.canSwapSection(x, y, z)) {
+                        var srcChunk = this.myColumns[x][z].c;
+                        var dstChunk = dst.myColumns[x][z].c;
+                        var srcIndex = srcChunk.getSectionIndex(this.y_offset + y);
+                        var dstIndex = dstChunk.getSectionIndex(dst.y_offset + y);
+                        var srcSection = srcChunk.getSection(srcIndex);
+                        var dstSection = dstChunk.getSection(dstIndex);
+
+                        // Only the block states move, the biomes stay where they are
+                        srcChunk.getSections()[srcIndex] = new LevelChunkSection(dstSection.getStates(),
+                                srcSection.getBiomes());
+                        dstChunk.getSections()[dstIndex] = new LevelChunkSection(srcSection.getStates(),
+                                dstSection.getBiomes());
+                        swapped.add(sx, sy, sz);
+                    }
+                }
+            }
+        }
+
+        return swapped;
+    }
+
+    /**
+     * Checks that the section starting at the given plane coordinates has no skipped positions, and that the block
+     * copy wouldn't change any of its blocks.
+     */
+    private boolean canSwapSection(int x, int y, int z) {
+        var minY = this.y_offset + y;
+        var maxY = minY + LevelChunkSection.SECTION_HEIGHT - 1;
+        for (int cx = x; cx < x + LevelChunkSection.SECTION_WIDTH; cx++) {
+            for (int cz = z; cz < z + LevelChunkSection.SECTION_WIDTH; cz++) {
+                if (this.myColumns[cx][cz].hasSkipBetween(minY, maxY)) {
+                    return false;
+                }
+            }
+        }
+
+        var section = this.myColumns[x][z].getSection(minY);
+        return !section.maybeHas(state -> state == this.matrixBlockState || state.is(AETags.SPATIAL_BLACKLIST));
+    }
+
     private void markForUpdate(int x, int y, int z) {
         this.updates.add(new BlockPos(x, y, z));
         for (Direction d : Direction.values()) {
@@ -389,6 +466,17 @@ private boolean doNotSkip(int y) {
             return this.skipThese == null || !this.skipThese.contains(y);
         }
 
+        private boolean hasSkipBetween(int minY, int maxY) {
+            if (this.skipThese != null) {
+                for (int y : this.skipThese) {
+                    if (y >= minY && y <= maxY) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
         private void setSkip(int y) {
             if (this.skipThese == null) {
                 this.skipThese = new ArrayList<>();
@@ -401,6 +489,49 @@ public LevelChunkSection getSection(int y) {
         }
     }
 
+    /**
+     * The whole sections exchanged between two planes, indexed relative to the first section-aligned position.
+     */
+    private static class SwappedSections {
+        private final int firstX;
+        private final int firstY;
+        private final int firstZ;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final boolean[] swapped;
+        private int count;
+
+        SwappedSections(int firstX, int firstY, int firstZ, int planeSizeX, int planeSizeY, int planeSizeZ) {
+            this.firstX = firstX;
+            this.firstY = firstY;
+            this.firstZ = firstZ;
+            this.sizeX = Math.max(0, SectionPos.blockToSectionCoord(planeSizeX - firstX));
+            this.sizeY = Math.max(0, SectionPos.blockToSectionCoord(planeSizeY - firstY));
+            this.sizeZ = Math.max(0, SectionPos.blockToSectionCoord(planeSizeZ - firstZ));
+            this.swapped = new boolean[this.sizeX * this.sizeY * this.sizeZ];
+        }
+
+        void add(int sx, int sy, int sz) {
+            this.swapped[(sx * this.sizeY + sy) * this.sizeZ + sz] = true;
+            this.count++;
+        }
+
+        boolean contains(int x, int y, int z) {
+            int sx = x - this.firstX;
+            int sy = y - this.firstY;
+            int sz = z - this.firstZ;
+            if (sx < 0 || sy < 0 || sz < 0) {
+                return false;
+            }
+            sx = SectionPos.blockToSectionCoord(sx);
+            sy = SectionPos.blockToSectionCoord(sy);
+            sz = SectionPos.blockToSectionCoord(sz);
+            return sx < this.sizeX && sy < this.sizeY && sz < this.sizeZ
+                    && this.swapped[(sx * this.sizeY + sy) * this.sizeZ + sz];
+        }
+    }
+
     private record BlockEntityMoveRecord(
             IBlockEntityMoveStrategy strategy,
             BlockEntity blockEntity,
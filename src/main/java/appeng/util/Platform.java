@@ -65,6 +65,7 @@
 import appeng.api.config.SortOrder;
 import appeng.api.implementations.items.IAEItemPowerStorage;
 import appeng.api.util.DimensionalBlockPos;
+import appeng.blockentity.AEBaseBlockEntity;
 import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.hooks.VisualStateSaving;
@@ -377,6 +378,10 @@ public static void sendImmediateBlockEntityUpdate(Player player, BlockPos pos) {
                 var packet = be.getUpdatePacket();
                 if (packet != null) {
                     serverPlayer.connection.send(packet);
+                    if (be instanceof AEBaseBlockEntity aeBlockEntity) {
+                        // Other players tracking it did not receive this packet
+                        aeBlockEntity.invalidateSentUpdateData();
+                    }
                 }
             }
         }
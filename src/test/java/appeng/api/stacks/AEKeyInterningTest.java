@@ -0,0 +1,89 @@
+package appeng.api.stacks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.material.Fluids;
+import net.neoforged.neoforge.fluids.FluidStack;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class AEKeyInterningTest {
+    @AfterEach
+    void disableInterning() {
+        AEKeyInterning.setEnabled(false);
+    }
+
+    @Test
+    void testEqualItemKeysAreSameInstance() {
+        AEKeyInterning.setEnabled(true);
+        var stack = new ItemStack(Items.STONE, 12);
+        stack.set(DataComponents.CUSTOM_NAME, Component.literal("Rock"));
+
+        var key = AEItemKey.of(stack);
+        assertThat(AEItemKey.of(stack.copyWithCount(1))).isSameAs(key);
+        assertThat(AEItemKey.of(Items.STONE)).isNotEqualTo(key).isSameAs(AEItemKey.of(Items.STONE));
+    }
+
+    @Test
+    void testInternedItemKeyDoesNotShareCallerStack() {
+        AEKeyInterning.setEnabled(true);
+        var stack = new ItemStack(Items.STONE, 12);
+        var key = AEItemKey.of(stack);
+
+        stack.set(DataComponents.CUSTOM_NAME, Component.literal("Rock"));
+        assertThat(key.getReadOnlyStack().has(DataComponents.CUSTOM_NAME)).isFalse();
+        assertThat(AEItemKey.of(Items.STONE)).isSameAs(key);
+    }
+
+    @Test
+    void testEqualFluidKeysAreSameInstance() {
+        AEKeyInterning.setEnabled(true);
+        var key = AEFluidKey.of(new FluidStack(Fluids.WATER, 1000));
+        assertThat(AEFluidKey.of(Fluids.WATER)).isSameAs(key);
+    }
+
+    @Test
+    void testDefaultKeysCachedBeforeEnablingAreInterned() {
+        AEItemKey.of(Items.COBBLESTONE);
+        AEFluidKey.of(Fluids.LAVA);
+
+        AEKeyInterning.setEnabled(true);
+        assertThat(AEItemKey.of(Items.COBBLESTONE)).isSameAs(AEItemKey.of(new ItemStack(Items.COBBLESTONE)));
+        assertThat(AEFluidKey.of(Fluids.LAVA)).isSameAs(AEFluidKey.of(new FluidStack(Fluids.LAVA, 1)));
+    }
+
+    @Test
+    void testClearingCachesDropsDefaultKeys() {
+        var itemKey = AEItemKey.of(Items.COBBLESTONE);
+        var fluidKey = AEFluidKey.of(Fluids.LAVA);
+
+        AEKeyInterning.clearCaches();
+        assertThat(AEItemKey.of(Items.COBBLESTONE)).isEqualTo(itemKey).isNotSameAs(itemKey);
+        assertThat(AEFluidKey.of(Fluids.LAVA)).isEqualTo(fluidKey).isNotSameAs(fluidKey);
+    }
+
+    @Test
+    void testKeysAreNotInternedByDefault() {
+        var stack = new ItemStack(Items.STONE);
+        assertThat(AEItemKey.of(stack)).isEqualTo(AEItemKey.of(stack)).isNotSameAs(AEItemKey.of(stack));
+    }
+
+    @Test
+    void testDropSecondaryIsCachedPerItem() {
+        var stack = new ItemStack(Items.DIAMOND_PICKAXE);
+        stack.setDamageValue(10);
+        var damaged = AEItemKey.of(stack);
+
+        assertThat(damaged.dropSecondary()).isEqualTo(AEItemKey.of(Items.DIAMOND_PICKAXE))
+                .isSameAs(AEItemKey.of(Items.DIAMOND_PICKAXE).dropSecondary());
+        assertThat(AEFluidKey.of(Fluids.LAVA).dropSecondary()).isSameAs(AEFluidKey.of(Fluids.LAVA).dropSecondary());
+    }
+}
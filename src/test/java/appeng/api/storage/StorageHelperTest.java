@@ -0,0 +1,132 @@
+package appeng.api.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.me.InfinitePowerStorage;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class StorageHelperTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+    private static final AEItemKey COBBLESTONE = AEItemKey.of(Items.COBBLESTONE);
+
+    private final InfinitePowerStorage energy = new InfinitePowerStorage();
+    private final IActionSource src = IActionSource.empty();
+
+    /**
+     * Both keys fit into the destination on their own, but not together. What doesn't fit goes back into the source.
+     */
+    @Test
+    void testTransferBetweenNearlyFullStorages() {
+        var source = new SharedCapacityStorage(100);
+        source.stored.add(STONE, 50);
+        source.stored.add(DIRT, 45);
+        var destination = new SharedCapacityStorage(100);
+        destination.stored.add(COBBLESTONE, 90);
+
+        var amounts = new KeyCounter();
+        amounts.add(STONE, destination.insert(STONE, 10, Actionable.SIMULATE, src));
+        amounts.add(DIRT, destination.insert(DIRT, 10, Actionable.SIMULATE, src));
+        var overflow = new KeyCounter();
+
+        var moved = StorageHelper.poweredTransfer(energy, source, destination, amounts, src, overflow);
+
+        // Only one of the keys fits, the other one is back in the source
+        assertThat(moved.get(STONE) + moved.get(DIRT)).isEqualTo(10);
+        assertThat(overflow.isEmpty()).isTrue();
+        assertThat(destination.stored.get(STONE) + destination.stored.get(DIRT)).isEqualTo(10);
+        assertThat(source.stored.get(STONE) + destination.stored.get(STONE)).isEqualTo(50);
+        assertThat(source.stored.get(DIRT) + destination.stored.get(DIRT)).isEqualTo(45);
+    }
+
+    /**
+     * What neither storage accepts is handed to the caller instead of being deleted.
+     */
+    @Test
+    void testWhatTheSourceRefusesIsReturnedAsOverflow() {
+        var source = new SharedCapacityStorage(100);
+        source.stored.add(STONE, 50);
+        source.stored.add(DIRT, 45);
+        source.acceptsInsertions = false;
+        var destination = new SharedCapacityStorage(100);
+        destination.stored.add(COBBLESTONE, 90);
+
+        var amounts = new KeyCounter();
+        amounts.add(STONE, 10);
+        amounts.add(DIRT, 10);
+        var overflow = new KeyCounter();
+
+        var moved = StorageHelper.poweredTransfer(energy, source, destination, amounts, src, overflow);
+
+        assertThat(moved.get(STONE) + moved.get(DIRT)).isEqualTo(10);
+        assertThat(overflow.get(STONE) + overflow.get(DIRT)).isEqualTo(10);
+        for (var what : new AEKey[] { STONE, DIRT }) {
+            // Nothing got lost
+            assertThat(source.stored.get(what) + destination.stored.get(what) + overflow.get(what))
+                    .isEqualTo(what == STONE ? 50 : 45);
+        }
+    }
+
+    /**
+     * Stores any key, up to a total amount shared by all keys.
+     */
+    private static class SharedCapacityStorage implements MEStorage {
+        private final KeyCounter stored = new KeyCounter();
+        private final long capacity;
+        private boolean acceptsInsertions = true;
+
+        private SharedCapacityStorage(long capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (!acceptsInsertions) {
+                return 0;
+            }
+            var inserted = Math.min(amount, capacity - getStoredAmount());
+            if (inserted > 0 && mode == Actionable.MODULATE) {
+                stored.add(what, inserted);
+            }
+            return Math.max(0, inserted);
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, stored.get(what));
+            if (extracted > 0 && mode == Actionable.MODULATE) {
+                stored.remove(what, extracted);
+            }
+            return extracted;
+        }
+
+        private long getStoredAmount() {
+            long total = 0;
+            for (var entry : stored) {
+                total += entry.getLongValue();
+            }
+            return total;
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            out.addAll(stored);
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.empty();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package appeng.blockentity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class ClientUpdateTrackerTest {
+    private final ClientUpdateTracker tracker = new ClientUpdateTracker();
+
+    @Test
+    void testRequestsWithinTickAreMergedIntoOneSend() {
+        var statsBefore = ClientUpdateTracker.getStats();
+
+        assertThat(tracker.request()).isTrue();
+        assertThat(tracker.request()).isFalse();
+        assertThat(tracker.request()).isFalse();
+        assertThat(tracker.shouldSend(new byte[] { 1, 2, 3 }, 10)).isTrue();
+
+        var stats = ClientUpdateTracker.getStats();
+        assertThat(stats.requested() - statsBefore.requested()).isEqualTo(3);
+        assertThat(stats.sent() - statsBefore.sent()).isEqualTo(1);
+        assertThat(stats.skipped() - statsBefore.skipped()).isZero();
+
+        // The next tick queues a new update again
+        assertThat(tracker.request()).isTrue();
+    }
+
+    @Test
+    void testBroadcastReusesDataSerializedForCheck() {
+        var data = new byte[] { 1, 2, 3 };
+        var serializer = new CountingSerializer(new byte[] { 4 });
+
+        tracker.request();
+        tracker.shouldSend(data, 10);
+
+        assertThat(tracker.takeBroadcastData(11, serializer)).isSameAs(data);
+        assertThat(serializer.calls.get()).isZero();
+
+        // Only reused once
+        assertThat(tracker.takeBroadcastData(11, serializer)).isNotSameAs(data);
+        assertThat(serializer.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDataIsSerializedAgainIfBroadcastIsLate() {
+        var serializer = new CountingSerializer(new byte[] { 4 });
+
+        tracker.request();
+        tracker.shouldSend(new byte[] { 1, 2, 3 }, 10);
+
+        assertThat(tracker.takeBroadcastData(12, serializer)).containsExactly(4);
+        assertThat(serializer.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDataIsSerializedAgainIfUpdateIsRequestedBeforeBroadcast() {
+        var serializer = new CountingSerializer(new byte[] { 4 });
+
+        tracker.request();
+        tracker.shouldSend(new byte[] { 1, 2, 3 }, 10);
+        tracker.request();
+
+        assertThat(tracker.takeBroadcastData(11, serializer)).containsExactly(4);
+        assertThat(serializer.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnchangedDataIsSkipped() {
+        tracker.request();
+        tracker.shouldSend(new byte[] { 1, 2, 3 }, 10);
+        tracker.takeBroadcastData(11, () -> new byte[] { 1, 2, 3 });
+
+        var skippedBefore = ClientUpdateTracker.getStats().skipped();
+        tracker.request();
+        assertThat(tracker.shouldSend(new byte[] { 1, 2, 3 }, 11)).isFalse();
+        assertThat(ClientUpdateTracker.getStats().skipped() - skippedBefore).isEqualTo(1);
+
+        tracker.request();
+        assertThat(tracker.shouldSend(new byte[] { 1, 2, 4 }, 12)).isTrue();
+    }
+
+    @Test
+    void testUnchangedDataIsSentAfterInvalidation() {
+        tracker.request();
+        tracker.shouldSend(new byte[] { 1, 2, 3 }, 10);
+        tracker.takeBroadcastData(11, () -> new byte[] { 1, 2, 3 });
+
+        tracker.invalidate();
+        tracker.request();
+        assertThat(tracker.shouldSend(new byte[] { 1, 2, 3 }, 11)).isTrue();
+    }
+
+    private static class CountingSerializer implements Supplier<byte[]> {
+        private final byte[] data;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingSerializer(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public byte[] get() {
+            calls.incrementAndGet();
+            return data.clone();
+        }
+    }
+}
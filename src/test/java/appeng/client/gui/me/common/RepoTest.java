@@ -0,0 +1,110 @@
+package appeng.client.gui.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.client.gui.widgets.ISortSource;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks that applying server updates to the view incrementally results in the same view as a full rebuild.
+ */
+@BootstrapMinecraft
+class RepoTest {
+    @ParameterizedTest
+    @EnumSource(ViewItems.class)
+    void testIncrementalUpdatesMatchFullRebuild(ViewItems viewMode) {
+        var sortSource = new TestSortSource(viewMode);
+        var repo = new Repo(() -> 0, sortSource);
+        var random = new Random(viewMode.ordinal());
+        var items = new ArrayList<AEItemKey>();
+        for (var item : BuiltInRegistries.ITEM) {
+            if (items.size() >= 200) {
+                break;
+            }
+            var key = AEItemKey.of(item);
+            if (key != null) {
+                items.add(key);
+            }
+        }
+
+        var serverEntries = new HashMap<Long, GridInventoryEntry>();
+        repo.handleUpdate(true, List.of());
+
+        for (int step = 0; step < 100; step++) {
+            var updates = new ArrayList<GridInventoryEntry>();
+            var changes = 1 + random.nextInt(10);
+            for (int i = 0; i < changes; i++) {
+                long serial = random.nextInt(items.size());
+                var what = items.get((int) serial);
+                GridInventoryEntry update;
+                if (random.nextInt(4) == 0) {
+                    update = new GridInventoryEntry(serial, what, 0, 0, false);
+                    serverEntries.remove(serial);
+                } else {
+                    update = new GridInventoryEntry(serial, what, random.nextInt(3) * random.nextInt(1000), 0,
+                            random.nextBoolean());
+                    if (update.isMeaningful()) {
+                        serverEntries.put(serial, update);
+                    } else {
+                        serverEntries.remove(serial);
+                    }
+                }
+                updates.add(update);
+            }
+            repo.handleUpdate(false, updates);
+
+            var rebuilt = new Repo(() -> 0, sortSource);
+            rebuilt.handleUpdate(true, List.copyOf(serverEntries.values()));
+            assertThat(getView(repo)).isEqualTo(getView(rebuilt));
+        }
+    }
+
+    private static List<Map.Entry<Long, Long>> getView(Repo repo) {
+        var result = new ArrayList<Map.Entry<Long, Long>>();
+        for (int i = 0; i < repo.size(); i++) {
+            var entry = repo.get(i);
+            result.add(Map.entry(entry.getSerial(), entry.getStoredAmount()));
+        }
+        return result;
+    }
+
+    private record TestSortSource(ViewItems viewMode) implements ISortSource {
+        @Override
+        public SortOrder getSortBy() {
+            return SortOrder.AMOUNT;
+        }
+
+        @Override
+        public SortDir getSortDir() {
+            return SortDir.DESCENDING;
+        }
+
+        @Override
+        public ViewItems getSortDisplay() {
+            return viewMode;
+        }
+
+        @Override
+        public Set<AEKeyType> getSortKeyTypes() {
+            return Set.of(AEKeyType.items());
+        }
+    }
+}
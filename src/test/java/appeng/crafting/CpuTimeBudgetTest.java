@@ -0,0 +1,126 @@
+package appeng.crafting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.junit.jupiter.api.Test;
+
+class CpuTimeBudgetTest {
+    /**
+     * Fake CPU time of each thread, only advanced by {@link #spend}.
+     */
+    private final ThreadLocal<long[]> threadTime = ThreadLocal.withInitial(() -> new long[1]);
+
+    private long now() {
+        return threadTime.get()[0];
+    }
+
+    private void spend(long nanos) {
+        threadTime.get()[0] += nanos;
+    }
+
+    private CpuTimeBudget budget(long budgetNanos) {
+        return new CpuTimeBudget(budgetNanos, this::now);
+    }
+
+    @Test
+    void testTimeOfInlineSegmentIsCountedOnce() {
+        var budget = budget(100);
+
+        budget.startSegment();
+        spend(10);
+        // A task of the same calculation runs inline
+        budget.startSegment();
+        spend(5);
+        budget.endSegment();
+        spend(3);
+        budget.endSegment();
+
+        assertThat(budget.getUsedNanos()).isEqualTo(18);
+    }
+
+    @Test
+    void testStolenTaskIsCountedForItsOwnCalculation() {
+        var budget = budget(100);
+        var other = budget(100);
+
+        budget.startSegment();
+        spend(10);
+        // While joining, the thread runs a task of another calculation
+        other.startSegment();
+        spend(7);
+        other.endSegment();
+        spend(2);
+        budget.endSegment();
+
+        assertThat(budget.getUsedNanos()).isEqualTo(12);
+        assertThat(other.getUsedNanos()).isEqualTo(7);
+    }
+
+    @Test
+    void testCheckCountsTimeOfOpenSegment() {
+        var budget = budget(50);
+
+        budget.startSegment();
+        spend(60);
+        boolean exceeded = false;
+        for (int i = 0; i < 1000 && !exceeded; i++) {
+            exceeded = budget.check();
+        }
+        assertThat(exceeded).isTrue();
+
+        budget.endSegment();
+        assertThat(budget.getUsedNanos()).isEqualTo(60);
+    }
+
+    @Test
+    void testInvokeAllInPoolCountsEveryTaskOnce() {
+        var budget = budget(Long.MAX_VALUE);
+        var pool = new ForkJoinPool(2);
+        try {
+            pool.submit(() -> {
+                budget.startSegment();
+                try {
+                    spend(10);
+                    var tasks = new ArrayList<Spender>();
+                    for (int i = 0; i < 4; i++) {
+                        tasks.add(new Spender(budget, 5));
+                    }
+                    // Runs one task inline on this thread
+                    ForkJoinTask.invokeAll(tasks);
+                    spend(1);
+                } finally {
+                    budget.endSegment();
+                }
+            }).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(budget.getUsedNanos()).isEqualTo(10 + 4 * 5 + 1);
+    }
+
+    private class Spender extends RecursiveAction {
+        private final CpuTimeBudget budget;
+        private final long nanos;
+
+        private Spender(CpuTimeBudget budget, long nanos) {
+            this.budget = budget;
+            this.nanos = nanos;
+        }
+
+        @Override
+        protected void compute() {
+            budget.startSegment();
+            try {
+                spend(nanos);
+            } finally {
+                budget.endSegment();
+            }
+        }
+    }
+}
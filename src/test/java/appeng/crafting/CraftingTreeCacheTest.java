@@ -0,0 +1,128 @@
+package appeng.crafting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CraftingTreeCacheTest {
+    @Test
+    void testPatternsAreOnlyLookedUpOnce() {
+        var stone = item(Items.STONE);
+        var pattern = new ProcessingPatternBuilder(stone).addPreciseInput(1, item(Items.COBBLESTONE)).build();
+        var lookup = new CountingLookup(stone.what(), pattern);
+
+        var cache = new CraftingTreeCache(0);
+        var stats = new CraftingTreeCache.Stats();
+        var first = cache.getPatterns(lookup, stone.what(), stats);
+        var second = cache.getPatterns(lookup, stone.what(), stats);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).extracting(CraftingTreeCache.CachedPattern::details).containsExactly(pattern);
+        assertThat(lookup.lookups).isEqualTo(1);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void testCachedPatternProperties() {
+        var cobblestone = item(Items.COBBLESTONE);
+        var stone = item(Items.STONE);
+        // Produces more of its own input, so it has to be simulated one by one.
+        var pattern = new ProcessingPatternBuilder(mult(cobblestone, 2), stone)
+                .addPreciseInput(1, cobblestone)
+                .build();
+
+        var cached = new CraftingTreeCache(0)
+                .getPatterns(new CountingLookup(cobblestone.what(), pattern), cobblestone.what(),
+                        new CraftingTreeCache.Stats())
+                .get(0);
+
+        assertThat(cached.limitQty()).isTrue();
+        assertThat(cached.containerItems()).isFalse();
+        assertThat(cached.recursionKeys()).containsExactlyInAnyOrder(cobblestone.what(), stone.what());
+    }
+
+    @Test
+    void testSharedCacheProducesSamePlans() {
+        var env = new SimulationEnv();
+
+        var log = item(Items.OAK_LOG);
+        var planks = item(Items.OAK_PLANKS);
+        var stick = item(Items.STICK);
+        var torch = item(Items.TORCH);
+        var coal = item(Items.COAL);
+
+        env.addPattern(new ProcessingPatternBuilder(mult(planks, 4)).addPreciseInput(1, log).build());
+        env.addPattern(new ProcessingPatternBuilder(mult(stick, 4)).addPreciseInput(2, planks).build());
+        env.addPattern(new ProcessingPatternBuilder(mult(torch, 4)).addPreciseInput(1, stick)
+                .addPreciseInput(1, coal).build());
+        env.addStoredItem(mult(log, 3));
+        env.addStoredItem(mult(coal, 10));
+
+        var cache = new CraftingTreeCache(0);
+        var target = mult(torch, 32);
+        var expected = env.runSimulation(target, CalculationStrategy.CRAFT_LESS);
+        var first = env.runSimulation(target, CalculationStrategy.CRAFT_LESS, cache);
+        var second = env.runSimulation(target, CalculationStrategy.CRAFT_LESS, cache);
+
+        for (var plan : List.of(first, second)) {
+            assertThat(plan.finalOutput()).isEqualTo(expected.finalOutput());
+            assertThat(plan.bytes()).isEqualTo(expected.bytes());
+            assertThat(plan.patternTimes()).isEqualTo(expected.patternTimes());
+        }
+    }
+
+    private static GenericStack item(Item item) {
+        return GenericStack.fromItemStack(new ItemStack(item));
+    }
+
+    private static GenericStack mult(GenericStack template, long multiplier) {
+        return new GenericStack(template.what(), template.amount() * multiplier);
+    }
+
+    private static class CountingLookup implements ICraftingPatternLookup {
+        private final AEKey craftable;
+        private final IPatternDetails pattern;
+        private int lookups;
+
+        private CountingLookup(AEKey craftable, IPatternDetails pattern) {
+            this.craftable = craftable;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+            lookups++;
+            return whatToCraft.equals(craftable) ? List.of(pattern) : List.of();
+        }
+
+        @Nullable
+        @Override
+        public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+            return null;
+        }
+
+        @Override
+        public boolean canEmitFor(AEKey what) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.crafting.ICraftingProvider;
+import appeng.api.networking.energy.IEnergyService;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.crafting.CraftingPlan;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.service.CraftingService;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks how the crafting CPU extracts the inputs of the patterns it pushes to providers.
+ */
+@BootstrapMinecraft
+class CraftingCpuLogicTest {
+    private static final AEItemKey STICK = AEItemKey.of(Items.STICK);
+    private static final AEItemKey PLANK = AEItemKey.of(Items.OAK_PLANKS);
+
+    private final IPatternDetails pattern = new ProcessingPatternBuilder(new GenericStack(STICK, 4))
+            .addPreciseInput(2, new GenericStack(PLANK, 1))
+            .build();
+    private final IGrid grid = mock(IGrid.class);
+    private final CraftingService craftingService = mock(CraftingService.class);
+    private final IEnergyService energyService = mock(IEnergyService.class);
+    private final ICraftingProvider provider = mock(ICraftingProvider.class, CALLS_REAL_METHODS);
+    /**
+     * The inputs of each {@link ICraftingProvider#pushPatterns} call.
+     */
+    private final List<List<KeyCounter[]>> pushes = new ArrayList<>();
+    /**
+     * Number of changes to the amount of planks stored in the CPU.
+     */
+    private int plankChanges;
+    private CraftingCPUCluster cpu;
+
+    @BeforeEach
+    void setup() {
+        var storageService = mock(IStorageService.class);
+        var storage = mock(MEStorage.class);
+        when(grid.getStorageService()).thenReturn(storageService);
+        when(grid.getCraftingService()).thenReturn(craftingService);
+        when(storageService.getInventory()).thenReturn(storage);
+        when(storage.extract(any(), anyLong(), any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(energyService.extractAEPower(anyDouble(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        when(craftingService.getProviders(pattern)).thenReturn(List.of(provider));
+        when(craftingService.getProviderCount(pattern)).thenReturn(1);
+        doAnswer(invocation -> {
+            List<KeyCounter[]> inputHolders = invocation.getArgument(1);
+            pushes.add(List.copyOf(inputHolders));
+            return inputHolders.size();
+        }).when(provider).pushPatterns(eq(pattern), anyList());
+
+        // The crafting logic of the cluster is created by its constructor and calls back into the cluster
+        cpu = mock(CraftingCPUCluster.class, withSettings()
+                .useConstructor(BlockPos.ZERO, BlockPos.ZERO)
+                .defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(grid).when(cpu).getGrid();
+        doReturn(true).when(cpu).isActive();
+        doReturn(Long.MAX_VALUE).when(cpu).getAvailableStorage();
+        doReturn(null).when(cpu).getLevel();
+        doNothing().when(cpu).markDirty();
+        doNothing().when(cpu).updateOutput(any());
+
+        var usedItems = new KeyCounter();
+        usedItems.add(PLANK, 16);
+        var plan = new CraftingPlan(new GenericStack(STICK, 32), 0, false, false, usedItems, new KeyCounter(),
+                new KeyCounter(), Map.of(pattern, 8L));
+        assertThat(cpu.submitJob(grid, plan, IActionSource.empty(), null).successful()).isTrue();
+
+        cpu.craftingLogic.addListener(what -> {
+            if (what.equals(PLANK)) {
+                plankChanges++;
+            }
+        });
+    }
+
+    @Test
+    void testBusyProviderCausesNoExtraction() {
+        doReturn(true).when(provider).isBusy();
+
+        assertThat(executeCrafting(8)).isZero();
+
+        assertThat(plankChanges).isZero();
+        verify(provider, never()).pushPatterns(any(), anyList());
+        assertThat(cpu.craftingLogic.getStored(PLANK)).isEqualTo(16);
+    }
+
+    @Test
+    void testOnlyAcceptedCopiesAreExtracted() {
+        // Providers that can't tell how many copies they accept get one at a time
+        assertThat(executeCrafting(8)).isEqualTo(1);
+
+        assertThat(pushes).hasSize(1);
+        assertThat(pushes.get(0)).hasSize(1);
+        // One extraction, nothing was put back
+        assertThat(plankChanges).isEqualTo(1);
+        assertThat(cpu.craftingLogic.getStored(PLANK)).isEqualTo(14);
+    }
+
+    @Test
+    void testAcceptedCopiesArePushedAsOneBatch() {
+        doReturn(3).when(provider).getAcceptableCopies(eq(pattern), anyInt());
+
+        assertThat(executeCrafting(8)).isEqualTo(3);
+
+        assertThat(pushes).hasSize(1);
+        assertThat(pushes.get(0)).hasSize(3);
+        assertThat(plankChanges).isEqualTo(3);
+        assertThat(cpu.craftingLogic.getStored(PLANK)).isEqualTo(10);
+    }
+
+    @Test
+    void testCopiesTheProviderRejectsAreReinjected() {
+        doReturn(3).when(provider).getAcceptableCopies(eq(pattern), anyInt());
+        doAnswer(invocation -> {
+            List<KeyCounter[]> inputHolders = invocation.getArgument(1);
+            pushes.add(List.copyOf(inputHolders));
+            return 2;
+        }).when(provider).pushPatterns(eq(pattern), anyList());
+
+        assertThat(executeCrafting(8)).isEqualTo(2);
+
+        assertThat(pushes.get(0)).hasSize(3);
+        assertThat(cpu.craftingLogic.getStored(PLANK)).isEqualTo(12);
+    }
+
+    private int executeCrafting(int maxPatterns) {
+        return cpu.craftingLogic.executeCrafting(maxPatterns, craftingService, energyService, mock(Level.class));
+    }
+}
@@ -0,0 +1,66 @@
+package appeng.crafting.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+import appeng.api.config.Actionable;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.crafting.inv.ListCraftingInventory;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExtractedPatternCopiesTest {
+    private final AEItemKey stick = AEItemKey.of(Items.STICK);
+    private final AEItemKey plank = AEItemKey.of(Items.OAK_PLANKS);
+    private final ListCraftingInventory inventory = new ListCraftingInventory(what -> {
+    });
+    private final Level level = mock(Level.class);
+
+    @Test
+    void testExtractStopsWhenInputsRunOut() {
+        var pattern = new ProcessingPatternBuilder(new GenericStack(stick, 4))
+                .addPreciseInput(2, new GenericStack(plank, 1))
+                .build();
+        inventory.insert(plank, 5, Actionable.MODULATE);
+
+        var copies = new ExtractedPatternCopies();
+        assertThat(copies.extract(pattern, inventory, level)).isTrue();
+        assertThat(copies.extract(pattern, inventory, level)).isTrue();
+        assertThat(copies.extract(pattern, inventory, level)).isFalse();
+
+        assertThat(copies.size()).isEqualTo(2);
+        assertThat(copies.getTotalPower()).isEqualTo(copies.getPower(0) + copies.getPower(1));
+        assertThat(inventory.list.get(plank)).isEqualTo(1);
+    }
+
+    @Test
+    void testRemainingCopiesMoveToFront() {
+        var pattern = new ProcessingPatternBuilder(new GenericStack(stick, 4))
+                .addPreciseInput(1, new GenericStack(plank, 1))
+                .build();
+        inventory.insert(plank, 3, Actionable.MODULATE);
+
+        var copies = new ExtractedPatternCopies();
+        for (int i = 0; i < 3; i++) {
+            assertThat(copies.extract(pattern, inventory, level)).isTrue();
+        }
+        var last = copies.getInputs().get(2);
+
+        copies.removePushed(2);
+        assertThat(copies.size()).isEqualTo(1);
+        assertThat(copies.getInputs().get(0)).isSameAs(last);
+        assertThat(copies.getTotalPower()).isEqualTo(copies.getPower(0));
+
+        copies.reinjectAll(inventory);
+        assertThat(copies.isEmpty()).isTrue();
+        assertThat(copies.getTotalPower()).isZero();
+        assertThat(inventory.list.get(plank)).isEqualTo(1);
+    }
+}
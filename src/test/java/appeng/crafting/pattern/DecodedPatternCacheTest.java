@@ -0,0 +1,86 @@
+package appeng.crafting.pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class DecodedPatternCacheTest {
+    private final AEItemKey what = AEItemKey.of(Items.PAPER);
+    private final Level level = mock(Level.class);
+    private final AtomicInteger decodeCount = new AtomicInteger();
+
+    @AfterEach
+    void clearCache() {
+        DecodedPatternCache.invalidate();
+    }
+
+    @Test
+    void testDecodedPatternIsReused() {
+        var first = DecodedPatternCache.get(what, level, this::decode);
+        var second = DecodedPatternCache.get(what, level, this::decode);
+
+        assertThat(second).isNotNull().isSameAs(first);
+        assertThat(decodeCount).hasValue(1);
+    }
+
+    @Test
+    void testInvalidPatternsAreCached() {
+        assertThat(DecodedPatternCache.get(what, level, this::decodeInvalid)).isNull();
+        assertThat(DecodedPatternCache.get(what, level, this::decodeInvalid)).isNull();
+        assertThat(decodeCount).hasValue(1);
+    }
+
+    @Test
+    void testPatternsAreCachedPerLevel() {
+        var otherLevel = mock(Level.class);
+        var first = DecodedPatternCache.get(what, level, this::decode);
+        var second = DecodedPatternCache.get(what, otherLevel, this::decode);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void testInvalidateDropsPatterns() {
+        var first = DecodedPatternCache.get(what, level, this::decode);
+        DecodedPatternCache.invalidate();
+        var second = DecodedPatternCache.get(what, level, this::decode);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void testStatsCountHitsAndMisses() {
+        var before = DecodedPatternCache.getStats();
+        DecodedPatternCache.get(what, level, this::decode);
+        DecodedPatternCache.get(what, level, this::decode);
+        DecodedPatternCache.get(what, level, this::decode);
+
+        var stats = DecodedPatternCache.getStats().minus(before);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(2);
+    }
+
+    private IPatternDetails decode() {
+        decodeCount.incrementAndGet();
+        return mock(IPatternDetails.class);
+    }
+
+    private IPatternDetails decodeInvalid() {
+        decodeCount.incrementAndGet();
+        return null;
+    }
+}
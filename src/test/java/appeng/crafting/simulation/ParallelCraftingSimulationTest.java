@@ -0,0 +1,162 @@
+package appeng.crafting.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks that calculations requesting pattern inputs in parallel produce the same plans as sequential calculations.
+ */
+@BootstrapMinecraft
+public class ParallelCraftingSimulationTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testIndependentInputs() {
+        var env = new SimulationEnv();
+
+        var output = item(Items.BEACON);
+        var inputs = new Item[] { Items.IRON_INGOT, Items.GOLD_INGOT, Items.COPPER_INGOT, Items.DIAMOND,
+                Items.EMERALD, Items.REDSTONE };
+        var sources = new Item[] { Items.IRON_ORE, Items.GOLD_ORE, Items.COPPER_ORE, Items.DIAMOND_ORE,
+                Items.EMERALD_ORE, Items.REDSTONE_ORE };
+
+        var outputPattern = new ProcessingPatternBuilder(output);
+        for (int i = 0; i < inputs.length; i++) {
+            outputPattern.addPreciseInput(i + 1, item(inputs[i]));
+            env.addPattern(new ProcessingPatternBuilder(item(inputs[i])).addPreciseInput(2, item(sources[i])).build());
+            env.addStoredItem(mult(item(sources[i]), 50));
+            env.addStoredItem(mult(item(inputs[i]), i));
+        }
+        env.addPattern(outputPattern.build());
+
+        assertSamePlans(env, mult(output, 10), CalculationStrategy.REPORT_MISSING_ITEMS);
+        assertSamePlans(env, mult(output, 10), CalculationStrategy.CRAFT_LESS);
+    }
+
+    /**
+     * Both inputs compete for the same stored item, so the parallel result must be discarded.
+     */
+    @Test
+    public void testInputsSharingStoredItems() {
+        var env = new SimulationEnv();
+
+        var output = item(Items.PISTON);
+        var planks = item(Items.OAK_PLANKS);
+        var slab = item(Items.OAK_SLAB);
+        var stick = item(Items.STICK);
+        var log = item(Items.OAK_LOG);
+
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, slab).addPreciseInput(1, stick)
+                .build());
+        env.addPattern(new ProcessingPatternBuilder(slab).addPreciseInput(1, planks).build());
+        env.addPattern(new ProcessingPatternBuilder(stick).addPreciseInput(1, planks).build());
+        env.addPattern(new ProcessingPatternBuilder(mult(planks, 4)).addPreciseInput(1, log).build());
+        env.addStoredItem(mult(planks, 3));
+        env.addStoredItem(mult(log, 2));
+
+        assertSamePlans(env, mult(output, 4), CalculationStrategy.REPORT_MISSING_ITEMS);
+        assertSamePlans(env, mult(output, 8), CalculationStrategy.CRAFT_LESS);
+        assertSamePlans(env, mult(output, 100), CalculationStrategy.REPORT_MISSING_ITEMS);
+    }
+
+    @Test
+    public void testBranchingInputs() {
+        var env = new SimulationEnv();
+
+        var output = item(Items.DIAMOND_BLOCK);
+        var diamond = item(Items.DIAMOND);
+        var gold = item(Items.GOLD_INGOT);
+        var ore = item(Items.DIAMOND_ORE);
+        var goldOre = item(Items.GOLD_ORE);
+
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(3, diamond).addPreciseInput(2, gold)
+                .build());
+        // Two patterns for diamonds force the diamonds to be crafted one by one.
+        env.addPattern(new ProcessingPatternBuilder(mult(diamond, 4)).addPreciseInput(1, ore).build());
+        env.addPattern(new ProcessingPatternBuilder(diamond).addPreciseInput(1, gold).build());
+        env.addPattern(new ProcessingPatternBuilder(gold).addPreciseInput(1, goldOre).build());
+        env.addStoredItem(mult(ore, 5));
+        env.addEmitable(goldOre.what());
+
+        assertSamePlans(env, mult(output, 12), CalculationStrategy.REPORT_MISSING_ITEMS);
+    }
+
+    @Test
+    public void testCpuBudgetAbortsCalculation() {
+        var env = new SimulationEnv();
+
+        var output = item(Items.DIAMOND);
+        var source = item(Items.DIAMOND_ORE);
+        var alternative = item(Items.COAL);
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, source).build());
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, alternative).build());
+        env.addEmitable(source.what());
+
+        assertThatThrownBy(() -> env.runParallelSimulation(mult(output, 10000),
+                CalculationStrategy.REPORT_MISSING_ITEMS, pool, 1))
+                .hasRootCauseInstanceOf(InterruptedException.class)
+                .hasRootCauseMessage("Crafting calculation exceeded its CPU time budget of 0 ms");
+    }
+
+    private static void assertSamePlans(SimulationEnv env, GenericStack what, CalculationStrategy strategy) {
+        var expected = env.runSimulation(what, strategy);
+        var actual = env.runParallelSimulation(what, strategy, pool, Long.MAX_VALUE);
+
+        assertThat(actual.finalOutput()).isEqualTo(expected.finalOutput());
+        assertThat(actual.simulation()).isEqualTo(expected.simulation());
+        assertThat(actual.bytes()).isEqualTo(expected.bytes());
+        assertThat(actual.patternTimes()).isEqualTo(expected.patternTimes());
+        assertThat(toMap(actual.usedItems())).isEqualTo(toMap(expected.usedItems()));
+        assertThat(toMap(actual.emittedItems())).isEqualTo(toMap(expected.emittedItems()));
+        assertThat(toMap(actual.missingItems())).isEqualTo(toMap(expected.missingItems()));
+    }
+
+    private static Map<AEKey, Long> toMap(KeyCounter counter) {
+        var result = new HashMap<AEKey, Long>();
+        for (var entry : counter) {
+            if (entry.getLongValue() != 0) {
+                result.put(entry.getKey(), entry.getLongValue());
+            }
+        }
+        return result;
+    }
+
+    private static GenericStack item(Item item) {
+        return GenericStack.fromItemStack(new ItemStack(item));
+    }
+
+    private static GenericStack mult(GenericStack template, long multiplier) {
+        return new GenericStack(template.what(), template.amount() * multiplier);
+    }
+}
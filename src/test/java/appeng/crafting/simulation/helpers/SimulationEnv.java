@@ -10,6 +10,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -44,6 +45,8 @@
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 import appeng.crafting.CraftingCalculation;
+import appeng.crafting.CraftingTreeCache;
+import appeng.crafting.ICraftingPatternLookup;
 import appeng.me.helpers.BaseActionSource;
 
 public class SimulationEnv {
@@ -98,6 +101,26 @@ public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strate
         }
     }
 
+    public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strategy, CraftingTreeCache treeCache) {
+        var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what, strategy,
+                ICraftingPatternLookup.of(gridMock.getCraftingService()), treeCache, null, 0);
+        try {
+            var calculationFuture = Executors.newSingleThreadExecutor().submit(calculation::run);
+            calculation.simulateFor(1000000000);
+            return calculationFuture.get(1000, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public ICraftingPlan runParallelSimulation(GenericStack what, CalculationStrategy strategy, ForkJoinPool pool,
+            long cpuBudgetNanos) {
+        var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what, strategy,
+                ICraftingPatternLookup.of(gridMock.getCraftingService()), new CraftingTreeCache(0), pool,
+                cpuBudgetNanos);
+        return calculation.run();
+    }
+
     private final IGrid gridMock = createGridMock();
     private final IGridNode nodeMock = createNodeMock();
     private final ICraftingSimulationRequester simulationRequester = new ICraftingSimulationRequester() {
@@ -0,0 +1,200 @@
+package appeng.me;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import net.minecraft.core.BlockPos;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.GridHelper;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNodeListener;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.core.AEConfig;
+
+/**
+ * Checks that channels assigned incrementally match the result of a full recomputation.
+ */
+class IncrementalPathingTest extends AbstractGridNodeTest {
+    // Stay below 8 channels, which would trigger advancements.
+    private static final int MAX_DEVICES = 7;
+
+    private GridNode controller;
+    private GridNode trunk;
+
+    @BeforeEach
+    void setupController() {
+        // Incremental pathing is opt-in, and is only set up when the grid boots.
+        AEConfig.instance().setIncrementalPathing(true);
+
+        var blockEntity = mock(ControllerBlockEntity.class);
+        when(blockEntity.getBlockPos()).thenReturn(BlockPos.ZERO);
+        controller = new GridNode(level, blockEntity, listener, Set.of(GridFlags.CANNOT_CARRY,
+                GridFlags.DENSE_CAPACITY));
+        when(blockEntity.getGridNode()).thenReturn(controller);
+        controller.markReady();
+
+        trunk = makeReadyNode(GridFlags.PREFERRED);
+        GridHelper.createConnection(controller, trunk);
+        runTick(controller.getGrid());
+    }
+
+    @AfterEach
+    void restoreConfig() {
+        AEConfig.instance().setIncrementalPathing(false);
+    }
+
+    @Test
+    void testAddedDeviceReceivesChannelWithoutReboot() {
+        var cable = attach(trunk, GridFlags.PREFERRED);
+        var device = attach(cable, GridFlags.REQUIRE_CHANNEL);
+        runTick(controller.getGrid());
+
+        reset(listener);
+        var newDevice = attach(cable, GridFlags.REQUIRE_CHANNEL);
+        runTick(controller.getGrid());
+
+        assertThat(newDevice.getUsedChannels()).isEqualTo(1);
+        assertThat(cable.getUsedChannels()).isEqualTo(2);
+        assertThat(trunk.getUsedChannels()).isEqualTo(2);
+        assertThat(controller.getGrid().getPathingService().getUsedChannels()).isEqualTo(2);
+        verify(listener, never()).onStateChanged(any(), eq(device), eq(IGridNodeListener.State.GRID_BOOT));
+        verify(listener, never()).onStateChanged(any(), eq(trunk), eq(IGridNodeListener.State.GRID_BOOT));
+        assertMatchesFullRecompute(controller.getGrid());
+    }
+
+    @Test
+    void testRemovedDeviceReleasesChannelWithoutReboot() {
+        var cable = attach(trunk, GridFlags.PREFERRED);
+        var device = attach(cable, GridFlags.REQUIRE_CHANNEL);
+        var removedDevice = attach(cable, GridFlags.REQUIRE_CHANNEL);
+        runTick(controller.getGrid());
+        assertThat(cable.getUsedChannels()).isEqualTo(2);
+
+        reset(listener);
+        removedDevice.destroy();
+        runTick(controller.getGrid());
+
+        assertThat(cable.getUsedChannels()).isEqualTo(1);
+        assertThat(trunk.getUsedChannels()).isEqualTo(1);
+        assertThat(controller.getGrid().getPathingService().getUsedChannels()).isEqualTo(1);
+        verify(listener, never()).onStateChanged(any(), eq(device), eq(IGridNodeListener.State.GRID_BOOT));
+        assertMatchesFullRecompute(controller.getGrid());
+    }
+
+    @Test
+    void testDeviceBehindBlockedCable() {
+        var blocked = attach(trunk, GridFlags.PREFERRED, GridFlags.CANNOT_CARRY);
+        var device = attach(blocked, GridFlags.REQUIRE_CHANNEL);
+        runTick(controller.getGrid());
+        assertThat(device.getUsedChannels()).isZero();
+
+        var otherDevice = attach(blocked, GridFlags.REQUIRE_CHANNEL);
+        runTick(controller.getGrid());
+        assertThat(otherDevice.getUsedChannels()).isZero();
+        assertMatchesFullRecompute(controller.getGrid());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 4, 5, 6, 7, 8 })
+    void testRandomChangesMatchFullRecompute(int seed) {
+        var random = new Random(seed);
+        var cables = new ArrayList<GridNode>(List.of(trunk));
+        var devices = new ArrayList<GridNode>();
+
+        for (int step = 0; step < 200; step++) {
+            int changes = 1 + random.nextInt(3);
+            for (int i = 0; i < changes; i++) {
+                applyRandomChange(random, cables, devices);
+            }
+
+            runTick(controller.getGrid());
+            assertMatchesFullRecompute(controller.getGrid());
+        }
+    }
+
+    private void applyRandomChange(Random random, List<GridNode> cables, List<GridNode> devices) {
+        var parent = cables.get(random.nextInt(cables.size()));
+        switch (random.nextInt(5)) {
+            case 0 -> {
+                if (random.nextInt(10) == 0) {
+                    cables.add(attach(parent, GridFlags.PREFERRED, GridFlags.CANNOT_CARRY));
+                } else {
+                    cables.add(attach(parent, GridFlags.PREFERRED));
+                }
+            }
+            case 1 -> {
+                if (devices.size() < MAX_DEVICES) {
+                    devices.add(attach(parent, GridFlags.REQUIRE_CHANNEL));
+                }
+            }
+            case 2 -> {
+                if (!devices.isEmpty()) {
+                    devices.remove(random.nextInt(devices.size())).destroy();
+                }
+            }
+            case 3 -> {
+                // Only remove cables that don't split the grid
+                if (parent != trunk && parent.getConnections().size() == 1) {
+                    cables.remove(parent);
+                    parent.destroy();
+                }
+            }
+            case 4 -> {
+                // Create a loop, which can't be handled incrementally
+                var other = cables.get(random.nextInt(cables.size()));
+                if (other != parent && !parent.hasConnection(other)) {
+                    GridHelper.createConnection(parent, other);
+                }
+            }
+            default -> throw new IllegalStateException();
+        }
+    }
+
+    private GridNode attach(GridNode parent, GridFlags... flags) {
+        var node = makeReadyNode(flags);
+        GridHelper.createConnection(parent, node);
+        return node;
+    }
+
+    private void assertMatchesFullRecompute(IGrid grid) {
+        var incremental = snapshotChannels(grid);
+        var incrementalChannels = grid.getPathingService().getUsedChannels();
+
+        grid.getPathingService().repath();
+        runTick(grid);
+
+        assertThat(snapshotChannels(grid)).isEqualTo(incremental);
+        assertThat(grid.getPathingService().getUsedChannels()).isEqualTo(incrementalChannels);
+    }
+
+    private static Map<Object, Integer> snapshotChannels(IGrid grid) {
+        var result = new HashMap<Object, Integer>();
+        for (var node : grid.getNodes()) {
+            result.put(node, node.getUsedChannels());
+            for (var connection : node.getConnections()) {
+                result.put(connection, connection.getUsedChannels());
+            }
+        }
+        return result;
+    }
+}
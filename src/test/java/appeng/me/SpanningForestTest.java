@@ -0,0 +1,86 @@
+package appeng.me;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import appeng.api.networking.GridHelper;
+
+/**
+ * Randomly connects and disconnects nodes, and checks that the grids match the connected components found by visiting
+ * the nodes.
+ */
+class SpanningForestTest extends AbstractGridNodeTest {
+    private static final int NODES = 30;
+
+    private final List<GridNode> nodes = new ArrayList<>();
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2, 3, 4 })
+    void testGridsMatchConnectedComponents(int seed) {
+        var random = new Random(seed);
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(makeReadyNode());
+        }
+
+        for (int step = 0; step < 1000; step++) {
+            var op = random.nextInt(10);
+            if (op < 5) {
+                connectRandomNodes(random);
+            } else if (op < 9) {
+                disconnectRandomNodes(random);
+            } else {
+                var index = random.nextInt(nodes.size());
+                nodes.get(index).destroy();
+                nodes.set(index, makeReadyNode());
+            }
+            assertGridsMatchComponents();
+        }
+    }
+
+    private void connectRandomNodes(Random random) {
+        var a = nodes.get(random.nextInt(nodes.size()));
+        var b = nodes.get(random.nextInt(nodes.size()));
+        if (a != b && !a.hasConnection(b)) {
+            GridHelper.createConnection(a, b);
+        }
+    }
+
+    private void disconnectRandomNodes(Random random) {
+        var node = nodes.get(random.nextInt(nodes.size()));
+        if (node.hasNoConnections()) {
+            return;
+        }
+        var connection = node.getConnections().get(random.nextInt(node.getConnections().size()));
+        var a = connection.a();
+        var b = connection.b();
+        connection.destroy();
+
+        var splitDetector = new GridSplitDetector(b);
+        a.beginVisit(splitDetector);
+        assertThat(a.getGrid() == b.getGrid())
+                .as("nodes share a grid after disconnecting them")
+                .isEqualTo(splitDetector.isPivotFound());
+    }
+
+    private void assertGridsMatchComponents() {
+        for (var node : nodes) {
+            // Every node can reach its grid's pivot...
+            var grid = node.getInternalGrid();
+            assertThat(grid.getPivot().getGrid()).isSameAs(grid);
+            var splitDetector = new GridSplitDetector(grid.getPivot());
+            node.beginVisit(splitDetector);
+            assertThat(splitDetector.isPivotFound()).as("%s can reach the pivot of its grid", node).isTrue();
+
+            // ...and all connected nodes are in the same grid
+            for (var connection : node.getConnections()) {
+                assertThat(connection.getOtherSide(node).getGrid()).isSameAs(grid);
+            }
+        }
+    }
+}
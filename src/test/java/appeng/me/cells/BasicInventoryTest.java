@@ -13,10 +13,12 @@
 import net.minecraft.world.level.material.Fluids;
 
 import appeng.api.config.Actionable;
+import appeng.api.ids.AEComponents;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.StorageCells;
 import appeng.api.storage.cells.CellState;
 import appeng.core.definitions.AEItems;
@@ -176,6 +178,35 @@ void testVoidUpgradeUnformatted() {
         assertThat(cell.insert(rejected, Long.MAX_VALUE, Actionable.MODULATE, SRC)).isZero();
     }
 
+    @Test
+    void testInsertAllRespectsTypeLimit() {
+        var item = AEItems.ITEM_CELL_1K.get();
+        var stack = new ItemStack(item);
+        var cell = StorageCells.getCellInventory(stack, null);
+        Objects.requireNonNull(cell);
+
+        var maxTypes = item.getTotalTypes(stack);
+        var keys = generateDifferentKeys(maxTypes + 2);
+        var amounts = new KeyCounter();
+        for (var key : keys) {
+            amounts.add(key, 2);
+        }
+
+        cell.insertAll(amounts, Actionable.MODULATE, SRC);
+
+        // The cell was saved to the stack once all keys had been inserted
+        assertThat(stack.get(AEComponents.STORAGE_CELL_INV)).hasSize(maxTypes);
+        assertThat(amounts.size()).isEqualTo(keys.length);
+        assertThat(amounts).filteredOn(entry -> entry.getLongValue() == 0).hasSize(maxTypes);
+        assertThat(amounts).filteredOn(entry -> entry.getLongValue() == 2).hasSize(2);
+
+        var toExtract = new KeyCounter();
+        toExtract.add(keys[0], 5);
+        cell.extractAll(toExtract, Actionable.MODULATE, SRC);
+        assertThat(toExtract.get(keys[0])).isEqualTo(3);
+        assertThat(stack.get(AEComponents.STORAGE_CELL_INV)).hasSize(maxTypes - 1);
+    }
+
     private static AEItemKey[] generateDifferentKeys(int count) {
         var out = new AEItemKey[count];
         for (int i = 0; i < count; ++i) {
@@ -0,0 +1,158 @@
+package appeng.me.energy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.AccessRestriction;
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.energy.IAEPowerStorage;
+
+class PowerStorageBucketsTest {
+    private final PowerStorageBuckets buckets = new PowerStorageBuckets(true, IAEPowerStorage::getAECurrentPower);
+
+    @Test
+    void testIteratesByPriorityThenInsertionOrder() {
+        var low = new TestStorage(-5, 10);
+        var mid1 = new TestStorage(0, 10);
+        var high = new TestStorage(5, 10);
+        var mid2 = new TestStorage(0, 10);
+        buckets.add(low);
+        buckets.add(mid1);
+        buckets.add(high);
+        buckets.add(mid2);
+
+        assertThat(buckets).containsExactly(high, mid1, mid2, low);
+
+        var lowestFirst = new PowerStorageBuckets(false, IAEPowerStorage::getAECurrentPower);
+        lowestFirst.add(mid1);
+        lowestFirst.add(high);
+        lowestFirst.add(low);
+        assertThat(lowestFirst).containsExactly(low, mid1, high);
+    }
+
+    @Test
+    void testTotalsFollowUpdates() {
+        var a = new TestStorage(0, 10);
+        var b = new TestStorage(1, 20);
+        buckets.add(a);
+        buckets.add(b);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(30);
+
+        a.stored = 4;
+        // Not visible until updated
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(30);
+        buckets.update(a);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(24);
+
+        b.stored = 0;
+        buckets.refresh();
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(4);
+
+        buckets.remove(a);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(0);
+    }
+
+    @Test
+    void testSumStopsAtTheFirstBucketsThatSatisfyTheAmount() {
+        buckets.add(new TestStorage(2, 10));
+        buckets.add(new TestStorage(1, 10));
+        buckets.add(new TestStorage(0, 10));
+
+        assertThat(buckets.sumUpTo(5)).isEqualTo(10);
+        assertThat(buckets.sumUpTo(15)).isEqualTo(20);
+        assertThat(buckets.sumUpTo(100)).isEqualTo(30);
+    }
+
+    @Test
+    void testRemoveWhileIterating() {
+        var storages = new ArrayList<TestStorage>();
+        for (int i = 0; i < 10; i++) {
+            var storage = new TestStorage(i % 3, 1);
+            storages.add(storage);
+            buckets.add(storage);
+        }
+
+        var it = buckets.iterator();
+        while (it.hasNext()) {
+            var storage = it.next();
+            if (storage.getPriority() != 1) {
+                it.remove();
+            }
+        }
+
+        assertThat(buckets.size()).isEqualTo(3);
+        assertThat(buckets).allMatch(s -> s.getPriority() == 1);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(3);
+        for (var storage : storages) {
+            assertThat(buckets.contains(storage)).isEqualTo(storage.getPriority() == 1);
+        }
+
+        // Emptied buckets can be used again
+        var readded = storages.getFirst();
+        assertThat(buckets.add(readded)).isTrue();
+        assertThat(buckets).containsExactlyElementsOf(
+                List.of(storages.get(1), storages.get(4), storages.get(7), readded));
+    }
+
+    @Test
+    void testInfiniteAmounts() {
+        var infinite = new TestStorage(0, Double.POSITIVE_INFINITY);
+        var finite = new TestStorage(0, 10);
+        buckets.add(infinite);
+        buckets.add(finite);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isInfinite();
+
+        buckets.remove(infinite);
+        assertThat(buckets.sumUpTo(Double.MAX_VALUE)).isEqualTo(10);
+    }
+
+    private static class TestStorage implements IAEPowerStorage {
+        private final int priority;
+        private double stored;
+
+        TestStorage(int priority, double stored) {
+            this.priority = priority;
+            this.stored = stored;
+        }
+
+        @Override
+        public double injectAEPower(double amt, Actionable mode) {
+            return amt;
+        }
+
+        @Override
+        public double getAEMaxPower() {
+            return stored;
+        }
+
+        @Override
+        public double getAECurrentPower() {
+            return stored;
+        }
+
+        @Override
+        public boolean isAEPublicPowerStorage() {
+            return true;
+        }
+
+        @Override
+        public AccessRestriction getPowerFlow() {
+            return AccessRestriction.READ_WRITE;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public double extractAEPower(double amt, Actionable mode, PowerMultiplier usePowerMultiplier) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.HashMultimap;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.stacks.AEItemKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class InterestManagerTest {
+    private static final AEItemKey SWORD = AEItemKey.of(Items.DIAMOND_SWORD);
+    private static final AEItemKey DIAMOND = AEItemKey.of(Items.DIAMOND);
+
+    private final InterestManager<String> interestManager = new InterestManager<>(HashMultimap.create());
+
+    @Test
+    void testFuzzyInterestsOnlyMatchTheirRange() {
+        var damagedSword = damagedSword();
+        interestManager.putFuzzy(SWORD, FuzzyMode.PERCENT_99, "undamaged");
+        interestManager.putFuzzy(SWORD, FuzzyMode.IGNORE_ALL, "any");
+
+        assertThat(interestManager.getFuzzy(SWORD)).containsExactlyInAnyOrder("undamaged", "any");
+        assertThat(interestManager.getFuzzy(damagedSword)).containsExactly("any");
+        assertThat(interestManager.getFuzzy(DIAMOND)).isEmpty();
+    }
+
+    @Test
+    void testWatchersAreReturnedOnce() {
+        interestManager.putFuzzy(SWORD, FuzzyMode.PERCENT_99, "watcher");
+        interestManager.putFuzzy(SWORD, FuzzyMode.IGNORE_ALL, "watcher");
+        assertThat(interestManager.putFuzzy(SWORD, FuzzyMode.IGNORE_ALL, "watcher")).isFalse();
+
+        assertThat(interestManager.getFuzzy(SWORD)).containsExactly("watcher");
+    }
+
+    @Test
+    void testRemoveFuzzyInterest() {
+        interestManager.putFuzzy(SWORD, FuzzyMode.IGNORE_ALL, "watcher");
+        assertThat(interestManager.isEmpty()).isFalse();
+
+        assertThat(interestManager.removeFuzzy(SWORD, FuzzyMode.PERCENT_99, "watcher")).isFalse();
+        assertThat(interestManager.removeFuzzy(SWORD, FuzzyMode.IGNORE_ALL, "watcher")).isTrue();
+        assertThat(interestManager.getFuzzy(SWORD)).isEmpty();
+        assertThat(interestManager.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testStackWatcherResetRemovesFuzzyInterests() {
+        var manager = new InterestManager<StackWatcher<String>>(HashMultimap.create());
+        var watcher = new StackWatcher<>(manager, "host");
+        watcher.addFuzzy(SWORD, FuzzyMode.IGNORE_ALL);
+        assertThat(manager.getFuzzy(damagedSword())).containsExactly(watcher);
+
+        watcher.reset();
+        assertThat(manager.getFuzzy(damagedSword())).isEmpty();
+        assertThat(manager.isEmpty()).isTrue();
+    }
+
+    private static AEItemKey damagedSword() {
+        var stack = new ItemStack(Items.DIAMOND_SWORD);
+        stack.setDamageValue(stack.getMaxDamage());
+        return AEItemKey.of(stack);
+    }
+}
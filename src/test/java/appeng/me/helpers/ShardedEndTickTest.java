@@ -0,0 +1,111 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.ReportedException;
+
+import appeng.me.Grid;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ShardedEndTickTest {
+    private final ShardedEndTick shardedTick = new ShardedEndTick();
+
+    @Test
+    void testResultsAreAppliedInOrderAfterAllComputations() {
+        var computed = new AtomicInteger();
+        var applied = new ArrayList<Integer>();
+        for (int i = 0; i < 20; i++) {
+            var grid = mockGrid(i);
+            var index = i;
+            shardedTick.defer(grid, computed::incrementAndGet, () -> {
+                assertThat(computed.get()).isEqualTo(20);
+                applied.add(index);
+            });
+        }
+
+        shardedTick.run();
+
+        assertThat(applied).hasSize(20).isSorted();
+    }
+
+    @Test
+    void testComputationsOfTheSameGridRunInOrder() {
+        var grid = mockGrid(10);
+        List<Integer> computed = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            var index = i;
+            shardedTick.defer(grid, () -> computed.add(index), () -> {
+            });
+            shardedTick.defer(mockGrid(i), () -> {
+            }, () -> {
+            });
+        }
+
+        shardedTick.run();
+
+        assertThat(computed).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void testFailedComputationCrashesOnServerThread() {
+        var applied = new AtomicInteger();
+        shardedTick.defer(mockGrid(1), () -> {
+            throw new IllegalStateException();
+        }, applied::incrementAndGet);
+        shardedTick.defer(mockGrid(2), () -> {
+        }, applied::incrementAndGet);
+
+        assertThatThrownBy(shardedTick::run).isInstanceOf(ReportedException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(applied).hasValue(0);
+    }
+
+    @Test
+    void testJobsThatAreNoLongerCurrentAreDropped() {
+        var computed = new AtomicInteger();
+        var applied = new AtomicInteger();
+        shardedTick.defer(mockGrid(1), () -> false, computed::incrementAndGet, applied::incrementAndGet);
+
+        shardedTick.run();
+
+        assertThat(computed).hasValue(0);
+        assertThat(applied).hasValue(0);
+    }
+
+    @Test
+    void testResultsMadeStaleByEarlierResultsAreNotApplied() {
+        var current = new AtomicBoolean(true);
+        var applied = new ArrayList<Integer>();
+        // Applying the first result changes the nodes of the second grid
+        shardedTick.defer(mockGrid(1), () -> {
+        }, () -> {
+            applied.add(1);
+            current.set(false);
+        });
+        var computed = new AtomicInteger();
+        shardedTick.defer(mockGrid(2), current::get, computed::incrementAndGet, () -> applied.add(2));
+
+        shardedTick.run();
+
+        assertThat(computed).hasValue(1);
+        assertThat(applied).containsExactly(1);
+    }
+
+    private static Grid mockGrid(int size) {
+        var grid = mock(Grid.class);
+        when(grid.size()).thenReturn(size);
+        return grid;
+    }
+}
@@ -0,0 +1,144 @@
+package appeng.me.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Compares the per-tick cost of keeping open terminals up to date by comparing the entire network inventory, as
+ * terminals did before, with following the change feed of the storage service. Prints the time spent per terminal and
+ * tick for growing key and terminal counts. Remove {@link Disabled} to run it.
+ */
+@BootstrapMinecraft
+@Disabled("Benchmark, run manually")
+class ChangeFeedBenchmark {
+    private static final int[] KEY_COUNTS = { 1_000, 10_000, 40_000 };
+    private static final int[] TERMINAL_COUNTS = { 1, 10, 30 };
+    private static final int CHANGES_PER_TICK = 20;
+    private static final int WARMUP_TICKS = 20;
+    private static final int MEASURED_TICKS = 100;
+
+    @Test
+    void benchmark() {
+        System.out.printf("%8s %10s %16s %16s%n", "keys", "terminals", "diff ns/term/t", "feed ns/term/t");
+        for (var keyCount : KEY_COUNTS) {
+            var keys = createKeys(keyCount);
+            for (var terminalCount : TERMINAL_COUNTS) {
+                var diff = measure(keys, terminalCount, false);
+                var feed = measure(keys, terminalCount, true);
+                System.out.printf("%8d %10d %16d %16d%n", keyCount, terminalCount, diff, feed);
+            }
+        }
+    }
+
+    /**
+     * @return The average time in nanoseconds that one terminal spends per tick to find the changed keys and their
+     *         amounts.
+     */
+    private static long measure(List<AEKey> keys, int terminalCount, boolean useChangeFeed) {
+        var stored = new KeyCounter();
+        for (var key : keys) {
+            stored.add(key, 1);
+        }
+        var service = new StorageService();
+        service.addGlobalStorageProvider(mounts -> mounts.mount(new MEStorage() {
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.addAll(stored);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        }));
+
+        var terminals = new ArrayList<Terminal>();
+        for (int i = 0; i < terminalCount; i++) {
+            terminals.add(new Terminal(service, useChangeFeed));
+        }
+
+        long elapsed = 0;
+        for (int tick = 0; tick < WARMUP_TICKS + MEASURED_TICKS; tick++) {
+            for (int i = 0; i < CHANGES_PER_TICK; i++) {
+                stored.add(keys.get((tick * CHANGES_PER_TICK + i) % keys.size()), 1);
+            }
+            service.getCachedInventory();
+            service.onServerEndTick();
+
+            var start = System.nanoTime();
+            for (var terminal : terminals) {
+                terminal.update();
+            }
+            if (tick >= WARMUP_TICKS) {
+                elapsed += System.nanoTime() - start;
+            }
+        }
+        return elapsed / ((long) MEASURED_TICKS * terminalCount);
+    }
+
+    private static List<AEKey> createKeys(int count) {
+        var keys = new ArrayList<AEKey>(count);
+        for (int i = 0; i < count; i++) {
+            var stack = new ItemStack(Items.STONE);
+            stack.set(DataComponents.CUSTOM_NAME, Component.literal("Stone " + i));
+            keys.add(AEItemKey.of(stack));
+        }
+        return keys;
+    }
+
+    /**
+     * Finds the keys that changed since the last update, like {@code MEStorageMenu} does.
+     */
+    private static class Terminal {
+        private final StorageService service;
+        private final boolean useChangeFeed;
+        private final HashSet<AEKey> changes = new HashSet<>();
+        private KeyCounter previousAvailableStacks = new KeyCounter();
+        private long changeFeedPosition;
+        @SuppressWarnings("unused")
+        private long amounts;
+
+        private Terminal(StorageService service, boolean useChangeFeed) {
+            this.service = service;
+            this.useChangeFeed = useChangeFeed;
+            this.changeFeedPosition = service.getChangeFeedPosition();
+        }
+
+        void update() {
+            changes.clear();
+            KeyCounter availableStacks;
+            if (useChangeFeed) {
+                availableStacks = service.getCachedInventory();
+                if (!service.getChangesSince(changeFeedPosition, changes::add)) {
+                    availableStacks.keySet().forEach(changes::add);
+                }
+                changeFeedPosition = service.getChangeFeedPosition();
+            } else {
+                availableStacks = service.getInventory().getAvailableStacks();
+                previousAvailableStacks.removeAll(availableStacks);
+                previousAvailableStacks.removeZeros();
+                changes.addAll(previousAvailableStacks.keySet());
+                previousAvailableStacks = availableStacks;
+            }
+            // Read the amounts that would be sent to the client
+            for (var what : changes) {
+                amounts += availableStacks.get(what);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.energy.IEnergyService;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.GenericStack;
+import appeng.api.stacks.KeyCounter;
+import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.crafting.CraftingPlan;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Checks that items inserted into the crafting CPUs are routed by the index of the keys each CPU is waiting for.
+ */
+@BootstrapMinecraft
+class CraftingServiceTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+    private static final AEItemKey COBBLESTONE = AEItemKey.of(Items.COBBLESTONE);
+    private static final AEItemKey DIAMOND = AEItemKey.of(Items.DIAMOND);
+
+    private final IGrid grid = mock(IGrid.class);
+    private final CraftingService craftingService = new CraftingService(grid, mock(IStorageService.class),
+            mock(IEnergyService.class));
+    private final Set<CraftingBlockEntity> machines = new HashSet<>();
+
+    @BeforeEach
+    void setupGrid() {
+        when(grid.getCraftingService()).thenReturn(craftingService);
+        when(grid.getStorageService()).thenReturn(mock(IStorageService.class));
+        when(grid.getMachines(CraftingBlockEntity.class)).thenAnswer(invocation -> Set.copyOf(machines));
+    }
+
+    @Test
+    void testSubmittedJobIsIndexed() {
+        var cpu = addCpu();
+        updateCpuList();
+
+        submitJob(cpu, STONE, 10);
+
+        assertThat(craftingService.insertIntoCpus(STONE, 3, Actionable.MODULATE)).isEqualTo(3);
+        assertThat(cpu.craftingLogic.getStored(STONE)).isEqualTo(3);
+        assertThat(cpu.craftingLogic.getWaitingFor(STONE)).isEqualTo(7);
+    }
+
+    @Test
+    void testPartialInsertKeepsIndexEntry() {
+        var cpu = addCpu();
+        updateCpuList();
+        submitJob(cpu, STONE, 10);
+
+        assertThat(craftingService.insertIntoCpus(STONE, 4, Actionable.MODULATE)).isEqualTo(4);
+        // Only what is still being waited for is accepted
+        assertThat(craftingService.insertIntoCpus(STONE, 10, Actionable.MODULATE)).isEqualTo(6);
+        assertThat(craftingService.insertIntoCpus(STONE, 10, Actionable.MODULATE)).isZero();
+        assertThat(cpu.craftingLogic.getStored(STONE)).isEqualTo(10);
+    }
+
+    @Test
+    void testFinishedJobIsRemovedFromIndex() {
+        var cpu = addCpu();
+        updateCpuList();
+        submitJob(cpu, STONE, 10);
+
+        // Inserting the final output finishes the job
+        craftingService.insertIntoCpus(DIAMOND, 1, Actionable.MODULATE);
+        assertThat(cpu.craftingLogic.hasJob()).isFalse();
+
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isZero();
+        assertThat(craftingService.insertIntoCpus(DIAMOND, 1, Actionable.MODULATE)).isZero();
+    }
+
+    @Test
+    void testCancelledJobIsRemovedFromIndex() {
+        var cpu = addCpu();
+        updateCpuList();
+        submitJob(cpu, STONE, 10);
+
+        cpu.craftingLogic.cancel();
+
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isZero();
+        assertThat(cpu.craftingLogic.getStored(STONE)).isZero();
+    }
+
+    @Test
+    void testIndexIsRebuiltWithCpuList() {
+        // The job starts before the service knows about the CPU
+        var cpu = addCpu();
+        submitJob(cpu, STONE, 10);
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isZero();
+
+        updateCpuList();
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isEqualTo(5);
+
+        // The CPU leaves the grid
+        machines.clear();
+        updateCpuList();
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isZero();
+        assertThat(cpu.craftingLogic.getStored(STONE)).isEqualTo(5);
+    }
+
+    @Test
+    void testKeysNobodyWaitsForAreNotInserted() {
+        var stoneCpu = addCpu();
+        var otherCpu = addCpu();
+        updateCpuList();
+        submitJob(stoneCpu, STONE, 10);
+        submitJob(otherCpu, COBBLESTONE, 10);
+
+        assertThat(craftingService.insertIntoCpus(DIRT, 5, Actionable.MODULATE)).isZero();
+        assertThat(craftingService.insertIntoCpus(STONE, 5, Actionable.MODULATE)).isEqualTo(5);
+
+        assertThat(stoneCpu.craftingLogic.getStored(DIRT)).isZero();
+        assertThat(otherCpu.craftingLogic.getStored(DIRT)).isZero();
+        assertThat(otherCpu.craftingLogic.getStored(STONE)).isZero();
+    }
+
+    private CraftingCPUCluster addCpu() {
+        // The crafting logic of the cluster is created by its constructor and calls back into the cluster
+        var cluster = mock(CraftingCPUCluster.class, withSettings()
+                .useConstructor(BlockPos.ZERO, BlockPos.ZERO)
+                .defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(grid).when(cluster).getGrid();
+        doReturn(true).when(cluster).isActive();
+        doReturn(Long.MAX_VALUE).when(cluster).getAvailableStorage();
+        doReturn(null).when(cluster).getLevel();
+        doNothing().when(cluster).markDirty();
+        doNothing().when(cluster).updateOutput(any());
+
+        var blockEntity = mock(CraftingBlockEntity.class);
+        when(blockEntity.getCluster()).thenReturn(cluster);
+        machines.add(blockEntity);
+        return cluster;
+    }
+
+    /**
+     * Makes the service refresh its list of CPUs, as it does when a crafting block joins or leaves the grid.
+     */
+    private void updateCpuList() {
+        var node = mock(IGridNode.class);
+        when(node.getOwner()).thenReturn(mock(CraftingBlockEntity.class));
+        craftingService.addNode(node, null);
+        craftingService.onServerEndTick();
+    }
+
+    /**
+     * Submits a job for one diamond that waits for the given emitted item, and for the diamond itself.
+     */
+    private void submitJob(CraftingCPUCluster cpu, AEItemKey waitingFor, long amount) {
+        var emittedItems = new KeyCounter();
+        emittedItems.add(waitingFor, amount);
+        emittedItems.add(DIAMOND, 1);
+        var plan = new CraftingPlan(new GenericStack(DIAMOND, 1), 0, false, false, new KeyCounter(), emittedItems,
+                new KeyCounter(), Map.of());
+
+        var result = cpu.submitJob(grid, plan, IActionSource.empty(), null);
+        assertThat(result.successful()).isTrue();
+    }
+}
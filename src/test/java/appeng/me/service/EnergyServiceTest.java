@@ -9,7 +9,11 @@
 
 import net.minecraft.nbt.CompoundTag;
 
+import appeng.api.config.AccessRestriction;
 import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.energy.IAEPowerStorage;
+import appeng.api.networking.events.GridPowerStorageStateChanged;
 import appeng.me.AbstractGridNodeTest;
 import appeng.me.GridConnection;
 import appeng.me.ManagedGridNode;
@@ -89,6 +93,60 @@ void testStoredEnergyIsRemovedOnNbtReload() {
         assertThat(energyService.getStoredPower()).isCloseTo(40, TOLERANCE);
     }
 
+    @Test
+    void testSimulatedExtractionFollowsStoredPower() {
+        var mgn = createAndInitNode();
+        var energyService = mgn.getGrid().getEnergyService();
+        energyService.injectPower(20, Actionable.MODULATE);
+
+        assertThat(energyService.extractAEPower(30, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(20, TOLERANCE);
+        assertThat(energyService.extractAEPower(15, Actionable.MODULATE, PowerMultiplier.ONE))
+                .isCloseTo(15, TOLERANCE);
+        assertThat(energyService.extractAEPower(10, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(5, TOLERANCE);
+        assertThat(energyService.injectPower(30, Actionable.SIMULATE)).isCloseTo(10, TOLERANCE);
+    }
+
+    @Test
+    void testSimulatedExtractionSeesStorageDrainedOutsideGrid() {
+        var storage = new TestPowerStorage(100);
+        var node = makeNode();
+        node.addService(IAEPowerStorage.class, storage);
+        var grid = node.getInternalGrid();
+        var energyService = grid.getEnergyService();
+        assertThat(energyService.extractAEPower(100, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(100, TOLERANCE);
+
+        // Drained without going through the grid, noticed in the next tick
+        storage.stored = 40;
+        ((EnergyService) energyService).onServerStartTick();
+        assertThat(energyService.extractAEPower(100, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(40, TOLERANCE);
+
+        // Drained again, but reported through a state change event
+        storage.stored = 10;
+        grid.postEvent(new GridPowerStorageStateChanged(storage,
+                GridPowerStorageStateChanged.PowerEventType.RECEIVE_POWER));
+        assertThat(energyService.extractAEPower(100, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(10, TOLERANCE);
+    }
+
+    @Test
+    void testSimulatedExtractionAsksTheStorages() {
+        var storage = new TestPowerStorage(100);
+        var node = makeNode();
+        node.addService(IAEPowerStorage.class, storage);
+        var energyService = node.getInternalGrid().getEnergyService();
+        assertThat(energyService.extractAEPower(100, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(100, TOLERANCE);
+
+        // Drained without going through the grid or posting an event, in the same tick
+        storage.stored = 40;
+        assertThat(energyService.extractAEPower(100, Actionable.SIMULATE, PowerMultiplier.ONE))
+                .isCloseTo(40, TOLERANCE);
+    }
+
     @NotNull
     private ManagedGridNode createAndInitNode() {
         return createAndInitNode(null);
@@ -104,4 +162,51 @@ private ManagedGridNode createAndInitNode(@Nullable CompoundTag tag) {
         return mgn;
     }
 
+    private static class TestPowerStorage implements IAEPowerStorage {
+        private final double maxPower;
+        private double stored;
+
+        private TestPowerStorage(double stored) {
+            this.maxPower = stored;
+            this.stored = stored;
+        }
+
+        @Override
+        public double injectAEPower(double amt, Actionable mode) {
+            var inserted = Math.min(amt, maxPower - stored);
+            if (mode == Actionable.MODULATE) {
+                stored += inserted;
+            }
+            return amt - inserted;
+        }
+
+        @Override
+        public double getAEMaxPower() {
+            return maxPower;
+        }
+
+        @Override
+        public double getAECurrentPower() {
+            return stored;
+        }
+
+        @Override
+        public boolean isAEPublicPowerStorage() {
+            return true;
+        }
+
+        @Override
+        public AccessRestriction getPowerFlow() {
+            return AccessRestriction.READ_WRITE;
+        }
+
+        @Override
+        public double extractAEPower(double amt, Actionable mode, PowerMultiplier usePowerMultiplier) {
+            var extracted = Math.min(amt, stored);
+            if (mode == Actionable.MODULATE) {
+                stored -= extracted;
+            }
+            return extracted;
+        }
+    }
 }
@@ -0,0 +1,329 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.material.Fluids;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEFluidKey;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IStorageProvider;
+import appeng.api.storage.MEStorage;
+import appeng.me.storage.IChangeReportingStorage;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class StorageServiceTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+    private static final AEFluidKey WATER = AEFluidKey.of(Fluids.WATER);
+
+    private final StorageService service = new StorageService();
+    private final KeyCounter stored = new KeyCounter();
+
+    StorageServiceTest() {
+        MEStorage storage = new MEStorage() {
+            @Override
+            public void getAvailableStacks(KeyCounter out) {
+                out.addAll(stored);
+            }
+
+            @Override
+            public Component getDescription() {
+                return Component.empty();
+            }
+        };
+        service.addGlobalStorageProvider(mounts -> mounts.mount(storage));
+    }
+
+    @Test
+    void testTotalsAreCountedWhenTheCacheIsBuilt() {
+        stored.add(STONE, 10);
+        stored.add(DIRT, 5);
+        stored.add(WATER, 1000);
+
+        assertThat(service.getCachedTotalAmount()).isEqualTo(1015);
+        assertThat(service.getCachedKeyCount()).isEqualTo(3);
+        assertThat(service.getCachedTotalAmount(AEKeyType.items())).isEqualTo(15);
+        assertThat(service.getCachedKeyCount(AEKeyType.items())).isEqualTo(2);
+        assertThat(service.getCachedTotalAmount(AEKeyType.fluids())).isEqualTo(1000);
+        assertThat(service.getCachedKeyCount(AEKeyType.fluids())).isEqualTo(1);
+    }
+
+    @Test
+    void testTotalsFollowIncrementalChanges() {
+        stored.add(STONE, 10);
+        stored.add(WATER, 1000);
+        assertThat(service.getCachedTotalAmount()).isEqualTo(1010);
+
+        stored.add(STONE, 5);
+        stored.add(DIRT, 2);
+        stored.remove(WATER);
+        service.onServerEndTick();
+
+        assertThat(service.getCachedTotalAmount()).isEqualTo(17);
+        assertThat(service.getCachedKeyCount()).isEqualTo(2);
+        assertThat(service.getCachedTotalAmount(AEKeyType.items())).isEqualTo(17);
+        assertThat(service.getCachedTotalAmount(AEKeyType.fluids())).isZero();
+        assertThat(service.getCachedKeyCount(AEKeyType.fluids())).isZero();
+    }
+
+    @Test
+    void testTotalAmountSaturatesAndRecovers() {
+        stored.add(STONE, Long.MAX_VALUE);
+        stored.add(DIRT, Long.MAX_VALUE);
+        assertThat(service.getCachedTotalAmount()).isEqualTo(Long.MAX_VALUE);
+
+        stored.set(DIRT, 1);
+        service.onServerEndTick();
+        assertThat(service.getCachedTotalAmount()).isEqualTo(Long.MAX_VALUE);
+
+        stored.set(STONE, 41);
+        service.onServerEndTick();
+        assertThat(service.getCachedTotalAmount()).isEqualTo(42);
+    }
+
+    @Test
+    void testChangeFeedReportsChangedKeys() {
+        var position = service.getChangeFeedPosition();
+
+        stored.add(STONE, 10);
+        stored.add(DIRT, 5);
+        tick();
+        assertThat(changesSince(position)).containsExactlyInAnyOrder(STONE, DIRT);
+
+        position = service.getChangeFeedPosition();
+        stored.add(DIRT, 5);
+        tick();
+        assertThat(changesSince(position)).containsExactly(DIRT);
+        assertThat(changesSince(service.getChangeFeedPosition())).isEmpty();
+    }
+
+    @Test
+    void testChangeFeedPositionOnlyMovesOnChanges() {
+        var position = service.getChangeFeedPosition();
+        tick();
+        assertThat(service.getChangeFeedPosition()).isEqualTo(position);
+
+        stored.add(STONE, 10);
+        tick();
+        var afterInsert = service.getChangeFeedPosition();
+        assertThat(afterInsert).isGreaterThan(position);
+
+        stored.remove(STONE);
+        tick();
+        assertThat(service.getChangeFeedPosition()).isGreaterThan(afterInsert);
+    }
+
+    @Test
+    void testChangesBeforeFeedWasReadAreUnavailable() {
+        stored.add(STONE, 10);
+        service.getCachedInventory();
+
+        assertThat(service.getChangesSince(0, what -> {
+        })).isFalse();
+        assertThat(changesSince(service.getChangeFeedPosition())).isEmpty();
+    }
+
+    @Test
+    void testFuturePositionIsUnavailable() {
+        var consumer = new ArrayList<AEKey>();
+        assertThat(service.getChangesSince(service.getChangeFeedPosition() + 1, consumer::add)).isFalse();
+        assertThat(consumer).isEmpty();
+    }
+
+    @Test
+    void testOverflowedPositionIsUnavailable() {
+        var position = service.getChangeFeedPosition();
+        for (int i = 1; i <= StorageService.CHANGE_FEED_CAPACITY; i++) {
+            stored.set(STONE, i);
+            tick();
+        }
+        assertThat(changesSince(position)).hasSize(StorageService.CHANGE_FEED_CAPACITY);
+
+        // One more change overwrites the oldest one
+        stored.add(DIRT, 1);
+        tick();
+        var consumer = new ArrayList<AEKey>();
+        assertThat(service.getChangesSince(position, consumer::add)).isFalse();
+        assertThat(consumer).isEmpty();
+        assertThat(changesSince(position + 1)).hasSize(StorageService.CHANGE_FEED_CAPACITY);
+    }
+
+    @Test
+    void testChangesAreReportedAcrossWraparound() {
+        assertThat(service.getChangeFeedPosition()).isZero();
+        for (int i = 1; i < StorageService.CHANGE_FEED_CAPACITY; i++) {
+            stored.set(STONE, i);
+            tick();
+        }
+
+        var position = service.getChangeFeedPosition();
+        stored.add(DIRT, 1);
+        tick();
+        stored.add(WATER, 1000);
+        tick();
+        assertThat(changesSince(position)).containsExactly(DIRT, WATER);
+    }
+
+    @Test
+    void testIncrementalUpdateMatchesRebuildAfterInsertsAndExtracts() {
+        var cell = new ReportingStorage();
+        cell.stored.add(STONE, 100);
+        service.addGlobalStorageProvider(mounts -> mounts.mount(cell));
+        stored.add(WATER, 1000);
+        tick();
+
+        var inventory = service.getInventory();
+        var source = IActionSource.empty();
+        inventory.insert(DIRT, 20, Actionable.MODULATE, source);
+        inventory.extract(STONE, 30, Actionable.MODULATE, source);
+        inventory.extract(STONE, 70, Actionable.MODULATE, source);
+        inventory.insert(STONE, 5, Actionable.MODULATE, source);
+        inventory.extract(DIRT, 5, Actionable.MODULATE, source);
+        stored.add(WATER, 500);
+        tick();
+
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(Map.of(STONE, 5L, DIRT, 15L, WATER, 1500L));
+        assertCacheMatchesRebuild();
+    }
+
+    @Test
+    void testIncrementalUpdateMatchesRebuildAfterMountAndUnmount() {
+        stored.add(STONE, 10);
+        tick();
+
+        var cell = new ReportingStorage();
+        cell.stored.add(DIRT, 7);
+        cell.stored.add(STONE, 3);
+        IStorageProvider provider = mounts -> mounts.mount(cell);
+        service.addGlobalStorageProvider(provider);
+        tick();
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(Map.of(STONE, 13L, DIRT, 7L));
+        assertCacheMatchesRebuild();
+
+        service.getInventory().insert(DIRT, 3, Actionable.MODULATE, IActionSource.empty());
+        service.removeGlobalStorageProvider(provider);
+        tick();
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(Map.of(STONE, 10L));
+        assertCacheMatchesRebuild();
+    }
+
+    @Test
+    void testChangesWhileCacheIsUnusedAreNotLost() {
+        var cell = new ReportingStorage();
+        service.addGlobalStorageProvider(mounts -> mounts.mount(cell));
+        tick();
+
+        // Nobody reads the cache during this tick, so changes stop being recorded
+        service.onServerEndTick();
+        service.getInventory().insert(STONE, 4, Actionable.MODULATE, IActionSource.empty());
+        service.onServerEndTick();
+
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(Map.of(STONE, 4L));
+        service.getInventory().insert(STONE, 4, Actionable.MODULATE, IActionSource.empty());
+        tick();
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(Map.of(STONE, 8L));
+        assertCacheMatchesRebuild();
+    }
+
+    private void assertCacheMatchesRebuild() {
+        var incremental = toMap(service.getCachedInventory());
+        var totalAmount = service.getCachedTotalAmount();
+        var keyCount = service.getCachedKeyCount();
+
+        service.invalidateCache();
+        assertThat(toMap(service.getCachedInventory())).isEqualTo(incremental);
+        assertThat(service.getCachedTotalAmount()).isEqualTo(totalAmount);
+        assertThat(service.getCachedKeyCount()).isEqualTo(keyCount);
+    }
+
+    private static Map<AEKey, Long> toMap(KeyCounter counter) {
+        var result = new HashMap<AEKey, Long>();
+        for (var entry : counter) {
+            if (entry.getLongValue() != 0) {
+                result.put(entry.getKey(), entry.getLongValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ticks the service the way it is ticked while a terminal reads the cached inventory.
+     */
+    private void tick() {
+        service.getCachedInventory();
+        service.onServerEndTick();
+    }
+
+    private List<AEKey> changesSince(long position) {
+        var changes = new ArrayList<AEKey>();
+        assertThat(service.getChangesSince(position, changes::add)).isTrue();
+        return changes;
+    }
+
+    /**
+     * A storage that reports its changes, like a storage cell.
+     */
+    private static class ReportingStorage implements IChangeReportingStorage {
+        private final KeyCounter stored = new KeyCounter();
+        private final List<Listener> listeners = new ArrayList<>();
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (mode == Actionable.MODULATE) {
+                stored.add(what, amount);
+                listeners.forEach(listener -> listener.onStackChanged(what, amount));
+            }
+            return amount;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, stored.get(what));
+            if (mode == Actionable.MODULATE && extracted > 0) {
+                stored.remove(what, extracted);
+                listeners.forEach(listener -> listener.onStackChanged(what, -extracted));
+            }
+            return extracted;
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            for (var entry : stored) {
+                if (entry.getLongValue() > 0) {
+                    out.add(entry.getKey(), entry.getLongValue());
+                }
+            }
+        }
+
+        @Override
+        public boolean addChangeListener(Listener listener) {
+            listeners.add(listener);
+            return true;
+        }
+
+        @Override
+        public void removeChangeListener(Listener listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.empty();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class TimingWheelTickQueueTest {
+    @Test
+    void testTrackerIsDueAtItsNextTick() {
+        var queue = new TimingWheelTickQueue(0);
+        var tracker = makeTracker(5, 0);
+        queue.add(tracker);
+
+        for (int tick = 0; tick < 5; tick++) {
+            assertThat(queue.pollDue(tick)).isNull();
+        }
+        assertThat(queue.pollDue(5)).isSameAs(tracker);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testTrackersBeyondOneRevolution() {
+        var queue = new TimingWheelTickQueue(0);
+        var tracker = makeTracker(1000, 0);
+        queue.add(tracker);
+
+        for (int tick = 0; tick < 1000; tick++) {
+            assertThat(queue.pollDue(tick)).isNull();
+        }
+        assertThat(queue.pollDue(1000)).isSameAs(tracker);
+    }
+
+    @Test
+    void testSkippedTicksAreCaughtUp() {
+        var queue = new TimingWheelTickQueue(0);
+        var early = makeTracker(3, 0);
+        var late = makeTracker(700, 0);
+        queue.add(early);
+        queue.add(late);
+
+        assertThat(queue.pollDue(2000)).isSameAs(early);
+        assertThat(queue.pollDue(2000)).isSameAs(late);
+        assertThat(queue.pollDue(2000)).isNull();
+    }
+
+    @Test
+    void testRemove() {
+        var queue = new TimingWheelTickQueue(0);
+        var tracker = makeTracker(2, 0);
+        queue.add(tracker);
+        assertThat(queue.contains(tracker)).isTrue();
+
+        queue.remove(tracker);
+        assertThat(queue.contains(tracker)).isFalse();
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.pollDue(10)).isNull();
+    }
+
+    /**
+     * Both queues must tick the same trackers in every tick, even if the order within a tick may differ.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 4 })
+    void testSameTrackersAreDueAsPriorityQueue(int seed) {
+        var random = new Random(seed);
+        var wheel = new TimingWheelTickQueue(0);
+        var priorityQueue = new PriorityTickQueue();
+        var wheelTrackers = new ArrayList<TickTracker>();
+        var priorityTrackers = new ArrayList<TickTracker>();
+
+        for (int i = 0; i < 200; i++) {
+            var minRate = 1 + random.nextInt(20);
+            var maxRate = minRate + random.nextInt(400);
+            wheelTrackers.add(makeTracker(minRate, maxRate, 0));
+            priorityTrackers.add(makeTracker(minRate, maxRate, 0));
+            wheel.add(wheelTrackers.get(i));
+            priorityQueue.add(priorityTrackers.get(i));
+        }
+
+        for (long tick = 1; tick < 3000; tick++) {
+            // Alert some trackers, like TickManagerService#alertDevice
+            for (int i = 0; i < 5; i++) {
+                var idx = random.nextInt(wheelTrackers.size());
+                alert(wheel, wheelTrackers.get(idx));
+                alert(priorityQueue, priorityTrackers.get(idx));
+            }
+
+            var rates = new int[wheelTrackers.size()];
+            for (int i = 0; i < rates.length; i++) {
+                rates[i] = random.nextInt(500);
+            }
+
+            assertThat(tickAll(wheel, wheelTrackers, tick, rates))
+                    .isEqualTo(tickAll(priorityQueue, priorityTrackers, tick, rates));
+        }
+    }
+
+    private static void alert(TickQueue queue, TickTracker tracker) {
+        queue.remove(tracker);
+        tracker.setTickOnNextTick();
+        queue.add(tracker);
+    }
+
+    private static Set<Integer> tickAll(TickQueue queue, List<TickTracker> trackers, long tick, int[] rates) {
+        var ticked = new HashSet<Integer>();
+        TickTracker tracker;
+        while ((tracker = queue.pollDue(tick)) != null) {
+            var idx = trackers.indexOf(tracker);
+            assertThat(ticked.add(idx)).isTrue();
+            tracker.setLastTick(tick);
+            tracker.setCurrentRate(rates[idx]);
+            queue.add(tracker);
+        }
+        return ticked;
+    }
+
+    private static TickTracker makeTracker(int rate, long currentTick) {
+        return makeTracker(rate, rate, currentTick);
+    }
+
+    private static TickTracker makeTracker(int minRate, int maxRate, long currentTick) {
+        var request = new TickingRequest(minRate, maxRate, false, minRate);
+        return new TickTracker(request, mock(IGridNode.class), mock(IGridTickable.class), currentTick);
+    }
+}
@@ -0,0 +1,92 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.items.ItemStackHandler;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class ExternalStorageFacadeTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+
+    private final ItemStackHandler handler = new ItemStackHandler(200);
+    private final ExternalStorageFacade facade = ExternalStorageFacade.of(handler);
+    private final IActionSource source = IActionSource.empty();
+
+    @Test
+    void testInsertStacksOntoExistingSlotsFirst() {
+        handler.setStackInSlot(150, new ItemStack(Items.STONE, 10));
+        facade.getAvailableStacks(new KeyCounter());
+
+        assertThat(facade.insert(STONE, 60, Actionable.MODULATE, source)).isEqualTo(60);
+        assertThat(handler.getStackInSlot(150).getCount()).isEqualTo(64);
+        assertThat(handler.getStackInSlot(0).getCount()).isEqualTo(6);
+    }
+
+    @Test
+    void testSimulatedInsertMatchesFullScan() {
+        for (int i = 0; i < handler.getSlots(); i++) {
+            handler.setStackInSlot(i, new ItemStack(Items.DIRT, 64));
+        }
+        handler.setStackInSlot(70, ItemStack.EMPTY);
+        handler.setStackInSlot(100, new ItemStack(Items.STONE, 60));
+
+        assertThat(facade.insert(STONE, 1000, Actionable.SIMULATE, source)).isEqualTo(68);
+        assertThat(facade.insert(DIRT, 1000, Actionable.SIMULATE, source)).isEqualTo(64);
+    }
+
+    @Test
+    void testExtractAfterOutsideChanges() {
+        facade.insert(STONE, 64, Actionable.MODULATE, source);
+        assertThat(handler.getStackInSlot(0).getCount()).isEqualTo(64);
+
+        // Another block moves the items without the facade noticing
+        handler.setStackInSlot(0, ItemStack.EMPTY);
+        handler.setStackInSlot(199, new ItemStack(Items.STONE, 64));
+
+        assertThat(facade.extract(STONE, 100, Actionable.SIMULATE, source)).isEqualTo(64);
+        assertThat(facade.extract(STONE, 100, Actionable.MODULATE, source)).isEqualTo(64);
+        assertThat(handler.getStackInSlot(199).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testExtractFindsItemsTheIndexDoesNotKnow() {
+        facade.insert(STONE, 64, Actionable.MODULATE, source);
+
+        // Another block adds more items without the facade noticing, the indexed slot still matches
+        handler.setStackInSlot(150, new ItemStack(Items.STONE, 64));
+
+        assertThat(facade.extract(STONE, 100, Actionable.SIMULATE, source)).isEqualTo(100);
+        assertThat(facade.extract(STONE, 100, Actionable.MODULATE, source)).isEqualTo(100);
+        assertThat(handler.getStackInSlot(0).isEmpty()).isTrue();
+        assertThat(handler.getStackInSlot(150).getCount()).isEqualTo(28);
+
+        // The slots found by scanning are indexed now
+        assertThat(facade.extract(STONE, 100, Actionable.MODULATE, source)).isEqualTo(28);
+        assertThat(handler.getStackInSlot(150).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testInsertAfterOutsideChanges() {
+        facade.getAvailableStacks(new KeyCounter());
+
+        // Fill the inventory without the facade noticing
+        for (int i = 0; i < handler.getSlots(); i++) {
+            handler.setStackInSlot(i, new ItemStack(Items.DIRT, 64));
+        }
+        handler.setStackInSlot(199, new ItemStack(Items.STONE, 1));
+
+        assertThat(facade.insert(STONE, 100, Actionable.MODULATE, source)).isEqualTo(63);
+        assertThat(handler.getStackInSlot(199).getCount()).isEqualTo(64);
+    }
+}
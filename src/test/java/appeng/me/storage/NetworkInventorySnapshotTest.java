@@ -0,0 +1,101 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.IInventorySnapshot;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class NetworkInventorySnapshotTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+    private static final AEItemKey SAND = AEItemKey.of(Items.SAND);
+
+    private final KeyCounter content = new KeyCounter();
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterChanges() {
+        content.add(STONE, 10);
+        content.add(DIRT, 5);
+        var first = NetworkInventorySnapshot.of(1, content);
+
+        content.set(STONE, 3);
+        content.set(DIRT, 0);
+        content.add(SAND, 7);
+        var second = first.withChanges(2, List.of(STONE, DIRT, SAND, STONE), content::get);
+
+        assertThat(first.getVersion()).isEqualTo(1);
+        assertThat(first.get(STONE)).isEqualTo(10);
+        assertThat(first.get(DIRT)).isEqualTo(5);
+        assertThat(first.get(SAND)).isZero();
+
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.get(STONE)).isEqualTo(3);
+        assertThat(second.get(DIRT)).isZero();
+        assertThat(second.get(SAND)).isEqualTo(7);
+        // Only the changes are held by the new version
+        assertThat(second.getBaseSize()).isEqualTo(2);
+        assertThat(second.getDeltaSize()).isEqualTo(3);
+    }
+
+    @Test
+    void testFuzzySearchSkipsRemovedKeys() {
+        content.add(STONE, 10);
+        content.add(DIRT, 5);
+        var snapshot = NetworkInventorySnapshot.of(1, content);
+        assertThat(snapshot.findFuzzy(STONE, FuzzyMode.IGNORE_ALL)).containsExactly(STONE);
+
+        var changed = snapshot.withChanges(2, List.of(STONE, SAND), key -> key == SAND ? 1 : 0);
+        assertThat(changed.findFuzzy(STONE, FuzzyMode.IGNORE_ALL)).isEmpty();
+        assertThat(changed.findFuzzy(SAND, FuzzyMode.IGNORE_ALL)).containsExactly(SAND);
+        assertThat(changed.findFuzzy(DIRT, FuzzyMode.IGNORE_ALL)).containsExactly(DIRT);
+    }
+
+    @Test
+    void testCopiedSnapshotMatchesNetworkSnapshot() {
+        content.add(STONE, 10);
+        content.add(DIRT, 5);
+        content.add(SAND, 0);
+        var copy = IInventorySnapshot.copyOf(1, content);
+        var snapshot = NetworkInventorySnapshot.of(1, content);
+
+        content.add(STONE, 20);
+        for (var what : List.of(STONE, DIRT, SAND)) {
+            assertThat(copy.get(what)).isEqualTo(snapshot.get(what));
+            assertThat(copy.findFuzzy(what, FuzzyMode.IGNORE_ALL))
+                    .containsExactlyElementsOf(snapshot.findFuzzy(what, FuzzyMode.IGNORE_ALL));
+        }
+        assertThat(copy.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void testLargeDifferencesAreCompacted() {
+        content.add(STONE, 10);
+        var snapshot = NetworkInventorySnapshot.of(1, content);
+
+        var keys = BuiltInRegistries.ITEM.stream()
+                .filter(item -> item != Items.AIR && item != Items.STONE)
+                .limit(300)
+                .<AEKey>map(AEItemKey::of)
+                .toList();
+        var changed = snapshot.withChanges(2, keys, key -> 1);
+
+        assertThat(changed.getDeltaSize()).isZero();
+        assertThat(changed.getBaseSize()).isEqualTo(301);
+        assertThat(changed.get(keys.getFirst())).isEqualTo(1);
+        assertThat(changed.get(STONE)).isEqualTo(10);
+        // The previous version still uses the old base
+        assertThat(snapshot.get(keys.getFirst())).isZero();
+    }
+}
@@ -0,0 +1,215 @@
+package appeng.me.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.prioritylist.IPartitionList;
+
+@BootstrapMinecraft
+class NetworkStorageTest {
+    private static final AEItemKey STONE = AEItemKey.of(Items.STONE);
+    private static final AEItemKey DIRT = AEItemKey.of(Items.DIRT);
+
+    private final NetworkStorage networkStorage = new NetworkStorage();
+    private final IActionSource source = IActionSource.empty();
+
+    @Test
+    void testInsertionsSkipStorageNotPartitionedForTheKey() {
+        var stoneStorage = new CountingStorage();
+        var dirtStorage = new CountingStorage();
+        networkStorage.mount(0, partitioned(dirtStorage, DIRT));
+        networkStorage.mount(0, partitioned(stoneStorage, STONE));
+
+        assertThat(networkStorage.insert(STONE, 10, Actionable.MODULATE, source)).isEqualTo(10);
+        assertThat(stoneStorage.stored.get(STONE)).isEqualTo(10);
+        assertThat(dirtStorage.insertCalls).isZero();
+    }
+
+    @Test
+    void testPartitionChangesAreRouted() {
+        var storage = new CountingStorage();
+        var handler = partitioned(storage, DIRT);
+        networkStorage.mount(0, handler);
+        assertThat(networkStorage.insert(STONE, 10, Actionable.MODULATE, source)).isZero();
+
+        handler.setPartitionList(partitionList(STONE));
+        assertThat(networkStorage.insert(STONE, 10, Actionable.MODULATE, source)).isEqualTo(10);
+        assertThat(networkStorage.insert(DIRT, 10, Actionable.MODULATE, source)).isZero();
+    }
+
+    @Test
+    void testUnpartitionedStorageIsUsedAfterPartitionedStorageOfSamePriority() {
+        var unpartitioned = new CountingStorage();
+        var partitioned = new CountingStorage();
+        networkStorage.mount(0, new MEInventoryHandler(unpartitioned));
+        networkStorage.mount(0, partitioned(partitioned, STONE));
+
+        // The partitioned storage is preferred, even though it was mounted later
+        networkStorage.insert(STONE, 10, Actionable.MODULATE, source);
+        assertThat(partitioned.stored.get(STONE)).isEqualTo(10);
+        assertThat(unpartitioned.stored.get(STONE)).isZero();
+
+        networkStorage.insert(DIRT, 10, Actionable.MODULATE, source);
+        assertThat(unpartitioned.stored.get(DIRT)).isEqualTo(10);
+    }
+
+    @Test
+    void testUnmountRemovesRoutes() {
+        var storage = new CountingStorage();
+        var handler = partitioned(storage, STONE);
+        networkStorage.mount(0, handler);
+        networkStorage.unmount(handler);
+
+        assertThat(networkStorage.insert(STONE, 10, Actionable.MODULATE, source)).isZero();
+        assertThat(storage.insertCalls).isZero();
+    }
+
+    @Test
+    void testInsertAllRoutesEveryKey() {
+        var stoneStorage = new CountingStorage();
+        var unpartitioned = new CountingStorage();
+        networkStorage.mount(1, partitioned(stoneStorage, STONE));
+        networkStorage.mount(0, new MEInventoryHandler(unpartitioned));
+
+        var amounts = new KeyCounter();
+        amounts.add(STONE, 10);
+        amounts.add(DIRT, 5);
+        networkStorage.insertAll(amounts, Actionable.MODULATE, source);
+
+        assertThat(amounts.get(STONE)).isZero();
+        assertThat(amounts.get(DIRT)).isZero();
+        assertThat(stoneStorage.stored.get(STONE)).isEqualTo(10);
+        assertThat(stoneStorage.stored.get(DIRT)).isZero();
+        assertThat(unpartitioned.stored.get(DIRT)).isEqualTo(5);
+    }
+
+    @Test
+    void testExtractAllLeavesMissingAmounts() {
+        var first = new CountingStorage();
+        var second = new CountingStorage();
+        first.stored.add(STONE, 4);
+        second.stored.add(STONE, 3);
+        networkStorage.mount(1, first);
+        networkStorage.mount(0, second);
+
+        var amounts = new KeyCounter();
+        amounts.add(STONE, 10);
+        amounts.add(DIRT, 3);
+        networkStorage.extractAll(amounts, Actionable.SIMULATE, source);
+
+        assertThat(amounts.get(STONE)).isEqualTo(3);
+        assertThat(amounts.get(DIRT)).isEqualTo(3);
+    }
+
+    @Test
+    void testChangesAreOnlyRecordedWhileRequested() {
+        var cell = new ReportingStorage();
+        networkStorage.mount(0, cell);
+
+        networkStorage.insert(STONE, 10, Actionable.MODULATE, source);
+        assertThat(networkStorage.getReportedChanges().isEmpty()).isTrue();
+
+        networkStorage.setRecordingChanges(true);
+        networkStorage.insert(STONE, 5, Actionable.MODULATE, source);
+        networkStorage.extract(STONE, 2, Actionable.MODULATE, source);
+        assertThat(networkStorage.getReportedChanges().get(STONE)).isEqualTo(3);
+
+        networkStorage.setRecordingChanges(false);
+        assertThat(networkStorage.getReportedChanges().isEmpty()).isTrue();
+        networkStorage.insert(STONE, 5, Actionable.MODULATE, source);
+        assertThat(networkStorage.getReportedChanges().isEmpty()).isTrue();
+    }
+
+    private static MEInventoryHandler partitioned(MEStorage storage, AEKey... keys) {
+        var handler = new MEInventoryHandler(storage);
+        handler.setPartitionList(partitionList(keys));
+        return handler;
+    }
+
+    private static IPartitionList partitionList(AEKey... keys) {
+        var builder = IPartitionList.builder();
+        for (var key : keys) {
+            builder.add(key);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Accepts everything, and counts how often insertion was attempted.
+     */
+    private static class CountingStorage implements MEStorage {
+        private final KeyCounter stored = new KeyCounter();
+        private int insertCalls;
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            insertCalls++;
+            if (mode == Actionable.MODULATE) {
+                stored.add(what, amount);
+            }
+            return amount;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            return Math.min(amount, stored.get(what));
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            out.addAll(stored);
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.empty();
+        }
+    }
+
+    /**
+     * Accepts everything, and reports its changes.
+     */
+    private static class ReportingStorage extends CountingStorage implements IChangeReportingStorage {
+        private IChangeReportingStorage.Listener listener;
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var inserted = super.insert(what, amount, mode, source);
+            if (mode == Actionable.MODULATE && listener != null) {
+                listener.onStackChanged(what, inserted);
+            }
+            return inserted;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = super.extract(what, amount, mode, source);
+            if (mode == Actionable.MODULATE && listener != null) {
+                listener.onStackChanged(what, -extracted);
+            }
+            return extracted;
+        }
+
+        @Override
+        public boolean addChangeListener(Listener listener) {
+            this.listener = listener;
+            return true;
+        }
+
+        @Override
+        public void removeChangeListener(Listener listener) {
+            this.listener = null;
+        }
+    }
+}
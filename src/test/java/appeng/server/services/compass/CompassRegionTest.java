@@ -0,0 +1,66 @@
+package appeng.server.services.compass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.nbt.CompoundTag;
+
+class CompassRegionTest {
+    private final CompassRegion region = new CompassRegion();
+
+    @Test
+    void testEmptyRegion() {
+        assertThat(region.hasCompassTarget(0, 0)).isFalse();
+        assertThat(region.getEmptyBlockSize(0, 0)).isEqualTo(64);
+        assertThat(region.getEmptyBlockSize(1023, 1023)).isEqualTo(64);
+    }
+
+    @Test
+    void testIndexFollowsTargets() {
+        region.setHasCompassTarget(100, 200, 3, true);
+        region.setHasCompassTarget(100, 200, 5, true);
+
+        assertThat(region.hasCompassTarget(100, 200)).isTrue();
+        assertThat(region.getEmptyBlockSize(100, 200)).isEqualTo(0);
+        // Same 8x8 block
+        assertThat(region.getEmptyBlockSize(103, 207)).isEqualTo(1);
+        // Same 64x64 block
+        assertThat(region.getEmptyBlockSize(127, 192)).isEqualTo(8);
+        assertThat(region.getEmptyBlockSize(128, 200)).isEqualTo(64);
+
+        // The chunk still has a target in another section
+        region.setHasCompassTarget(100, 200, 3, false);
+        assertThat(region.getEmptyBlockSize(100, 200)).isEqualTo(0);
+
+        region.setHasCompassTarget(100, 200, 5, false);
+        assertThat(region.hasCompassTarget(100, 200)).isFalse();
+        assertThat(region.getEmptyBlockSize(100, 200)).isEqualTo(64);
+    }
+
+    @Test
+    void testIndexIsRebuiltOnLoad() {
+        region.setHasCompassTarget(5, 6, 0, true);
+        region.setHasCompassTarget(1000, 1001, 7, true);
+
+        var loaded = CompassRegion.load(region.save(new CompoundTag(), null), null);
+
+        assertThat(loaded.hasCompassTarget(5, 6)).isTrue();
+        assertThat(loaded.hasCompassTarget(1000, 1001)).isTrue();
+        assertThat(loaded.getEmptyBlockSize(4, 4)).isEqualTo(1);
+        assertThat(loaded.getEmptyBlockSize(1000, 1001)).isEqualTo(0);
+        assertThat(loaded.getEmptyBlockSize(500, 500)).isEqualTo(64);
+    }
+
+    @Test
+    void testRegionBoundaries() {
+        assertThat(CompassRegion.getRegionCoord(1023)).isEqualTo(0);
+        assertThat(CompassRegion.getRegionCoord(1024)).isEqualTo(1);
+        assertThat(CompassRegion.getLastChunkInRegion(0)).isEqualTo(1023);
+        assertThat(CompassRegion.getLastChunkInRegion(1500)).isEqualTo(2047);
+        // The region at 0 also serves negative chunks
+        assertThat(CompassRegion.getLastChunkInRegion(-1023)).isEqualTo(1023);
+        assertThat(CompassRegion.getLastChunkInRegion(-1024)).isEqualTo(-1024);
+        assertThat(CompassRegion.getLastChunkInRegion(-2047)).isEqualTo(-1024);
+    }
+}